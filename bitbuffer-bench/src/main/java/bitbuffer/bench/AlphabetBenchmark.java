@@ -0,0 +1,150 @@
+package bitbuffer.bench;
+
+import bitbuffer.Alphabet;
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putString(CharSequence, Alphabet)} and {@link BitBuffer#getString(Alphabet)} against
+ * {@link BitBuffer#putString(CharSequence)} and {@link BitBuffer#getString()} for identifiers made of
+ * {@link Alphabet#LOWERCASE_IDENTIFIER}.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlphabetBenchmark {
+
+    /**
+     * The amount of strings written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of characters in each string.
+     */
+    @Param({"8", "16", "32"})
+    private int length;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The strings to write.
+     */
+    private final String[] strings = new String[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code strings} packed with
+     * {@link Alphabet#LOWERCASE_IDENTIFIER}.
+     */
+    private BitBuffer alphabetBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code strings} encoded as UTF-8.
+     */
+    private BitBuffer utf8Buffer;
+
+    @Setup(Level.Trial)
+    public void createStrings() {
+        var random = new SplittableRandom(42);
+        var alphabet = "abcdefghijklmnopqrstuvwxyz0123456789_";
+
+        for (int i = 0; i < strings.length; i++) {
+            var chars = new char[length];
+
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+
+            strings[i] = new String(chars);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * (length + 1) + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        alphabetBuffer = backing.bitBuffer(capacity);
+        utf8Buffer = backing.bitBuffer(capacity);
+
+        for (String string : strings) {
+            alphabetBuffer.putString(string, Alphabet.LOWERCASE_IDENTIFIER);
+            utf8Buffer.putString(string);
+        }
+
+        alphabetBuffer.flip();
+        utf8Buffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putAlphabetString() {
+        for (String string : strings) {
+            writeBuffer.putString(string, Alphabet.LOWERCASE_IDENTIFIER);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putUtf8String() {
+        for (String string : strings) {
+            writeBuffer.putString(string);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getAlphabetString() {
+        int sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += alphabetBuffer.getString(Alphabet.LOWERCASE_IDENTIFIER).length();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getUtf8String() {
+        int sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += utf8Buffer.getString().length();
+        }
+
+        return sum;
+    }
+
+}
@@ -0,0 +1,61 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The kind of memory that backs the buffers being benchmarked.
+ *
+ * @author Jacob G.
+ */
+public enum Backing {
+
+    /**
+     * A heap {@link ByteBuffer}, as returned by {@link BitBuffer#allocate(int)}.
+     */
+    HEAP {
+        @Override
+        BitBuffer bitBuffer(int capacity) {
+            return BitBuffer.allocate(capacity);
+        }
+
+        @Override
+        ByteBuffer byteBuffer(int capacity) {
+            return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    },
+
+    /**
+     * A direct {@link ByteBuffer}, as returned by {@link BitBuffer#allocateDirect(int)}.
+     */
+    DIRECT {
+        @Override
+        BitBuffer bitBuffer(int capacity) {
+            return BitBuffer.allocateDirect(capacity);
+        }
+
+        @Override
+        ByteBuffer byteBuffer(int capacity) {
+            return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    };
+
+    /**
+     * Allocates a {@link BitBuffer} with this kind of backing memory.
+     *
+     * @param capacity the capacity of the {@link BitBuffer} in {@code byte}s.
+     * @return a newly-allocated {@link BitBuffer}.
+     */
+    abstract BitBuffer bitBuffer(int capacity);
+
+    /**
+     * Allocates a {@link ByteBuffer} with this kind of backing memory, using the same {@link ByteOrder} as a
+     * {@link BitBuffer} so that the two can be compared fairly.
+     *
+     * @param capacity the capacity of the {@link ByteBuffer} in {@code byte}s.
+     * @return a newly-allocated {@link ByteBuffer}.
+     */
+    abstract ByteBuffer byteBuffer(int capacity);
+
+}
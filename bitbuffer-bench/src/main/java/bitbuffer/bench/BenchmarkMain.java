@@ -0,0 +1,36 @@
+package bitbuffer.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of {@code benchmarks.jar}.
+ * <br><br>
+ * This accepts the same arguments as JMH's own launcher, but always attaches the {@link GCProfiler} so that every
+ * result is reported in both ns/op and B/op ({@code gc.alloc.rate.norm}).
+ *
+ * @author Jacob G.
+ */
+public final class BenchmarkMain {
+
+    /**
+     * A private constructor.
+     */
+    private BenchmarkMain() {
+
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        var options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+}
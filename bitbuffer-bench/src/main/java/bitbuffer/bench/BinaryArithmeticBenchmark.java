@@ -0,0 +1,152 @@
+package bitbuffer.bench;
+
+import bitbuffer.BinaryArithmeticDecoder;
+import bitbuffer.BinaryArithmeticEncoder;
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BinaryArithmeticEncoder} and {@link BinaryArithmeticDecoder} on skewed flags against
+ * {@link BitBuffer#putBoolean(boolean, boolean)} and {@link BitBuffer#getBoolean(boolean)}, which spend a whole bit
+ * on each flag.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryArithmeticBenchmark {
+
+    /**
+     * The amount of flags written or read per invocation.
+     */
+    private static final int OPERATIONS = 16384;
+
+    /**
+     * The probability of each flag being {@code true}.
+     */
+    @Param({"0.5", "0.1", "0.01"})
+    private double probability;
+
+    /**
+     * The flags to write.
+     */
+    private final boolean[] values = new boolean[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the arithmetic-coded flags.
+     */
+    private BitBuffer codedBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the flags as single bits.
+     */
+    private BitBuffer rawBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() < probability;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        // The coded flags never take much more than a bit each, plus the 4 bytes written when finishing.
+        int capacity = OPERATIONS / Byte.SIZE * 2;
+        writeBuffer = BitBuffer.allocate(capacity);
+        codedBuffer = BitBuffer.allocate(capacity);
+        var encoder = new BinaryArithmeticEncoder(codedBuffer, 1);
+
+        for (boolean value : values) {
+            encoder.encodeBoolean(value, 0);
+        }
+
+        encoder.finish();
+        codedBuffer.flip();
+        rawBuffer = BitBuffer.allocate(capacity);
+
+        for (boolean value : values) {
+            rawBuffer.putBoolean(value, true);
+        }
+
+        rawBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encodeBoolean() {
+        var encoder = new BinaryArithmeticEncoder(writeBuffer, 1);
+
+        for (boolean value : values) {
+            encoder.encodeBoolean(value, 0);
+        }
+
+        encoder.finish();
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putBoolean() {
+        for (boolean value : values) {
+            writeBuffer.putBoolean(value, true);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int decodeBoolean() {
+        var decoder = new BinaryArithmeticDecoder(codedBuffer, 1);
+        int count = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (decoder.decodeBoolean(0)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getBoolean() {
+        int count = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            if (rawBuffer.getBoolean(true)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+}
@@ -0,0 +1,115 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putBits(long, int)} and {@link BitBuffer#getBits(int)} at every width from {@code 1} to
+ * {@link Long#SIZE} bits.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitsBenchmark {
+
+    /**
+     * The amount of values written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of bits used for each value.
+     */
+    @Param({
+            "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16",
+            "17", "18", "19", "20", "21", "22", "23", "24", "25", "26", "27", "28", "29", "30", "31", "32",
+            "33", "34", "35", "36", "37", "38", "39", "40", "41", "42", "43", "44", "45", "46", "47", "48",
+            "49", "50", "51", "52", "53", "54", "55", "56", "57", "58", "59", "60", "61", "62", "63", "64"
+    })
+    private int width;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The values to write, each of which fits in {@code width} bits.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values}.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> (Long.SIZE - width);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * width / Byte.SIZE + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        readBuffer = backing.bitBuffer(capacity);
+
+        for (long value : values) {
+            readBuffer.putBits(value, width);
+        }
+
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putBits() {
+        for (long value : values) {
+            writeBuffer.putBits(value, width);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long getBits() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getBits(width);
+        }
+
+        return sum;
+    }
+
+}
@@ -0,0 +1,132 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putBytes(byte[])}, {@link BitBuffer#getBytes(int)} and
+ * {@link BitBuffer#getBytes(byte[])} for a range of payload sizes against the equivalent bulk {@link ByteBuffer}
+ * methods.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytesBenchmark {
+
+    /**
+     * The length of the payload in {@code byte}s.
+     */
+    @Param({"16", "256", "4096", "65536"})
+    private int size;
+
+    /**
+     * The amount of bits written before the payload; {@code 0} keeps the payload aligned.
+     */
+    @Param({"0", "1"})
+    private int misalignment;
+
+    /**
+     * The kind of memory backing each buffer.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The payload to write.
+     */
+    private byte[] payload;
+
+    /**
+     * The array that {@code byte}s are read into by the allocation-free benchmarks.
+     */
+    private byte[] destination;
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code payload}.
+     */
+    private BitBuffer readBuffer;
+
+    /**
+     * An empty {@link ByteBuffer} that is written to.
+     */
+    private ByteBuffer byteWriteBuffer;
+
+    /**
+     * A flipped {@link ByteBuffer} that already contains {@code payload}.
+     */
+    private ByteBuffer byteReadBuffer;
+
+    @Setup(Level.Trial)
+    public void createPayload() {
+        payload = new byte[size];
+        new SplittableRandom(42).nextBytes(payload);
+        destination = new byte[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = size + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity).putBits(0, misalignment);
+        readBuffer = backing.bitBuffer(capacity).putBits(0, misalignment).putBytes(payload);
+        readBuffer.flip().getBits(misalignment);
+        byteWriteBuffer = backing.byteBuffer(capacity);
+        byteReadBuffer = backing.byteBuffer(capacity).put(payload).flip();
+    }
+
+    @Benchmark
+    public BitBuffer putBytes() {
+        return writeBuffer.putBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] getBytes() {
+        return readBuffer.getBytes(size);
+    }
+
+    @Benchmark
+    public BitBuffer getBytesIntoArray() {
+        return readBuffer.getBytes(destination);
+    }
+
+    @Benchmark
+    public ByteBuffer byteBufferPut() {
+        return byteWriteBuffer.put(payload);
+    }
+
+    @Benchmark
+    public byte[] byteBufferGet() {
+        var array = new byte[size];
+        byteReadBuffer.get(array);
+        return array;
+    }
+
+    @Benchmark
+    public ByteBuffer byteBufferGetIntoArray() {
+        return byteReadBuffer.get(destination);
+    }
+
+}
@@ -0,0 +1,128 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import bitbuffer.DoubleStreamDecoder;
+import bitbuffer.DoubleStreamEncoder;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DoubleStreamEncoder} and {@link DoubleStreamDecoder} on a slowly-changing series against
+ * {@link BitBuffer#putDouble(double)} and {@link BitBuffer#getDouble()}.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleStreamBenchmark {
+
+    /**
+     * The amount of samples.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The samples to write.
+     */
+    private final double[] values = new double[OPERATIONS];
+
+    /**
+     * The array that samples are read into.
+     */
+    private final double[] destination = new double[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the compressed samples.
+     */
+    private BitBuffer compressedBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the uncompressed samples.
+     */
+    private BitBuffer rawBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+        double value = 20.0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (random.nextInt(4) == 0) {
+                value += random.nextInt(-2, 3) * 0.5;
+            }
+
+            values[i] = value;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        writeBuffer = BitBuffer.allocate(OPERATIONS * Double.BYTES);
+        compressedBuffer = BitBuffer.allocate(OPERATIONS * Double.BYTES);
+        new DoubleStreamEncoder(compressedBuffer).encode(values, 0, OPERATIONS);
+        compressedBuffer.flip();
+        rawBuffer = BitBuffer.allocate(OPERATIONS * Double.BYTES);
+
+        for (double value : values) {
+            rawBuffer.putDouble(value);
+        }
+
+        rawBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encode() {
+        new DoubleStreamEncoder(writeBuffer).encode(values, 0, OPERATIONS);
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putDouble() {
+        for (double value : values) {
+            writeBuffer.putDouble(value);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public double[] decode() {
+        new DoubleStreamDecoder(compressedBuffer).decode(destination, 0, OPERATIONS);
+        return destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public double[] getDouble() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            destination[i] = rawBuffer.getDouble();
+        }
+
+        return destination;
+    }
+
+}
@@ -0,0 +1,195 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import bitbuffer.HuffmanCodec;
+import bitbuffer.TansCodec;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link TansCodec} with {@link HuffmanCodec} and with raw DEFLATE, as implemented by {@link Deflater} and
+ * {@link Inflater}, on {@code byte}s whose values follow a geometric distribution, reporting the time per
+ * {@code byte}, so that {@code 1000} divided by the result is the throughput in MB/s.
+ * <br><br>
+ * The smaller {@code mean} is, the more skewed the distribution, and the more {@link TansCodec} gains over
+ * {@link HuffmanCodec} in compression ratio, as a prefix code needs at least one bit per {@code byte}.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntropyBenchmark {
+
+    /**
+     * The amount of {@code byte}s.
+     */
+    private static final int OPERATIONS = 16384;
+
+    /**
+     * The mean value of the {@code byte}s.
+     */
+    @Param({"0.25", "4", "32"})
+    private double mean;
+
+    /**
+     * The {@code byte}s to encode.
+     */
+    private final byte[] values = new byte[OPERATIONS];
+
+    /**
+     * The array that the {@code byte}s are decoded into.
+     */
+    private final byte[] destination = new byte[OPERATIONS];
+
+    /**
+     * The array that {@link Deflater} compresses into.
+     */
+    private final byte[] deflated = new byte[OPERATIONS * 2];
+
+    /**
+     * The amount of {@code byte}s in {@code deflated} that hold the compressed {@code values}.
+     */
+    private int deflatedLength;
+
+    /**
+     * The {@link TansCodec} built from {@code values}.
+     */
+    private TansCodec tans;
+
+    /**
+     * The {@link HuffmanCodec} built from {@code values}.
+     */
+    private HuffmanCodec huffman;
+
+    /**
+     * The {@link Deflater} that compresses {@code values} without a zlib header.
+     */
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+    /**
+     * The {@link Inflater} that decompresses {@code deflated}.
+     */
+    private final Inflater inflater = new Inflater(true);
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values} encoded by {@code tans}.
+     */
+    private BitBuffer tansBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values} encoded by {@code huffman}.
+     */
+    private BitBuffer huffmanBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) Math.min(255, (int) (-Math.log(1 - random.nextDouble()) * mean));
+        }
+
+        tans = TansCodec.fromSample(values);
+        huffman = HuffmanCodec.fromSample(values);
+        deflatedLength = deflate();
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        writeBuffer = BitBuffer.allocate(OPERATIONS * 2);
+        tansBuffer = BitBuffer.allocate(OPERATIONS * 2);
+        huffmanBuffer = BitBuffer.allocate(OPERATIONS * 2);
+        tans.encode(tansBuffer, values, 0, OPERATIONS);
+        huffman.encode(huffmanBuffer, values, 0, OPERATIONS);
+        tansBuffer.flip();
+        huffmanBuffer.flip();
+    }
+
+    @TearDown(Level.Trial)
+    public void release() {
+        deflater.end();
+        inflater.end();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encodeTans() {
+        tans.encode(writeBuffer, values, 0, OPERATIONS);
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encodeHuffman() {
+        huffman.encode(writeBuffer, values, 0, OPERATIONS);
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int encodeDeflater() {
+        return deflate();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public byte[] decodeTans() {
+        tans.decode(tansBuffer, destination, 0);
+        return destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public byte[] decodeHuffman() {
+        huffman.decode(huffmanBuffer, destination, 0);
+        return destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public byte[] decodeInflater() throws DataFormatException {
+        inflater.reset();
+        inflater.setInput(deflated, 0, deflatedLength);
+        inflater.inflate(destination);
+        return destination;
+    }
+
+    /**
+     * Compresses {@code values} into {@code deflated}.
+     *
+     * @return the amount of compressed {@code byte}s.
+     */
+    private int deflate() {
+        deflater.reset();
+        deflater.setInput(values);
+        deflater.finish();
+        return deflater.deflate(deflated);
+    }
+
+}
@@ -0,0 +1,104 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import bitbuffer.HuffmanCodec;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link HuffmanCodec} on text whose characters follow a skewed distribution, reporting the time per
+ * {@code byte}, so that {@code 1000} divided by the result is the throughput in MB/s.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanBenchmark {
+
+    /**
+     * The amount of {@code byte}s.
+     */
+    private static final int OPERATIONS = 16384;
+
+    /**
+     * The characters that the text is made of, from the most frequent to the least frequent.
+     */
+    private static final String CHARACTERS = " etaoinshrdlcumwfgypbvkjxqz.,!?'ETAOINSHRDLCUMWFGYPBVKJXQZ0123456789";
+
+    /**
+     * The text to encode.
+     */
+    private final byte[] values = new byte[OPERATIONS];
+
+    /**
+     * The array that the text is decoded into.
+     */
+    private final byte[] destination = new byte[OPERATIONS];
+
+    /**
+     * The {@link HuffmanCodec} built from the text.
+     */
+    private HuffmanCodec codec;
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the encoded text.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            // The index of each character is geometrically distributed, so that common characters dominate.
+            int index = (int) (-Math.log(1 - random.nextDouble()) * 8);
+            values[i] = (byte) CHARACTERS.charAt(Math.min(index, CHARACTERS.length() - 1));
+        }
+
+        codec = HuffmanCodec.fromSample(values);
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        writeBuffer = BitBuffer.allocate(OPERATIONS * 2);
+        readBuffer = BitBuffer.allocate(OPERATIONS * 2);
+        codec.encode(readBuffer, values, 0, OPERATIONS);
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encode() {
+        codec.encode(writeBuffer, values, 0, OPERATIONS);
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public byte[] decode() {
+        codec.decode(readBuffer, destination, 0);
+        return destination;
+    }
+
+}
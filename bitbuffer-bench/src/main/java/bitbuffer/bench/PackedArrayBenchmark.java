@@ -0,0 +1,121 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putLongs(long[], int, int, int)} and {@link BitBuffer#getLongs(long[], int, int, int)}
+ * against writing and reading the same array one element at a time.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackedArrayBenchmark {
+
+    /**
+     * The length of the array.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of bits used for each value.
+     */
+    @Param({"3", "12", "31", "64"})
+    private int bitsPerValue;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The values to write, each of which fits in {@code bitsPerValue} bits.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * The array that values are read into.
+     */
+    private final long[] destination = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values}.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> (Long.SIZE - bitsPerValue);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * bitsPerValue / Byte.SIZE + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        readBuffer = backing.bitBuffer(capacity).putLongs(values, 0, OPERATIONS, bitsPerValue);
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putLongs() {
+        return writeBuffer.putLongs(values, 0, OPERATIONS, bitsPerValue);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putBitsLoop() {
+        for (long value : values) {
+            writeBuffer.putBits(value, bitsPerValue);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long[] getLongs() {
+        readBuffer.getLongs(destination, 0, OPERATIONS, bitsPerValue);
+        return destination;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long[] getBitsLoop() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            destination[i] = readBuffer.getBits(bitsPerValue);
+        }
+
+        return destination;
+    }
+
+}
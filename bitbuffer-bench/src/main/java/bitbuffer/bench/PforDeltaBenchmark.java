@@ -0,0 +1,91 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import bitbuffer.PforDeltaCodec;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PforDeltaCodec} on sorted timestamps with occasional gaps.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PforDeltaBenchmark {
+
+    /**
+     * The amount of timestamps.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The timestamps to encode.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * The array that timestamps are decoded into.
+     */
+    private final long[] destination = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains the encoded timestamps.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+        long timestamp = 1_546_300_800_000L;
+
+        for (int i = 0; i < values.length; i++) {
+            timestamp += random.nextInt(100) == 0 ? random.nextInt(1 << 20) : 1000 + random.nextInt(16);
+            values[i] = timestamp;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        writeBuffer = BitBuffer.allocate(OPERATIONS * Long.BYTES);
+        readBuffer = BitBuffer.allocate(OPERATIONS * Long.BYTES);
+        PforDeltaCodec.encode(readBuffer, values, 0, OPERATIONS);
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer encode() {
+        PforDeltaCodec.encode(writeBuffer, values, 0, OPERATIONS);
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long[] decode() {
+        PforDeltaCodec.decode(readBuffer, destination, 0);
+        return destination;
+    }
+
+}
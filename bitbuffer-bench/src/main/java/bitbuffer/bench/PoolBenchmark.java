@@ -0,0 +1,70 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import bitbuffer.BitBufferPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of obtaining a {@link BitBuffer} for a single message from a {@link BitBufferPool}, against
+ * allocating a new one every time.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PoolBenchmark {
+
+    /**
+     * The capacity of each message in {@code byte}s.
+     */
+    @Param({"256", "4096"})
+    private int capacity;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The pool shared by every benchmark thread.
+     */
+    private BitBufferPool pool;
+
+    @Setup
+    public void createPool() {
+        pool = backing == Backing.DIRECT ? BitBufferPool.direct(1 << 24) : BitBufferPool.heap(1 << 24);
+    }
+
+    @Benchmark
+    public long allocate() {
+        var buffer = backing.bitBuffer(capacity);
+        return buffer.putLong(capacity).flip().getLong();
+    }
+
+    @Benchmark
+    public long pooled() {
+        var buffer = pool.acquire(capacity);
+        long value = buffer.putLong(capacity).flip().getLong();
+        pool.release(buffer);
+        return value;
+    }
+
+}
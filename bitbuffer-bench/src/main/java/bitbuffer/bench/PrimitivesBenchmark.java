@@ -0,0 +1,197 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putInt(int)}, {@link BitBuffer#putLong(long)} and their {@code get} counterparts, both
+ * when every value starts on a {@code byte} boundary and when the stream has been shifted by a few bits, against the
+ * equivalent {@link ByteBuffer} methods.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+
+    /**
+     * The amount of values written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of bits written before the values; {@code 0} keeps every value aligned.
+     */
+    @Param({"0", "1", "3"})
+    private int misalignment;
+
+    /**
+     * The kind of memory backing each buffer.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The values to write.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values} as {@code int}s followed by {@code long}s.
+     */
+    private BitBuffer readBuffer;
+
+    /**
+     * An empty {@link ByteBuffer} that is written to.
+     */
+    private ByteBuffer byteWriteBuffer;
+
+    /**
+     * A flipped {@link ByteBuffer} that already contains {@code values} as {@code int}s followed by {@code long}s.
+     */
+    private ByteBuffer byteReadBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * (Integer.BYTES + Long.BYTES) + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity).putBits(0, misalignment);
+        readBuffer = backing.bitBuffer(capacity).putBits(0, misalignment);
+        byteWriteBuffer = backing.byteBuffer(capacity);
+        byteReadBuffer = backing.byteBuffer(capacity);
+
+        for (long value : values) {
+            readBuffer.putInt((int) value);
+            byteReadBuffer.putInt((int) value);
+        }
+
+        for (long value : values) {
+            readBuffer.putLong(value);
+            byteReadBuffer.putLong(value);
+        }
+
+        readBuffer.flip().getBits(misalignment);
+        byteReadBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putInt() {
+        for (long value : values) {
+            writeBuffer.putInt((int) value);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putLong() {
+        for (long value : values) {
+            writeBuffer.putLong(value);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long getInt() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getInt();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long getLong() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getLong();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ByteBuffer byteBufferPutInt() {
+        for (long value : values) {
+            byteWriteBuffer.putInt((int) value);
+        }
+
+        return byteWriteBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ByteBuffer byteBufferPutLong() {
+        for (long value : values) {
+            byteWriteBuffer.putLong(value);
+        }
+
+        return byteWriteBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long byteBufferGetInt() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += byteReadBuffer.getInt();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long byteBufferGetLong() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += byteReadBuffer.getLong();
+        }
+
+        return sum;
+    }
+
+}
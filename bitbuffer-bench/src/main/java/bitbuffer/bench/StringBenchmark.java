@@ -0,0 +1,168 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putString(CharSequence)} and {@link BitBuffer#getString()} against encoding each string
+ * with {@link String#getBytes(java.nio.charset.Charset)} and writing the resulting {@code byte[]}.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark {
+
+    /**
+     * The amount of strings written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of characters in each string.
+     */
+    private static final int LENGTH = 24;
+
+    /**
+     * The characters that strings are made of; either only ASCII characters, or a mix of ASCII characters and
+     * characters that need two or three {@code byte}s in UTF-8.
+     */
+    @Param({"abcdefghijklmnopqrstuvwxyz0123456789", "abcdefghij\u00e9\u00e8\u00fc\u00df\u20ac\u4e2d"})
+    private String alphabet;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The strings to write.
+     */
+    private final String[] strings = new String[OPERATIONS];
+
+    /**
+     * The {@link StringBuilder} that strings are decoded into.
+     */
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code strings}.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createStrings() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < strings.length; i++) {
+            var chars = new char[LENGTH];
+
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+
+            strings[i] = new String(chars);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        // Every string is prefixed by a 1-byte length and has at most 3 bytes per character.
+        int capacity = OPERATIONS * (LENGTH * 3 + 1) + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        readBuffer = backing.bitBuffer(capacity);
+
+        for (String string : strings) {
+            readBuffer.putString(string);
+        }
+
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putString() {
+        for (String string : strings) {
+            writeBuffer.putString(string);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putEncodedBytes() {
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeBuffer.putVarInt(bytes.length).putBytes(bytes);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getString() {
+        int sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getString().length();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getStringIntoBuilder() {
+        int sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            builder.setLength(0);
+            readBuffer.getString(builder);
+            sum += builder.length();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public int getDecodedBytes() {
+        int sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            var bytes = new byte[readBuffer.getVarInt()];
+            readBuffer.getBytes(bytes);
+            sum += new String(bytes, StandardCharsets.UTF_8).length();
+        }
+
+        return sum;
+    }
+
+}
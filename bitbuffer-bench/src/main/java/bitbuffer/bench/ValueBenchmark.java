@@ -0,0 +1,116 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putValue(long, long)} and {@link BitBuffer#getValue(long)} for a range of
+ * {@code maxValue}s.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValueBenchmark {
+
+    /**
+     * The amount of values written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The amount of significant bits in {@code maxValue}.
+     */
+    @Param({"1", "7", "15", "31", "63"})
+    private int maxValueBits;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The {@code maxValue} passed to {@link BitBuffer#putValue(long, long)} and {@link BitBuffer#getValue(long)}.
+     */
+    private long maxValue;
+
+    /**
+     * The values to write, the absolute value of each being at most {@code maxValue}.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values}.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+        maxValue = Long.MAX_VALUE >>> (Long.SIZE - 1 - maxValueBits);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong(-maxValue, maxValue);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * Long.BYTES + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        readBuffer = backing.bitBuffer(capacity);
+
+        for (long value : values) {
+            readBuffer.putValue(value, maxValue);
+        }
+
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putValue() {
+        for (long value : values) {
+            writeBuffer.putValue(value, maxValue);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long getValue() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getValue(maxValue);
+        }
+
+        return sum;
+    }
+
+}
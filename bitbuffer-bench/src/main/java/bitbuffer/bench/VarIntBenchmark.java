@@ -0,0 +1,109 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BitBuffer#putVarLong(long)} and {@link BitBuffer#getVarLong()} for values of a range of magnitudes.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VarIntBenchmark {
+
+    /**
+     * The amount of values written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * The maximum amount of significant bits in each value.
+     */
+    @Param({"7", "14", "28", "56", "64"})
+    private int valueBits;
+
+    /**
+     * The kind of memory backing each {@link BitBuffer}.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The values to write.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * An empty {@link BitBuffer} that is written to.
+     */
+    private BitBuffer writeBuffer;
+
+    /**
+     * A flipped {@link BitBuffer} that already contains {@code values}.
+     */
+    private BitBuffer readBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> (Long.SIZE - 1 - random.nextInt(valueBits));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        int capacity = OPERATIONS * 10 + Long.BYTES;
+        writeBuffer = backing.bitBuffer(capacity);
+        readBuffer = backing.bitBuffer(capacity);
+
+        for (long value : values) {
+            readBuffer.putVarLong(value);
+        }
+
+        readBuffer.flip();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer putVarLong() {
+        for (long value : values) {
+            writeBuffer.putVarLong(value);
+        }
+
+        return writeBuffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long getVarLong() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += readBuffer.getVarLong();
+        }
+
+        return sum;
+    }
+
+}
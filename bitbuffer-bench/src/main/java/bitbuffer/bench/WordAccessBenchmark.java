@@ -0,0 +1,151 @@
+package bitbuffer.bench;
+
+import bitbuffer.BitBuffer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of flushing and refilling {@code long}s through {@link ByteBuffer#putLong(long)} and
+ * {@link ByteBuffer#getLong()} against a {@link VarHandle} view with a single capacity check per batch, which is how
+ * the bulk paths of {@link BitBuffer} access the backing {@link ByteBuffer}.
+ * <br><br>
+ * Run with {@code -prof perfasm} to confirm that the {@link VarHandle} loop compiles to plain {@code mov}s.
+ *
+ * @author Jacob G.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordAccessBenchmark {
+
+    /**
+     * The amount of {@code long}s written or read per invocation.
+     */
+    private static final int OPERATIONS = 1024;
+
+    /**
+     * Views a {@link ByteBuffer} as {@code long}s with {@link ByteOrder#LITTLE_ENDIAN} order.
+     */
+    private static final VarHandle BYTE_BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The kind of memory backing each buffer.
+     */
+    @Param
+    private Backing backing;
+
+    /**
+     * The {@code long}s to write.
+     */
+    private final long[] values = new long[OPERATIONS];
+
+    /**
+     * The {@link ByteBuffer} that is written to and read from.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * A {@link BitBuffer} that is written to with a bulk operation.
+     */
+    private BitBuffer bitBuffer;
+
+    @Setup(Level.Trial)
+    public void createValues() {
+        var random = new SplittableRandom(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createBuffers() {
+        buffer = backing.byteBuffer(OPERATIONS * Long.BYTES);
+        bitBuffer = backing.bitBuffer(OPERATIONS * Long.BYTES).putBits(1, 1);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ByteBuffer byteBufferPutLong() {
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+
+        return buffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public ByteBuffer varHandleSet() {
+        if (buffer.remaining() < OPERATIONS * Long.BYTES) {
+            throw new IllegalStateException();
+        }
+
+        int index = buffer.position();
+
+        for (long value : values) {
+            BYTE_BUFFER_LONGS.set(buffer, index, value);
+            index += Long.BYTES;
+        }
+
+        return buffer.position(index);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long byteBufferGetLong() {
+        long sum = 0;
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            sum += buffer.getLong();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long varHandleGet() {
+        if (buffer.remaining() < OPERATIONS * Long.BYTES) {
+            throw new IllegalStateException();
+        }
+
+        long sum = 0;
+        int index = buffer.position();
+
+        for (int i = 0; i < OPERATIONS; i++, index += Long.BYTES) {
+            sum += (long) BYTE_BUFFER_LONGS.get(buffer, index);
+        }
+
+        buffer.position(index);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public BitBuffer bitBufferPutLongs() {
+        return bitBuffer.putLongs(values, 0, OPERATIONS - 1, Long.SIZE);
+    }
+
+}
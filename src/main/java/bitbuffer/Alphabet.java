@@ -0,0 +1,202 @@
+package bitbuffer;
+
+import java.util.Arrays;
+
+/**
+ * A reduced set of characters that strings are packed with by {@link BitBuffer#putString(CharSequence, Alphabet)},
+ * much like a {@link java.nio.charset.Charset} with a fixed width of {@link #bitsPerChar()} bits per character.
+ * <br><br>
+ * Each character is encoded as its index within the alphabet, so an alphabet of {@code n} characters needs
+ * {@code ceil(log2(n))} bits per character; for example, the {@code 37} characters of {@link #LOWERCASE_IDENTIFIER}
+ * need {@code 6} bits rather than the {@code 8} bits of UTF-8. Both directions are precomputed as lookup tables when
+ * the alphabet is created, so encoding and decoding a character is a single array access.
+ *
+ * @author Jacob G.
+ * @see BitBuffer#putString(CharSequence, Alphabet)
+ * @see BitBuffer#getString(Alphabet)
+ */
+public final class Alphabet {
+
+    /**
+     * The decimal digits {@code [0-9]}, which are packed in {@code 4} bits each.
+     */
+    public static final Alphabet DIGITS = of("0123456789");
+
+    /**
+     * The lowercase letters {@code [a-z]}, which are packed in {@code 5} bits each.
+     */
+    public static final Alphabet LOWERCASE = of("abcdefghijklmnopqrstuvwxyz");
+
+    /**
+     * The lowercase letters, the decimal digits and the underscore {@code [a-z0-9_]}, which are packed in {@code 6}
+     * bits each.
+     */
+    public static final Alphabet LOWERCASE_IDENTIFIER = of("abcdefghijklmnopqrstuvwxyz0123456789_");
+
+    /**
+     * The printable ASCII characters, from {@code ' '} to {@code '~'}, which are packed in {@code 7} bits each.
+     */
+    public static final Alphabet PRINTABLE_ASCII = of(" !\"#$%&'()*+,-./0123456789:;<=>?@"
+            + "ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~");
+
+    /**
+     * The amount of characters in this {@link Alphabet}.
+     */
+    private final int size;
+
+    /**
+     * The character with each code in its lower {@link Character#SIZE} bits, indexed by the code itself. The table
+     * covers every code that fits within {@code bitsPerChar} bits, and codes that do not belong to any character
+     * have their upper bits set, so that a whole {@code long} of codes can be validated with a single check.
+     */
+    private final int[] chars;
+
+    /**
+     * The code of each character, indexed by the character itself, where characters that are not part of this
+     * {@link Alphabet} map to {@code -1}.
+     */
+    private final int[] codes;
+
+    /**
+     * The amount of bits used to encode each character.
+     */
+    private final int bitsPerChar;
+
+    /**
+     * A private constructor.
+     *
+     * @param size  the amount of characters in this {@link Alphabet}.
+     * @param chars the character with each code, indexed by the code itself, which has a length of
+     *              {@code 1 << bitsPerChar}.
+     * @param codes the code of each character, indexed by the character itself.
+     */
+    private Alphabet(int size, int[] chars, int[] codes) {
+        this.size = size;
+        this.chars = chars;
+        this.codes = codes;
+        this.bitsPerChar = Integer.numberOfTrailingZeros(chars.length);
+    }
+
+    /**
+     * Creates an {@link Alphabet} of the specified characters, where each character is encoded as its index within
+     * {@code chars}.
+     *
+     * @param chars the characters of the {@link Alphabet}.
+     * @return an {@link Alphabet}.
+     * @throws IllegalArgumentException if {@code chars} contains fewer than {@code 2} characters, or contains the same
+     * character more than once.
+     */
+    public static Alphabet of(CharSequence chars) throws IllegalArgumentException {
+        int size = chars.length();
+
+        if (size < 2) {
+            throw new IllegalArgumentException("chars must contain at least 2 characters!");
+        }
+
+        int bitsPerChar = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+        var table = new int[1 << bitsPerChar];
+        Arrays.fill(table, -1 << Character.SIZE);
+        char max = 0;
+
+        for (int i = 0; i < size; i++) {
+            table[i] = chars.charAt(i);
+            max = (char) Math.max(max, table[i]);
+        }
+
+        var codes = new int[max + 1];
+        Arrays.fill(codes, -1);
+
+        for (int i = 0; i < size; i++) {
+            if (codes[table[i]] != -1) {
+                throw new IllegalArgumentException("chars must not contain duplicate characters!");
+            }
+
+            codes[table[i]] = i;
+        }
+
+        return new Alphabet(size, table, codes);
+    }
+
+    /**
+     * Gets the amount of characters in this {@link Alphabet}.
+     *
+     * @return the amount of characters.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the amount of bits used to encode each character of this {@link Alphabet}, which is
+     * {@code ceil(log2(size()))}.
+     *
+     * @return the amount of bits per character.
+     */
+    public int bitsPerChar() {
+        return bitsPerChar;
+    }
+
+    /**
+     * Checks whether the specified character is part of this {@link Alphabet}.
+     *
+     * @param c the character to check.
+     * @return {@code true} if {@code c} can be encoded with this {@link Alphabet}, otherwise {@code false}.
+     */
+    public boolean contains(char c) {
+        return c < codes.length && codes[c] != -1;
+    }
+
+    /**
+     * Packs the codes of the specified characters into a {@code long}, where the first character occupies the
+     * {@code bitsPerChar} least significant bits.
+     *
+     * @param s        the {@link CharSequence} that contains the characters to encode.
+     * @param offset   the index of the first character in {@code s} to encode.
+     * @param numChars the amount of characters to encode, at most {@code Long.SIZE / bitsPerChar}.
+     * @return the packed codes.
+     * @throws IllegalArgumentException if one of the characters is not part of this {@link Alphabet}.
+     */
+    long encode(CharSequence s, int offset, int numChars) throws IllegalArgumentException {
+        long word = 0;
+        int invalid = 0;
+
+        for (int i = 0; i < numChars; i++) {
+            char c = s.charAt(offset + i);
+            int code = c < codes.length ? codes[c] : -1;
+            invalid |= code;
+            word |= (long) code << (i * bitsPerChar);
+        }
+
+        if (invalid < 0) {
+            throw new IllegalArgumentException("s contains a character that is not part of the alphabet!");
+        }
+
+        return word;
+    }
+
+    /**
+     * Unpacks the characters whose codes were packed into a {@code long} by
+     * {@link #encode(CharSequence, int, int)} into the specified array.
+     *
+     * @param word     the packed codes.
+     * @param numChars the amount of characters to decode.
+     * @param dst      the array to decode the characters into.
+     * @param offset   the index in {@code dst} of the first character.
+     * @throws IllegalStateException if one of the codes is not the code of any character of this {@link Alphabet}.
+     */
+    void decode(long word, int numChars, char[] dst, int offset) throws IllegalStateException {
+        int mask = chars.length - 1;
+        int invalid = 0;
+
+        for (int i = 0; i < numChars; i++, word >>>= bitsPerChar) {
+            int c = chars[(int) word & mask];
+            invalid |= c;
+            dst[offset + i] = (char) c;
+        }
+
+        if (invalid < 0) {
+            throw new IllegalStateException("Malformed string!");
+        }
+    }
+
+}
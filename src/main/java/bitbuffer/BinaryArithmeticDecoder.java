@@ -0,0 +1,141 @@
+package bitbuffer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Decompresses a stream of {@code boolean}s that was written to a {@link BitBuffer} by a
+ * {@link BinaryArithmeticEncoder}.
+ * <br><br>
+ * The decoder reads exactly as many {@code byte}s as the encoder wrote, so once the last {@code boolean} has been
+ * decoded, the {@link BitBuffer} is positioned directly after the stream.
+ *
+ * @author Jacob G.
+ * @see BinaryArithmeticEncoder
+ */
+public final class BinaryArithmeticDecoder {
+
+    /**
+     * The {@link BitBuffer} that is read from.
+     */
+    private final BitBuffer buffer;
+
+    /**
+     * The probability of each context that the next {@code boolean} decoded within it is {@code false}, in units of
+     * {@code 1 / (1 << BinaryArithmeticEncoder.PROBABILITY_BITS)}.
+     */
+    private final short[] probabilities;
+
+    /**
+     * The unsigned width of the current interval.
+     */
+    private int range = -1;
+
+    /**
+     * The unsigned offset of the coded value from the lower bound of the current interval.
+     */
+    private int code;
+
+    /**
+     * Creates a new {@link BinaryArithmeticDecoder} that reads from the specified {@link BitBuffer}, and reads the
+     * first {@code 4} {@code byte}s of the stream.
+     *
+     * @param buffer      the {@link BitBuffer} to read from, which must already be flipped.
+     * @param numContexts the amount of contexts, which must be the same as that of the
+     *                    {@link BinaryArithmeticEncoder}.
+     * @throws IllegalArgumentException if {@code numContexts} is not positive.
+     * @throws IllegalStateException    if the stream is malformed.
+     */
+    public BinaryArithmeticDecoder(BitBuffer buffer, int numContexts)
+            throws IllegalArgumentException, IllegalStateException {
+        if (numContexts <= 0) {
+            throw new IllegalArgumentException("numContexts must be positive!");
+        }
+
+        this.buffer = Objects.requireNonNull(buffer);
+        this.probabilities = new short[numContexts];
+        Arrays.fill(probabilities, (short) BinaryArithmeticEncoder.INITIAL_PROBABILITY);
+
+        for (int i = 0; i < Integer.BYTES; i++) {
+            code = code << Byte.SIZE | (int) buffer.getBits(Byte.SIZE);
+        }
+
+        if (code == range) {
+            throw new IllegalStateException("Malformed arithmetic-coded stream!");
+        }
+    }
+
+    /**
+     * Decodes the next {@code boolean} of the stream within the specified context, and adapts the probability of
+     * that context towards it.
+     *
+     * @param context the index of the context that the {@code boolean} was encoded within.
+     * @return A {@code boolean}.
+     * @throws ArrayIndexOutOfBoundsException if {@code context} is out of bounds.
+     */
+    public boolean decodeBoolean(int context) throws ArrayIndexOutOfBoundsException {
+        int probability = probabilities[context];
+        int bound = (range >>> BinaryArithmeticEncoder.PROBABILITY_BITS) * probability;
+        boolean b;
+
+        if (Integer.compareUnsigned(code, bound) < 0) {
+            range = bound;
+            probabilities[context] = (short) (probability
+                    + ((1 << BinaryArithmeticEncoder.PROBABILITY_BITS) - probability
+                    >>> BinaryArithmeticEncoder.ADAPTATION_SHIFT));
+            b = false;
+        } else {
+            code -= bound;
+            range -= bound;
+            probabilities[context] = (short) (probability
+                    - (probability >>> BinaryArithmeticEncoder.ADAPTATION_SHIFT));
+            b = true;
+        }
+
+        if ((range & BinaryArithmeticEncoder.TOP_MASK) == 0) {
+            range <<= Byte.SIZE;
+            code = code << Byte.SIZE | (int) buffer.getBits(Byte.SIZE);
+        }
+
+        return b;
+    }
+
+    /**
+     * Decodes the next value of the stream with the specified amount of bits, which was encoded with
+     * {@link BinaryArithmeticEncoder#encodeBits(int, int, int)}.
+     *
+     * @param numBits the amount of bits to decode, between {@code 0} and {@code 16}.
+     * @param context the index of the first context of the tree.
+     * @return the decoded value.
+     * @throws IllegalArgumentException  if {@code numBits} is out of range.
+     * @throws IndexOutOfBoundsException if any of the contexts of the tree are out of bounds.
+     */
+    public int decodeBits(int numBits, int context) throws IllegalArgumentException, IndexOutOfBoundsException {
+        if (numBits < 0 || numBits > BinaryArithmeticEncoder.MAX_TREE_BITS) {
+            throw new IllegalArgumentException("numBits must be between 0 and "
+                    + BinaryArithmeticEncoder.MAX_TREE_BITS + "!");
+        }
+
+        Objects.checkFromIndexSize(context, (1 << numBits) - 1, probabilities.length);
+        int node = 1;
+
+        for (int i = 0; i < numBits; i++) {
+            node = node << 1 | (decodeBoolean(context + node - 1) ? 1 : 0);
+        }
+
+        return node - (1 << numBits);
+    }
+
+    /**
+     * Verifies that the stream ended where the {@link BinaryArithmeticEncoder} finished it, which is the case if
+     * exactly the {@code boolean}s that were encoded have been decoded.
+     *
+     * @throws IllegalStateException if the stream is malformed, or was not decoded in the same way as it was encoded.
+     */
+    public void finish() throws IllegalStateException {
+        if (code != 0) {
+            throw new IllegalStateException("Malformed arithmetic-coded stream!");
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package bitbuffer;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Compresses a stream of {@code boolean}s into a {@link BitBuffer} using an adaptive binary range coder, in the style
+ * of the context-adaptive binary arithmetic coding (CABAC) of H.264 and the range coder of LZMA.
+ * <br><br>
+ * Every {@code boolean} is coded within a <i>context</i> chosen by the caller, which is an index into an array of
+ * probabilities that adapt to the {@code boolean}s previously coded within the same context. A {@code boolean} whose
+ * probability is {@code p} costs about {@code -log2(p)} bits, so a flag that is {@code false} {@code 99%} of the time
+ * costs less than a tenth of a bit on average, rather than the single bit of
+ * {@link BitBuffer#putBoolean(boolean, boolean)}. Small values, such as the ordinals of an {@code enum}, are coded
+ * one bit at a time within a binary tree of contexts by {@link #encodeBits(int, int, int)}.
+ * <br><br>
+ * The probabilities are held in a single {@code short[]}, so coding a {@code boolean} does not allocate. The coded
+ * stream is written {@code byte} by {@code byte} with {@link BitBuffer#putBits(long, int)}, and {@link #finish()}
+ * writes the final {@code 4} {@code byte}s that are needed to decode it.
+ * <br><br>
+ * The stream must be read with a {@link BinaryArithmeticDecoder} that has the same amount of contexts, and which must
+ * decode exactly the same sequence of {@code boolean}s, within the same contexts, as were encoded.
+ *
+ * @author Jacob G.
+ * @see BinaryArithmeticDecoder
+ */
+public final class BinaryArithmeticEncoder {
+
+    /**
+     * The amount of bits used to represent each probability, so that a probability of {@code 1} is
+     * {@code 1 << PROBABILITY_BITS}.
+     */
+    static final int PROBABILITY_BITS = 12;
+
+    /**
+     * The probability of each context before anything has been coded within it, which is one half.
+     */
+    static final int INITIAL_PROBABILITY = 1 << (PROBABILITY_BITS - 1);
+
+    /**
+     * The speed at which probabilities adapt, where each coded {@code boolean} moves the probability of its context
+     * {@code 1 / (1 << ADAPTATION_SHIFT)} of the way towards itself. This also keeps each probability between
+     * {@code 31} and {@code (1 << PROBABILITY_BITS) - 31}, so that it never reaches zero.
+     */
+    static final int ADAPTATION_SHIFT = 5;
+
+    /**
+     * The bits of {@code range} that must not all be zero; once they are, the range is renormalized by shifting out
+     * its most significant {@code byte}.
+     */
+    static final int TOP_MASK = 0xFF000000;
+
+    /**
+     * The maximum amount of bits of a value coded with {@link #encodeBits(int, int, int)}.
+     */
+    static final int MAX_TREE_BITS = 16;
+
+    /**
+     * The {@link BitBuffer} that is written to.
+     */
+    private final BitBuffer buffer;
+
+    /**
+     * The probability of each context that the next {@code boolean} coded within it is {@code false}, in units of
+     * {@code 1 / (1 << PROBABILITY_BITS)}.
+     */
+    private final short[] probabilities;
+
+    /**
+     * The lower bound of the current interval, of which the {@code 32} least significant bits have not been written
+     * yet, and whose {@code 33}rd bit is a carry into the {@code byte}s that are pending.
+     */
+    private long low;
+
+    /**
+     * The unsigned width of the current interval.
+     */
+    private int range = -1;
+
+    /**
+     * The most recent {@code byte} that has not been written yet because a carry may still propagate into it, or
+     * {@code -1} if there is no such {@code byte}.
+     */
+    private int cache = -1;
+
+    /**
+     * The amount of {@code 0xFF} {@code byte}s that follow {@code cache} and have not been written yet.
+     */
+    private int pending;
+
+    /**
+     * Creates a new {@link BinaryArithmeticEncoder} that writes to the specified {@link BitBuffer}.
+     *
+     * @param buffer      the {@link BitBuffer} to write to.
+     * @param numContexts the amount of contexts, each of which is an index from {@code 0} to
+     *                    {@code numContexts - 1}.
+     * @throws IllegalArgumentException if {@code numContexts} is not positive.
+     */
+    public BinaryArithmeticEncoder(BitBuffer buffer, int numContexts) throws IllegalArgumentException {
+        if (numContexts <= 0) {
+            throw new IllegalArgumentException("numContexts must be positive!");
+        }
+
+        this.buffer = Objects.requireNonNull(buffer);
+        this.probabilities = new short[numContexts];
+        Arrays.fill(probabilities, (short) INITIAL_PROBABILITY);
+    }
+
+    /**
+     * Encodes the next {@code boolean} of the stream within the specified context, and adapts the probability of
+     * that context towards it.
+     *
+     * @param b       the {@code boolean} to encode.
+     * @param context the index of the context to encode {@code b} within.
+     * @return this {@link BinaryArithmeticEncoder} to allow for the convenience of method-chaining.
+     * @throws ArrayIndexOutOfBoundsException if {@code context} is out of bounds.
+     */
+    public BinaryArithmeticEncoder encodeBoolean(boolean b, int context) throws ArrayIndexOutOfBoundsException {
+        int probability = probabilities[context];
+        int bound = (range >>> PROBABILITY_BITS) * probability;
+
+        if (b) {
+            low += bound & 0xFFFFFFFFL;
+            range -= bound;
+            probabilities[context] = (short) (probability - (probability >>> ADAPTATION_SHIFT));
+        } else {
+            range = bound;
+            probabilities[context] = (short) (probability
+                    + ((1 << PROBABILITY_BITS) - probability >>> ADAPTATION_SHIFT));
+        }
+
+        // As probabilities never drop below 31, a single byte is always enough to renormalize the range.
+        if ((range & TOP_MASK) == 0) {
+            range <<= Byte.SIZE;
+            shiftLow();
+        }
+
+        return this;
+    }
+
+    /**
+     * Encodes the next value of the stream with the specified amount of bits, from the most significant bit to the
+     * least significant bit. Each bit is encoded within a context that depends on the bits before it, so the
+     * distribution of the whole value is learned, rather than that of each bit on its own.
+     * <br><br>
+     * The value occupies the {@code (1 << numBits) - 1} contexts starting at {@code context}, which must not be used
+     * for anything else.
+     *
+     * @param value   the value to encode, whose bits beyond the {@code numBits} least significant bits are ignored.
+     * @param numBits the amount of bits to encode, between {@code 0} and {@code 16}.
+     * @param context the index of the first context of the tree.
+     * @return this {@link BinaryArithmeticEncoder} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code numBits} is out of range.
+     * @throws IndexOutOfBoundsException if any of the contexts of the tree are out of bounds.
+     */
+    public BinaryArithmeticEncoder encodeBits(int value, int numBits, int context)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        if (numBits < 0 || numBits > MAX_TREE_BITS) {
+            throw new IllegalArgumentException("numBits must be between 0 and " + MAX_TREE_BITS + "!");
+        }
+
+        Objects.checkFromIndexSize(context, (1 << numBits) - 1, probabilities.length);
+
+        for (int i = numBits - 1, node = 1; i >= 0; i--) {
+            int bit = value >>> i & 1;
+            encodeBoolean(bit != 0, context + node - 1);
+            node = node << 1 | bit;
+        }
+
+        return this;
+    }
+
+    /**
+     * Finishes the stream by writing the remaining bits of the interval, after which no more {@code boolean}s may be
+     * encoded. The {@link BitBuffer} is then positioned directly after the stream, so that it may continue to be
+     * written to as usual.
+     *
+     * @return this {@link BinaryArithmeticEncoder} to allow for the convenience of method-chaining.
+     */
+    public BinaryArithmeticEncoder finish() {
+        // Resolves the pending bytes, followed by the 4 bytes of the lower bound.
+        for (int i = 0; i <= Integer.BYTES; i++) {
+            shiftLow();
+        }
+
+        return this;
+    }
+
+    /**
+     * Shifts the most significant {@code byte} out of the lower bound. The {@code byte} is held back while it is
+     * {@code 0xFF}, as a later carry could still turn it into {@code 0x00}, and the {@code byte}s that were held back
+     * are written once the carry is known.
+     */
+    private void shiftLow() {
+        if (low < 0xFF000000L || low > 0xFFFFFFFFL) {
+            int carry = (int) (low >>> Integer.SIZE);
+
+            // The first byte of the stream has no byte before it that could absorb a carry, which means that it never
+            // receives one either.
+            if (cache >= 0) {
+                buffer.putBits(cache + carry, Byte.SIZE);
+            }
+
+            for (; pending > 0; pending--) {
+                buffer.putBits(0xFF + carry, Byte.SIZE);
+            }
+
+            cache = (int) (low >>> 24) & 0xFF;
+        } else {
+            pending++;
+        }
+
+        low = (low & 0xFFFFFFL) << Byte.SIZE;
+    }
+
+}
@@ -1,8 +1,20 @@
 package bitbuffer;
 
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
 import java.util.function.IntFunction;
 
 /**
@@ -18,6 +30,52 @@ public final class BitBuffer {
      * The mask used when writing/reading bits.
      */
     private static final long[] MASKS = new long[Long.SIZE + 1];
+    
+    /**
+     * The most significant bit of every {@code byte} in a {@code long}, which is the continuation bit of a
+     * variable-length integer.
+     */
+    private static final long CONTINUATION_BITS = 0x8080808080808080L;
+    
+    /**
+     * The amount of bits used to write the Golomb-Rice parameter of each block.
+     */
+    private static final int RICE_PARAMETER_BITS = 6;
+    
+    /**
+     * The largest capacity that the backing {@link ByteBuffer} of an elastic {@link BitBuffer} can grow to, which
+     * stays clear of the array size limit of the VM.
+     */
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - Long.BYTES;
+    
+    /**
+     * The amount of low bits of a marker returned by {@link #reserveBits(int)} that hold the amount of reserved bits;
+     * the remaining bits hold the index of the first reserved bit.
+     */
+    private static final int MARKER_BITS = 7;
+    
+    /**
+     * The distance in {@code byte}s between the start of consecutive windows of a memory-mapped {@link BitBuffer}.
+     */
+    private static final int WINDOW_STRIDE = 1 << 29;
+    
+    /**
+     * The maximum amount of {@code byte}s read by a single call to {@link #readFrom(ReadableByteChannel)} when this
+     * {@link BitBuffer} is not aligned to a {@code byte}, which bounds the size of {@code transfer}.
+     */
+    private static final int TRANSFER_SIZE = 8192;
+    
+    /**
+     * The empty {@link ByteBuffer} that stands in for each {@link BitBuffer} without pending {@code byte}s in
+     * {@link #writeTo(GatheringByteChannel, BitBuffer...)}, which is read-only so that no channel can modify it.
+     */
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0).asReadOnlyBuffer();
+    
+    /**
+     * The amount of {@code short}s or {@code int}s that the bulk methods such as {@link #putInts(int[], int, int, int)}
+     * widen into {@code long}s at a time, which bounds the size of {@code widened}.
+     */
+    private static final int WIDENED_SIZE = 1024;
 
     /*
      * Initialize the mask to its respective values.
@@ -29,9 +87,36 @@ public final class BitBuffer {
     }
 
     /**
-     * The backing {@link ByteBuffer}.
+     * Views a {@code byte[]} as {@code long}s with {@link ByteOrder#LITTLE_ENDIAN} order, which is the order in which
+     * {@code byte}s are packed into the <i>cache</i>.
+     */
+    private static final VarHandle BYTE_ARRAY_LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * Views a {@link ByteBuffer} as {@code long}s with {@link ByteOrder#LITTLE_ENDIAN} order.
+     * <br><br>
+     * Unlike {@link ByteBuffer#putLong(long)} and {@link ByteBuffer#getLong()}, accessing a {@code long} through this
+     * {@link VarHandle} neither updates the position of the {@link ByteBuffer} nor checks its order, so a batch of
+     * flushes or refills compiles to plain loads and stores once its capacity has been checked up front.
+     */
+    private static final VarHandle BYTE_BUFFER_LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * The backing {@link ByteBuffer}, which is replaced by a larger one whenever an elastic {@link BitBuffer} grows.
+     */
+    private ByteBuffer buffer;
+    
+    /**
+     * The function used to allocate the backing {@link ByteBuffer}, which determines whether it is direct.
+     */
+    private final IntFunction<ByteBuffer> allocator;
+    
+    /**
+     * The {@link GrowthPolicy} of an elastic {@link BitBuffer}, or {@code null} if its capacity is fixed.
      */
-    private final ByteBuffer buffer;
+    private final GrowthPolicy policy;
 
     /**
      * The number of bits available within {@code cache}.
@@ -42,14 +127,100 @@ public final class BitBuffer {
      * The <i>cache</i> used when writing and reading bits.
      */
     private long cache;
+    
+    /**
+     * Whether or not this {@link BitBuffer} has been flipped for a series of relative {@code get} operations.
+     */
+    private boolean reading;
+    
+    /**
+     * The windows of a memory-mapped {@link BitBuffer}, or {@code null} if it is not memory-mapped.
+     * <br><br>
+     * Window {@code i} maps the {@code 2 * stride} {@code byte}s starting at {@code i * stride}, so consecutive windows
+     * overlap by {@code stride} {@code byte}s. As long as the position within the current window is less than
+     * {@code stride}, at least {@code stride} {@code byte}s can therefore be accessed without switching windows.
+     */
+    private final ByteBuffer[] windows;
+    
+    /**
+     * The distance in {@code byte}s between the start of consecutive {@code windows}.
+     */
+    private final int stride;
+    
+    /**
+     * The index of the window that {@code buffer} refers to.
+     */
+    private int window;
+    
+    /**
+     * The number of {@code byte}s that have been written to a channel by {@link #writeTo(WritableByteChannel)} since
+     * this {@link BitBuffer} was last cleared.
+     */
+    private long writtenBytes;
+    
+    /**
+     * The furthest position in bits that has been written to since this {@link BitBuffer} was last cleared, not
+     * counting the current position while it is being written.
+     */
+    private long writtenBits;
+    
+    /**
+     * The {@link BitBufferPool} that allocated this {@link BitBuffer}, or {@code null} if it was not allocated by a
+     * pool, which only such a pool may take back.
+     */
+    BitBufferPool owner;
+    
+    /**
+     * The scratch {@link ByteBuffer} that {@link #readFrom(ReadableByteChannel)} reads into when this
+     * {@link BitBuffer} is not aligned to a {@code byte}, which is reused by every subsequent call, or {@code null} if
+     * no such read has happened yet.
+     */
+    private ByteBuffer transfer;
+    
+    /**
+     * The scratch array that {@code short}s and {@code int}s are widened into, or narrowed from, by the bulk methods
+     * such as {@link #putInts(int[], int, int, int)}, which is reused by every subsequent call, or {@code null} if no
+     * such method has been called yet.
+     */
+    private long[] widened;
+    
+    /**
+     * The scratch array that strings are decoded into by {@link #getString()} and {@link #getString(Alphabet)}, which
+     * is reused by every subsequent call and grown as needed, or {@code null} if no string has been read yet.
+     */
+    private char[] chars;
 
     /**
      * A private constructor.
      *
-     * @param buffer the backing {@link ByteBuffer}.
+     * @param buffer    the backing {@link ByteBuffer}.
+     * @param allocator the function used to allocate {@code buffer}.
+     * @param policy    the {@link GrowthPolicy} of this {@link BitBuffer}, or {@code null} if its capacity is fixed.
      */
-    private BitBuffer(ByteBuffer buffer) {
+    private BitBuffer(ByteBuffer buffer, IntFunction<ByteBuffer> allocator, GrowthPolicy policy) {
         this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        this.allocator = allocator;
+        this.policy = policy;
+        this.windows = null;
+        this.stride = 0;
+    }
+    
+    /**
+     * A private constructor for a memory-mapped {@link BitBuffer}.
+     *
+     * @param windows the windows of the memory-mapped file.
+     * @param stride  the distance in {@code byte}s between the start of consecutive windows.
+     */
+    private BitBuffer(ByteBuffer[] windows, int stride) {
+        for (var window : windows) {
+            window.order(ByteOrder.LITTLE_ENDIAN);
+        }
+        
+        this.buffer = windows[0];
+        this.allocator = null;
+        this.policy = null;
+        this.windows = windows;
+        this.stride = stride;
     }
     
     /**
@@ -57,10 +228,11 @@ public final class BitBuffer {
      *
      * @param capacity the capacity of the {@link BitBuffer} in {@code byte}s.
      * @param function a function that accepts the specified capacity and returns an allocated {@link ByteBuffer}.
+     * @param policy   the {@link GrowthPolicy} of the {@link BitBuffer}, or {@code null} if its capacity is fixed.
      * @return a {@link BitBuffer} allocated with the specified capacity.
      */
-    private static BitBuffer allocate(int capacity, IntFunction<ByteBuffer> function) {
-        return new BitBuffer(function.apply((capacity + 7) / 8 * 8 + Long.BYTES));
+    private static BitBuffer allocate(int capacity, IntFunction<ByteBuffer> function, GrowthPolicy policy) {
+        return new BitBuffer(function.apply(capacity), function, policy);
     }
     
     /**
@@ -70,7 +242,21 @@ public final class BitBuffer {
      * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
      */
     public static BitBuffer allocate(int capacity) {
-        return allocate(capacity, ByteBuffer::allocate);
+        return allocate(capacity, ByteBuffer::allocate, null);
+    }
+    
+    /**
+     * Allocates a new, elastic {@link BitBuffer} backed by a {@link ByteBuffer}.
+     * <br><br>
+     * Rather than throwing a {@link BufferOverflowException} when it is full, an elastic {@link BitBuffer} replaces
+     * its backing {@link ByteBuffer} with a larger one, as determined by {@code policy}.
+     *
+     * @param capacity the initial capacity of the {@link BitBuffer} in {@code byte}s.
+     * @param policy   the {@link GrowthPolicy} that determines how the {@link BitBuffer} grows.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public static BitBuffer allocate(int capacity, GrowthPolicy policy) {
+        return allocate(capacity, ByteBuffer::allocate, Objects.requireNonNull(policy));
     }
 
     /**
@@ -83,264 +269,1807 @@ public final class BitBuffer {
      * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
      */
     public static BitBuffer allocateDirect(int capacity) {
-        return allocate(capacity, ByteBuffer::allocateDirect);
+        return allocate(capacity, ByteBuffer::allocateDirect, null);
     }
-
+    
     /**
-     * Writes {@code value} to this {@link BitBuffer} using {@code numBits} bits.
+     * Allocates a new, elastic {@link BitBuffer} backed by a <strong>direct</strong> {@link ByteBuffer}.
+     * <br><br>
+     * Whenever the {@link BitBuffer} grows, its new backing {@link ByteBuffer} is direct as well.
      *
-     * @param value   the value to write.
-     * @param numBits the amount of bits to use when writing {@code value}.
+     * @param capacity the initial capacity of the {@link BitBuffer} in {@code byte}s.
+     * @param policy   the {@link GrowthPolicy} that determines how the {@link BitBuffer} grows.
      * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #allocate(int, GrowthPolicy)
      */
-    private BitBuffer putBits(long value, int numBits) {
-        // If the value that we're writing is too large to be placed entirely in the cache, then we need to place as
-        // much as we can in the cache (the least significant bits), flush the cache to the backing ByteBuffer, and
-        // place the rest in the cache.
-        if (remainingBits < numBits) {
-            int upperHalfBits = numBits - remainingBits;
-            cache |= (value & MASKS[remainingBits]) << Long.SIZE - remainingBits;
-            buffer.putLong(cache);
-            cache = value & (MASKS[upperHalfBits] << remainingBits);
-            remainingBits = Long.SIZE - upperHalfBits;
-        } else {
-            cache |= ((value & MASKS[numBits]) << (Long.SIZE - remainingBits));
-            remainingBits -= numBits;
-        }
-        
-        return this;
+    public static BitBuffer allocateDirect(int capacity, GrowthPolicy policy) {
+        return allocate(capacity, ByteBuffer::allocateDirect, Objects.requireNonNull(policy));
     }
-
+    
     /**
-     * Writes either {@link Byte#BYTES} or {@link Byte#SIZE} bits to this {@link BitBuffer}, depending on the value of
-     * {@code compressed}.
+     * Wraps the remaining {@code byte}s of the specified {@link ByteBuffer} in a {@link BitBuffer} that is ready for a
+     * series of relative {@code get} operations, without copying them; call {@link #clear()} to write to it instead.
+     * <br><br>
+     * The {@link BitBuffer} starts at the position of {@code buffer} and ends at its limit, which does not need to be
+     * a multiple of {@link Long#BYTES}. Changes to the contents of either buffer are visible in the other, but the
+     * position, limit, and {@link ByteOrder} of {@code buffer} are left untouched.
      *
-     * @param b          the {@code boolean} to write.
-     * @param compressed whether or not the {@code boolean} should be compressed.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @param buffer the {@link ByteBuffer} to wrap.
+     * @return a {@link BitBuffer} backed by the remaining {@code byte}s of {@code buffer}.
      */
-    public BitBuffer putBoolean(boolean b, boolean compressed) {
-        return compressed ? putBits(b ? 1 : 0, 1) : putByte(b ? 1 : 0);
+    public static BitBuffer wrap(ByteBuffer buffer) {
+        var bitBuffer = new BitBuffer(buffer.slice(), null, null).flip();
+        bitBuffer.writtenBits = bitBuffer.byteLimit() * Byte.SIZE;
+        return bitBuffer;
     }
     
     /**
-     * Writes a value to this {@link BitBuffer} using {@link Byte#SIZE} bits.
+     * Wraps the specified array in a {@link BitBuffer} that is ready for a series of relative {@code get} operations,
+     * without copying it.
      *
-     * @param b the {@code byte} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @param array the array to wrap.
+     * @return a {@link BitBuffer} backed by {@code array}.
+     * @see #wrap(byte[], int, int)
      */
-    public BitBuffer putByte(byte b) {
-        return putBits(b, Byte.SIZE);
+    public static BitBuffer wrap(byte[] array) {
+        return wrap(array, 0, array.length);
     }
     
     /**
-     * Writes a value to this {@link BitBuffer} using {@link Byte#SIZE} bits.
+     * Wraps a region of the specified array in a {@link BitBuffer} that is ready for a series of relative
+     * {@code get} operations, without copying it; call {@link #clear()} to write to it instead.
+     * <br><br>
+     * The region does not need to be a multiple of {@link Long#BYTES} in length, and changes to its contents are
+     * visible in both the array and the {@link BitBuffer}.
      *
-     * @param b the {@code byte} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code byte}.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putByte(byte)
+     * @param array  the array to wrap.
+     * @param offset the index of the first {@code byte} of the region.
+     * @param length the number of {@code byte}s in the region.
+     * @return a {@link BitBuffer} backed by the region of {@code array}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code array}.
      */
-    public BitBuffer putByte(int b) {
-        return putByte((byte) b);
+    public static BitBuffer wrap(byte[] array, int offset, int length) throws IndexOutOfBoundsException {
+        return wrap(ByteBuffer.wrap(array, offset, length));
     }
     
     /**
-     * Writes an array of {@code byte}s to this {@link BitBuffer} using {@link Byte#SIZE} bits for each {@code byte}.
+     * Maps a region of a file directly into memory, and returns a {@link BitBuffer} backed by it that is ready for a
+     * series of relative {@code get} operations; call {@link #clear()} to write to it instead.
+     * <br><br>
+     * Nothing is copied: pages of the file are loaded lazily as they are read, and can be shared with other
+     * processes that map the same file. Regions larger than {@code 1} GiB are mapped as several overlapping windows,
+     * which relative, absolute, and bulk operations move between seamlessly.
+     * <br><br>
+     * The mapping remains valid until the {@link BitBuffer} is garbage-collected.
      *
-     * @param src the array of {@code byte}s to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @param path   the file to map.
+     * @param mode   whether the file is mapped read-only, read/write, or privately (copy-on-write).
+     * @param offset the position within the file at which the region starts.
+     * @param length the size of the region in {@code byte}s.
+     * @return a {@link BitBuffer} backed by the mapped region.
+     * @throws IllegalArgumentException if {@code offset} or {@code length} are negative, or if a region larger than
+     * {@code 1} GiB is mapped privately, as its windows would not see each other's writes.
+     * @throws IOException              if an I/O error occurs while opening or mapping the file.
+     * @see FileChannel#map(FileChannel.MapMode, long, long)
      */
-    public BitBuffer putBytes(byte[] src) {
-        for (byte b : src) {
-            putByte(b);
+    public static BitBuffer map(Path path, FileChannel.MapMode mode, long offset, long length)
+            throws IllegalArgumentException, IOException {
+        return map(path, mode, offset, length, WINDOW_STRIDE);
+    }
+    
+    /**
+     * Maps a region of a file directly into memory with the specified distance between windows, which allows
+     * switching between windows to be tested without mapping gigabytes.
+     *
+     * @param path   the file to map.
+     * @param mode   whether the file is mapped read-only, read/write, or privately (copy-on-write).
+     * @param offset the position within the file at which the region starts.
+     * @param length the size of the region in {@code byte}s.
+     * @param stride the distance in {@code byte}s between the start of consecutive windows.
+     * @return a {@link BitBuffer} backed by the mapped region.
+     * @throws IllegalArgumentException if {@code offset} or {@code length} are negative, or if a region larger than
+     * one window is mapped privately.
+     * @throws IOException              if an I/O error occurs while opening or mapping the file.
+     * @see #map(Path, FileChannel.MapMode, long, long)
+     */
+    static BitBuffer map(Path path, FileChannel.MapMode mode, long offset, long length, int stride)
+            throws IllegalArgumentException, IOException {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must be positive!");
         }
         
-        return this;
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be positive!");
+        }
+        
+        long windowSize = 2L * stride;
+        // Each window spans two strides, so the last one also covers the final stride, and the count is
+        // ceil((length - stride) / stride).
+        int numWindows = (int) Math.max(1, (length - 1) / stride);
+        
+        if (numWindows > 1 && mode == FileChannel.MapMode.PRIVATE) {
+            throw new IllegalArgumentException("Regions larger than " + windowSize + " bytes cannot be mapped " +
+                    "privately!");
+        }
+        
+        var windows = new ByteBuffer[numWindows];
+        var options = mode == FileChannel.MapMode.READ_ONLY ?
+                new StandardOpenOption[] { StandardOpenOption.READ } :
+                new StandardOpenOption[] { StandardOpenOption.READ, StandardOpenOption.WRITE };
+        
+        try (var channel = FileChannel.open(path, options)) {
+            for (int i = 0; i < numWindows; i++) {
+                long start = (long) i * stride;
+                windows[i] = channel.map(mode, offset + start, Math.min(windowSize, length - start));
+            }
+        }
+        
+        var bitBuffer = new BitBuffer(windows, stride).flip();
+        bitBuffer.writtenBits = length * Byte.SIZE;
+        return bitBuffer;
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Character#SIZE} bits.
+     * Ensures that the backing {@link ByteBuffer} has at least {@code bytes} {@code byte}s remaining, growing it if
+     * this {@link BitBuffer} is elastic.
+     * <br><br>
+     * If this {@link BitBuffer} is not elastic, this method does nothing and the write that follows is left to throw a
+     * {@link BufferOverflowException}.
      *
-     * @param c the {@code char} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putChar(char, ByteOrder)
+     * @param bytes the amount of {@code byte}s about to be written to the backing {@link ByteBuffer}.
+     * @throws BufferOverflowException if the {@link GrowthPolicy} does not allow the backing {@link ByteBuffer} to
+     * grow large enough.
      */
-    public BitBuffer putChar(char c) {
-        return putChar(c, ByteOrder.LITTLE_ENDIAN);
+    private void ensureRemaining(int bytes) throws BufferOverflowException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        
+        if (windows != null) {
+            moveWindow();
+            return;
+        }
+        
+        if (policy == null) {
+            return;
+        }
+        
+        long minimumCapacity = (long) buffer.position() + bytes;
+        
+        if (minimumCapacity > MAX_CAPACITY) {
+            throw new BufferOverflowException();
+        }
+        
+        // A policy may ask for more than the VM can allocate, which would throw an OutOfMemoryError rather than grow.
+        int capacity = Math.min(policy.grow(buffer.capacity(), (int) minimumCapacity), MAX_CAPACITY);
+        
+        if (capacity < minimumCapacity) {
+            throw new BufferOverflowException();
+        }
+        
+        // Bits may have been written beyond the position with an absolute put, so the entire buffer is copied.
+        int position = buffer.position();
+        var grown = allocator.apply(capacity).order(ByteOrder.LITTLE_ENDIAN);
+        grown.put(buffer.clear()).position(position);
+        buffer = grown;
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Character#SIZE} bits.
+     * Writes the bits held by the <i>cache</i> to the backing {@link ByteBuffer} at its current position, without
+     * advancing it or overwriting any of the bits that follow them.
      *
-     * @param c the {@code char} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws BufferOverflowException if the backing {@link ByteBuffer} is too small to hold the bits of the
+     * <i>cache</i>.
      */
-    public BitBuffer putChar(char c, ByteOrder order) {
-        return putBits(order == ByteOrder.BIG_ENDIAN ? Character.reverseBytes(c) : c, Character.SIZE);
+    private void writeCache() throws BufferOverflowException {
+        int numBits = Long.SIZE - remainingBits;
+        
+        if (numBits == 0) {
+            return;
+        }
+        
+        int bytes = (numBits + 7) / Byte.SIZE;
+        ensureRemaining(bytes);
+        
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+        
+        mergeLong(windowBase(window) + buffer.position(), cache, MASKS[numBits]);
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Double#SIZE} bits.
+     * Gets the index of the window of a memory-mapped {@link BitBuffer} in which the specified {@code byte} is
+     * furthest from the end.
      *
-     * @param d the {@code double} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putDouble(double, ByteOrder)
+     * @param index the index of the {@code byte}.
+     * @return the index of the window, which is always {@code 0} if this {@link BitBuffer} is not memory-mapped.
      */
-    public BitBuffer putDouble(double d) {
-        return putDouble(d, ByteOrder.LITTLE_ENDIAN);
+    private int windowOf(long index) {
+        return windows == null ? 0 : (int) Math.min(index / stride, windows.length - 1);
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Double#SIZE} bits.
+     * Gets the index of the first {@code byte} of the specified window.
      *
-     * @param d the {@code double} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putLong(long, ByteOrder)
+     * @param window the index of the window.
+     * @return the index of the first {@code byte} of the window.
      */
-    public BitBuffer putDouble(double d, ByteOrder order) {
-        return putLong(Double.doubleToRawLongBits(d), order);
+    private long windowBase(int window) {
+        return (long) window * stride;
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Float#SIZE} bits.
+     * Moves the position of the backing {@link ByteBuffer} to the specified {@code byte}, switching to the window in
+     * which it is furthest from the end if this {@link BitBuffer} is memory-mapped.
      *
-     * @param f the {@code float} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putFloat(float, ByteOrder)
+     * @param index the index of the {@code byte}.
      */
-    public BitBuffer putFloat(float f) {
-        return putFloat(f, ByteOrder.LITTLE_ENDIAN);
+    private void position(long index) {
+        int window = windowOf(index);
+        
+        if (window != this.window) {
+            this.window = window;
+            buffer = windows[window];
+        }
+        
+        buffer.position((int) (index - windowBase(window)));
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Float#SIZE} bits.
-     *
-     * @param f the {@code float} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putInt(int, ByteOrder)
+     * Switches to the window in which the current position is furthest from the end, so that at least
+     * {@code stride} {@code byte}s can be accessed, unless the end of the mapped region is reached first.
      */
-    public BitBuffer putFloat(float f, ByteOrder order) {
-        return putInt(Float.floatToRawIntBits(f), order);
+    private void moveWindow() {
+        position(windowBase(window) + buffer.position());
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Integer#SIZE} bits.
+     * Gets the limit of this {@link BitBuffer} in {@code byte}s, which spans every window if it is memory-mapped.
      *
-     * @param i the {@code int} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putInt(int, ByteOrder)
+     * @return the limit in {@code byte}s.
      */
-    public BitBuffer putInt(int i) {
-        return putInt(i, ByteOrder.LITTLE_ENDIAN);
+    private long byteLimit() {
+        if (windows == null) {
+            return buffer.limit();
+        }
+        
+        // The limit lies within the last window that has a non-zero limit.
+        int window = windows.length - 1;
+        
+        while (window > 0 && windows[window].limit() == 0) {
+            window--;
+        }
+        
+        return windowBase(window) + windows[window].limit();
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Integer#SIZE} bits.
+     * Gets the capacity of this {@link BitBuffer} in {@code byte}s, which spans every window if it is memory-mapped.
      *
-     * @param i the {@code int} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @return the capacity in {@code byte}s.
      */
-    public BitBuffer putInt(int i, ByteOrder order) {
-        return putBits(order == ByteOrder.BIG_ENDIAN ? Integer.reverseBytes(i) : i, Integer.SIZE);
+    private long byteCapacity() {
+        return windowEnd(windowBase(windows == null ? 0 : windows.length - 1));
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Long#SIZE} bits.
+     * Sets the limit of this {@link BitBuffer} in {@code byte}s, adjusting the limit of every window if it is
+     * memory-mapped, and moves its position to the start.
      *
-     * @param l the {@code int} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @see #putLong(long, ByteOrder)
+     * @param limit the new limit in {@code byte}s, which must not exceed the capacity.
      */
-    public BitBuffer putLong(long l) {
-        return putLong(l, ByteOrder.LITTLE_ENDIAN);
+    private void limit(long limit) {
+        position(0);
+        
+        if (windows == null) {
+            buffer.clear().limit((int) limit);
+            return;
+        }
+        
+        for (int i = 0; i < windows.length; i++) {
+            windows[i].limit((int) Math.max(0, Math.min(limit - windowBase(i), windows[i].capacity())));
+        }
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Long#SIZE} bits.
+     * Reads up to {@link Long#BYTES} {@code byte}s from the backing {@link ByteBuffer} at the specified index with
+     * {@link ByteOrder#LITTLE_ENDIAN} order, without reading beyond its limit.
      *
-     * @param l the {@code long} to write.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @param index the index of the first {@code byte} to read.
+     * @return a {@code long} containing the {@code byte}s that were read, padded with zeros.
      */
-    public BitBuffer putLong(long l, ByteOrder order) {
-        return putBits(order == ByteOrder.BIG_ENDIAN ? Long.reverseBytes(l) : l, Long.SIZE);
+    private long loadLong(long index) {
+        int window = windowOf(index);
+        var buffer = windows == null ? this.buffer : windows[window];
+        int i = (int) (index - windowBase(window));
+        
+        if (i + Long.BYTES <= buffer.limit()) {
+            return buffer.getLong(i);
+        }
+        
+        long value = 0;
+        
+        for (int j = 0; i + j < buffer.limit(); j++) {
+            value |= (buffer.get(i + j) & 0xFFL) << j * Byte.SIZE;
+        }
+        
+        return value;
     }
     
     /**
-     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Short#SIZE} bits.
+     * Replaces the bits selected by {@code mask} in the {@link Long#BYTES} {@code byte}s of the backing
+     * {@link ByteBuffer} at the specified index with those of {@code value}, leaving every other bit untouched.
+     * <br><br>
+     * Only the {@code byte}s selected by {@code mask} are accessed, so none are written beyond the limit as long as
+     * {@code mask} does not select them.
      *
-     * @param s the {@code short} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code short}.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @param index the index of the first {@code byte} to write.
+     * @param value the bits to write with {@link ByteOrder#LITTLE_ENDIAN} order.
+     * @param mask  the bits of {@code value} to write.
      */
-    public BitBuffer putShort(int s) {
-        return putShort(s, ByteOrder.LITTLE_ENDIAN);
+    private void mergeLong(long index, long value, long mask) {
+        int window = windowOf(index);
+        var buffer = windows == null ? this.buffer : windows[window];
+        int i = (int) (index - windowBase(window));
+        
+        if (i + Long.BYTES <= buffer.limit()) {
+            buffer.putLong(i, buffer.getLong(i) & ~mask | value & mask);
+            return;
+        }
+        
+        for (int j = 0; j < Long.BYTES && mask >>> j * Byte.SIZE != 0; j++) {
+            int byteMask = (int) (mask >>> j * Byte.SIZE) & 0xFF;
+            
+            if (byteMask != 0) {
+                int b = buffer.get(i + j) & ~byteMask | (int) (value >>> j * Byte.SIZE) & byteMask;
+                buffer.put(i + j, (byte) b);
+            }
+        }
     }
     
     /**
-     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Short#SIZE} bits.
+     * Gets the index of the bit held by the least significant bit of the <i>cache</i>.
      *
-     * @param s the {@code short} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code short}.
-     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @return the index of the first bit held by the <i>cache</i>.
      */
-    public BitBuffer putShort(int s, ByteOrder order) {
-        var value = (short) s;
-        return putBits(order == ByteOrder.BIG_ENDIAN ? Short.reverseBytes(value) : value, Short.SIZE);
+    private long cacheBitIndex() {
+        long position = windowBase(window) + buffer.position();
+        return reading ? position * Byte.SIZE - remainingBits : position * Byte.SIZE;
     }
     
     /**
-     * Given the specified {@code maxValue}, this method writes the specified value to this {@link BitBuffer}
+     * Checks that {@code numBits} bits starting at {@code bitIndex} lie within the limit of the backing
+     * {@link ByteBuffer}.
+     *
+     * @param bitIndex the index of the first bit.
+     * @param numBits  the amount of bits, between {@code 0} and {@link Long#SIZE}.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link ByteBuffer}.
+     */
+    private void checkBitIndex(long bitIndex, int numBits) throws IndexOutOfBoundsException {
+        if (numBits < 0 || numBits > Long.SIZE || bitIndex < 0 || bitIndex > byteLimit() * Byte.SIZE - numBits) {
+            throw new IndexOutOfBoundsException("Bits " + bitIndex + " to " + (bitIndex + numBits) +
+                    " are out of bounds!");
+        }
+    }
+
+    /**
+     * Writes {@code value} to this {@link BitBuffer} using {@code numBits} bits.
+     * <br><br>
+     * Only the {@code numBits} least significant bits of {@code value} are written.
+     *
+     * @param value   the value to write.
+     * @param numBits the amount of bits to use when writing {@code value}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putBits(long value, int numBits) {
+        // If the value that we're writing is too large to be placed entirely in the cache, then we need to place as
+        // much as we can in the cache (the least significant bits), flush the cache to the backing ByteBuffer, and
+        // place the rest in the cache.
+        if (remainingBits < numBits) {
+            int upperHalfBits = numBits - remainingBits;
+            cache |= (value & MASKS[remainingBits]) << Long.SIZE - remainingBits;
+            ensureRemaining(Long.BYTES);
+            buffer.putLong(cache);
+            cache = (value >>> remainingBits) & MASKS[upperHalfBits];
+            remainingBits = Long.SIZE - upperHalfBits;
+        } else {
+            cache |= ((value & MASKS[numBits]) << (Long.SIZE - remainingBits));
+            remainingBits -= numBits;
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Writes {@code value} using {@code numBits} bits, starting at the specified bit index, without changing the
+     * position of this {@link BitBuffer}.
+     * <br><br>
+     * This allows a field, such as the length of a message, to be patched after the rest of the message has been
+     * written. Bits that are still held by the <i>cache</i> are updated as well, so the write is visible to both
+     * relative and absolute {@code get} operations.
+     *
+     * @param bitIndex the index of the first bit to write.
+     * @param value    the value to write.
+     * @param numBits  the amount of bits to use when writing {@code value}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link ByteBuffer}.
+     */
+    public BitBuffer putBits(long bitIndex, long value, int numBits) throws IndexOutOfBoundsException {
+        checkBitIndex(bitIndex, numBits);
+        writtenBits = Math.max(writtenBits, bitIndex + numBits);
+        
+        long bits = value & MASKS[numBits];
+        long index = bitIndex >>> 3;
+        int shift = (int) bitIndex & 7;
+        mergeLong(index, bits << shift, MASKS[numBits] << shift);
+        
+        if (shift + numBits > Long.SIZE) {
+            mergeLong(index + Long.BYTES, bits >>> Long.SIZE - shift, MASKS[numBits] >>> Long.SIZE - shift);
+        }
+        
+        // If any of the bits are held by the cache, then the cache must be updated as well, otherwise they would be
+        // overwritten when it is flushed (or they would not be seen when reading).
+        long cacheBitIndex = cacheBitIndex();
+        long from = Math.max(bitIndex, cacheBitIndex);
+        long to = Math.min(bitIndex + numBits, cacheBitIndex + (reading ? remainingBits : Long.SIZE - remainingBits));
+        
+        if (from < to) {
+            int overlap = (int) (to - from);
+            int offset = (int) (from - cacheBitIndex);
+            cache &= ~(MASKS[overlap] << offset);
+            cache |= (bits >>> (from - bitIndex) & MASKS[overlap]) << offset;
+        }
+        
+        return this;
+    }
+
+    /**
+     * Reserves {@code numBits} bits at the current position, to be filled in later by {@link #fill(long, long)}.
+     * <br><br>
+     * This allows a message to be framed in a single pass, without encoding it twice or copying it, by reserving
+     * space for its length before writing it:
+     * <pre>
+     * long marker = buffer.reserveBits(16);
+     * long start = buffer.bitPosition();
+     * // ... write the message ...
+     * buffer.fill(marker, buffer.bitPosition() - start);
+     * </pre>
+     * The reserved bits are written as zeros until they are filled.
+     *
+     * @param numBits the amount of bits to reserve, between {@code 0} and {@link Long#SIZE}.
+     * @return an opaque marker that identifies the reserved bits.
+     * @throws IllegalArgumentException if {@code numBits} is negative or greater than {@link Long#SIZE}.
+     */
+    public long reserveBits(int numBits) throws IllegalArgumentException {
+        if (numBits < 0 || numBits > Long.SIZE) {
+            throw new IllegalArgumentException("numBits must be between 0 and 64!");
+        }
+        
+        long marker = bitPosition() << MARKER_BITS | numBits;
+        putBits(0, numBits);
+        return marker;
+    }
+    
+    /**
+     * Writes {@code value} to the bits that were reserved by {@link #reserveBits(int)}, without changing the position
+     * of this {@link BitBuffer}.
+     * <br><br>
+     * The reserved bits may already have been flushed to the backing {@link ByteBuffer}, or may still be held by the
+     * <i>cache</i>.
+     *
+     * @param marker the marker returned by {@link #reserveBits(int)}.
+     * @param value  the value to write, which must fit within the reserved bits.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code value} does not fit within the reserved bits.
+     * @see #putBits(long, long, int)
+     */
+    public BitBuffer fill(long marker, long value) throws IllegalArgumentException {
+        long bitIndex = marker >>> MARKER_BITS;
+        int numBits = (int) marker & (int) MASKS[MARKER_BITS];
+        
+        if (numBits < Long.SIZE && value >>> numBits != 0) {
+            throw new IllegalArgumentException("value does not fit within the reserved bits!");
+        }
+        
+        // The reserved bits may still be held by the cache beyond the end of an elastic buffer that has yet to grow.
+        if (!reading) {
+            long pendingBits = bitIndex + numBits - cacheBitIndex();
+            
+            if (pendingBits > 0) {
+                ensureRemaining((int) ((pendingBits + 7) / Byte.SIZE));
+            }
+        }
+        
+        return putBits(bitIndex, value, numBits);
+    }
+    
+    /**
+     * Writes either {@link Byte#BYTES} or {@link Byte#SIZE} bits to this {@link BitBuffer}, depending on the value of
+     * {@code compressed}.
+     *
+     * @param b          the {@code boolean} to write.
+     * @param compressed whether or not the {@code boolean} should be compressed.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putBoolean(boolean b, boolean compressed) {
+        return compressed ? putBits(b ? 1 : 0, 1) : putByte(b ? 1 : 0);
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putByte(byte b) {
+        return putBits(b, Byte.SIZE);
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code byte}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putByte(byte)
+     */
+    public BitBuffer putByte(int b) {
+        return putByte((byte) b);
+    }
+    
+    /**
+     * Writes an array of {@code byte}s to this {@link BitBuffer} using {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param src the array of {@code byte}s to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putBytes(byte[] src) {
+        return putBytes(src, 0, src.length);
+    }
+    
+    /**
+     * Writes {@code length} {@code byte}s from the specified array, starting at {@code offset}, to this
+     * {@link BitBuffer} using {@link Byte#SIZE} bits for each {@code byte}.
+     * <br><br>
+     * If this {@link BitBuffer} is currently aligned to a {@code byte}, the {@code byte}s are copied directly into the
+     * backing {@link ByteBuffer}; otherwise, they are written {@link Long#BYTES} at a time.
+     *
+     * @param src    the array of {@code byte}s to write.
+     * @param offset the index of the first {@code byte} in {@code src} to write.
+     * @param length the number of {@code byte}s to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public BitBuffer putBytes(byte[] src, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        
+        int end = offset + length;
+        
+        if (remainingBits % Byte.SIZE == 0) {
+            // Top up the cache so that it can be flushed, after which the backing ByteBuffer is aligned to a long and
+            // every whole long can be copied directly.
+            int toFill = Math.min(remainingBits / Byte.SIZE, length) % Long.BYTES;
+            putBits(pack(src, offset, toFill), toFill * Byte.SIZE);
+            offset += toFill;
+            
+            if (remainingBits == 0) {
+                ensureRemaining(Long.BYTES);
+                buffer.putLong(cache);
+                cache = 0;
+                remainingBits = Long.SIZE;
+            }
+            
+            if (remainingBits == Long.SIZE) {
+                int toCopy = (end - offset) / Long.BYTES * Long.BYTES;
+                
+                // A memory-mapped BitBuffer may need to copy into several windows.
+                while (windows != null && toCopy > buffer.remaining() && window < windows.length - 1) {
+                    moveWindow();
+                    int chunk = Math.min(toCopy, stride);
+                    buffer.put(src, offset, chunk);
+                    offset += chunk;
+                    toCopy -= chunk;
+                }
+                
+                ensureRemaining(toCopy);
+                buffer.put(src, offset, toCopy);
+                offset += toCopy;
+            }
+        }
+        
+        int words = (end - offset) / Long.BYTES;
+        
+        for (int batch; words > 0; words -= batch) {
+            // The cache is not aligned to a byte here, so every long completes a flush and leaves the same amount of
+            // bits in the cache.
+            batch = Math.min(words, batchSize(Long.SIZE));
+            reserveFlushes((long) batch * Long.SIZE);
+            
+            int index = buffer.position();
+            int shift = Long.SIZE - remainingBits;
+            long cache = this.cache;
+            
+            for (int i = 0; i < batch; i++, offset += Long.BYTES, index += Long.BYTES) {
+                long value = (long) BYTE_ARRAY_LONGS.get(src, offset);
+                BYTE_BUFFER_LONGS.set(buffer, index, cache | value << shift);
+                cache = value >>> remainingBits;
+            }
+            
+            this.cache = cache;
+            buffer.position(index);
+        }
+        
+        return putBits(pack(src, offset, end - offset), (end - offset) * Byte.SIZE);
+    }
+    
+    /**
+     * Writes all of the remaining {@code byte}s of the specified {@link ByteBuffer} to this {@link BitBuffer} using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     * <br><br>
+     * Upon returning, the position of {@code src} will be equal to its limit.
+     *
+     * @param src the {@link ByteBuffer} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putBytes(byte[], int, int)
+     */
+    public BitBuffer putBytes(ByteBuffer src) {
+        int length = src.remaining();
+        
+        if (src.hasArray()) {
+            putBytes(src.array(), src.arrayOffset() + src.position(), length);
+            src.position(src.limit());
+            return this;
+        }
+        
+        if (remainingBits % Byte.SIZE == 0) {
+            for (int toFill = Math.min(remainingBits / Byte.SIZE, length) % Long.BYTES; toFill > 0; toFill--) {
+                putByte(src.get());
+            }
+            
+            if (remainingBits == 0) {
+                ensureRemaining(Long.BYTES);
+                buffer.putLong(cache);
+                cache = 0;
+                remainingBits = Long.SIZE;
+            }
+            
+            if (remainingBits == Long.SIZE) {
+                int toCopy = src.remaining() / Long.BYTES * Long.BYTES;
+                ensureRemaining(toCopy);
+                
+                // Whatever does not fit within the window of a memory-mapped BitBuffer is written a long at a time.
+                if (windows != null) {
+                    toCopy = Math.min(toCopy, buffer.remaining() / Long.BYTES * Long.BYTES);
+                }
+                
+                buffer.put(src.duplicate().limit(src.position() + toCopy));
+                src.position(src.position() + toCopy);
+            }
+        }
+        
+        boolean bigEndian = src.order() == ByteOrder.BIG_ENDIAN;
+        
+        while (src.remaining() >= Long.BYTES) {
+            long value = src.getLong();
+            putBits(bigEndian ? Long.reverseBytes(value) : value, Long.SIZE);
+        }
+        
+        while (src.hasRemaining()) {
+            putByte(src.get());
+        }
+        
+        return this;
+    }
+    
+    /**
+     * ZigZag-encodes a signed value, which maps values with a small absolute value to small unsigned values.
+     *
+     * @param value the value to encode.
+     * @return the encoded value, which should be interpreted as unsigned.
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+    
+    /**
+     * Decodes a ZigZag-encoded value, which is the inverse of {@link #zigZag(long)}.
+     *
+     * @param value the value to decode, which is interpreted as unsigned.
+     * @return the decoded, signed value.
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Spreads the {@code 56} least significant bits of {@code value} into the {@code 7} least significant bits of each
+     * {@code byte} of a {@code long}, leaving every continuation bit clear.
+     *
+     * @param value the value to spread.
+     * @return a {@code long} containing the spread bits.
+     */
+    private static long spread(long value) {
+        return (value & 0x7FL)
+                | (value & 0x7FL << 7) << 1
+                | (value & 0x7FL << 14) << 2
+                | (value & 0x7FL << 21) << 3
+                | (value & 0x7FL << 28) << 4
+                | (value & 0x7FL << 35) << 5
+                | (value & 0x7FL << 42) << 6
+                | (value & 0x7FL << 49) << 7;
+    }
+    
+    /**
+     * Gathers the {@code 7} least significant bits of each {@code byte} of {@code word} into a contiguous value, which
+     * is the inverse of {@link #spread(long)}.
+     *
+     * @param word the {@code long} to gather bits from.
+     * @return the gathered value.
+     */
+    private static long gather(long word) {
+        return (word & 0x7FL)
+                | (word & 0x7FL << 8) >>> 1
+                | (word & 0x7FL << 16) >>> 2
+                | (word & 0x7FL << 24) >>> 3
+                | (word & 0x7FL << 32) >>> 4
+                | (word & 0x7FL << 40) >>> 5
+                | (word & 0x7FL << 48) >>> 6
+                | (word & 0x7FL << 56) >>> 7;
+    }
+    
+    /**
+     * Computes the amount of {@code byte}s needed to encode the specified {@link CharSequence} as UTF-8, where each
+     * unpaired surrogate is replaced by {@code '?'}.
+     *
+     * @param s the {@link CharSequence} to measure.
+     * @return the length of the UTF-8 encoding of {@code s} in {@code byte}s.
+     */
+    private static long utf8Length(CharSequence s) {
+        int length = s.length();
+        long numBytes = length;
+        
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            
+            if (c < 0x80) {
+                continue;
+            }
+            
+            if (c < 0x800) {
+                numBytes++;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                // The two chars of a surrogate pair are encoded in four bytes.
+                numBytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                numBytes += 2;
+            }
+        }
+        
+        return numBytes;
+    }
+    
+    /**
+     * Writes {@code length} {@code short}s from the specified array, starting at {@code offset}, to this
+     * {@link BitBuffer} using {@code bitsPerValue} bits for each {@code short}.
+     * <br><br>
+     * Only the {@code bitsPerValue} least significant bits of each {@code short} are written. The {@code short}s are
+     * widened to {@code long}s a chunk at a time and packed by {@link #putLongs(long[], int, int, int)}.
+     *
+     * @param src          the array of {@code short}s to write.
+     * @param offset       the index of the first {@code short} in {@code src} to write.
+     * @param length       the number of {@code short}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code short}, between {@code 0} and
+     *                     {@link Short#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws BufferOverflowException   if this {@link BitBuffer} cannot hold all of the values, in which case
+     * nothing is written.
+     * @see #putLongs(long[], int, int, int)
+     */
+    public BitBuffer putShorts(short[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferOverflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Short.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Short.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, src.length);
+        
+        // The values are packed a chunk at a time by putLongs, so every bit is reserved up front to keep the guarantee
+        // that nothing is written if they do not all fit.
+        if (windows == null) {
+            reserveFlushes((long) length * bitsPerValue);
+        }
+        
+        long[] values = widened();
+        
+        for (int end = offset + length, chunk; offset < end; offset += chunk) {
+            chunk = Math.min(values.length, end - offset);
+            
+            for (int i = 0; i < chunk; i++) {
+                values[i] = src[offset + i];
+            }
+            
+            putLongs(values, 0, chunk, bitsPerValue);
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Writes {@code length} {@code int}s from the specified array, starting at {@code offset}, to this
+     * {@link BitBuffer} using {@code bitsPerValue} bits for each {@code int}.
+     * <br><br>
+     * Only the {@code bitsPerValue} least significant bits of each {@code int} are written. The {@code int}s are
+     * widened to {@code long}s a chunk at a time and packed by {@link #putLongs(long[], int, int, int)}.
+     *
+     * @param src          the array of {@code int}s to write.
+     * @param offset       the index of the first {@code int} in {@code src} to write.
+     * @param length       the number of {@code int}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code int}, between {@code 0} and
+     *                     {@link Integer#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws BufferOverflowException   if this {@link BitBuffer} cannot hold all of the values, in which case
+     * nothing is written.
+     * @see #putLongs(long[], int, int, int)
+     */
+    public BitBuffer putInts(int[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferOverflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Integer.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Integer.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, src.length);
+        
+        // The values are packed a chunk at a time by putLongs, so every bit is reserved up front to keep the guarantee
+        // that nothing is written if they do not all fit.
+        if (windows == null) {
+            reserveFlushes((long) length * bitsPerValue);
+        }
+        
+        long[] values = widened();
+        
+        for (int end = offset + length, chunk; offset < end; offset += chunk) {
+            chunk = Math.min(values.length, end - offset);
+            
+            for (int i = 0; i < chunk; i++) {
+                values[i] = src[offset + i];
+            }
+            
+            putLongs(values, 0, chunk, bitsPerValue);
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Writes {@code length} {@code long}s from the specified array, starting at {@code offset}, to this
+     * {@link BitBuffer} using {@code bitsPerValue} bits for each {@code long}.
+     * <br><br>
+     * Unlike calling {@link #putValue(long, long)} for each element, the width is validated once and the
+     * <i>cache</i> is kept in a local variable for the whole array, so that packing costs only a few shifts per value.
+     * The capacity of this {@link BitBuffer} is also checked once, up front.
+     *
+     * @param src          the array of {@code long}s to write.
+     * @param offset       the index of the first {@code long} in {@code src} to write.
+     * @param length       the number of {@code long}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code long}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws BufferOverflowException   if this {@link BitBuffer} cannot hold all of the values, in which case
+     * nothing is written.
+     */
+    public BitBuffer putLongs(long[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferOverflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Long.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Long.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, src.length);
+        
+        int batchSize = batchSize(bitsPerValue);
+        
+        if (length > batchSize) {
+            for (int end = offset + length; offset < end; offset += batchSize) {
+                putLongs(src, offset, Math.min(batchSize, end - offset), bitsPerValue);
+            }
+            
+            return this;
+        }
+        
+        reserveFlushes((long) length * bitsPerValue);
+        
+        long mask = MASKS[bitsPerValue];
+        long cache = this.cache;
+        int remainingBits = this.remainingBits;
+        int index = buffer.position();
+        
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long value = src[i] & mask;
+            
+            if (remainingBits < bitsPerValue) {
+                int upperHalfBits = bitsPerValue - remainingBits;
+                long word = cache | (value & MASKS[remainingBits]) << Long.SIZE - remainingBits;
+                BYTE_BUFFER_LONGS.set(buffer, index, word);
+                index += Long.BYTES;
+                cache = value >>> remainingBits;
+                remainingBits = Long.SIZE - upperHalfBits;
+            } else {
+                cache |= value << (Long.SIZE - remainingBits);
+                remainingBits -= bitsPerValue;
+            }
+        }
+        
+        this.cache = cache;
+        this.remainingBits = remainingBits;
+        buffer.position(index);
+        return this;
+    }
+    
+    /**
+     * Gets the maximum amount of values that a bulk operation may write or read at once, which is only limited for
+     * a memory-mapped {@link BitBuffer}, as it can only guarantee access to {@code stride} {@code byte}s at a time.
+     * Larger bulk operations are split into batches of this size.
+     *
+     * @param bitsPerValue the amount of bits used for each value.
+     * @return the maximum amount of values in each batch.
+     */
+    private int batchSize(int bitsPerValue) {
+        if (windows == null || bitsPerValue == 0) {
+            return Integer.MAX_VALUE;
+        }
+        
+        // Each batch is flushed or refilled with at most one more long than the amount of bits it contains.
+        return (stride - Long.BYTES) * Byte.SIZE / bitsPerValue;
+    }
+    
+    /**
+     * Gets the scratch array that {@code short}s and {@code int}s are widened into, or narrowed from, by the bulk
+     * methods, allocating it on first use.
+     *
+     * @return an array of {@link #WIDENED_SIZE} {@code long}s.
+     */
+    private long[] widened() {
+        if (widened == null) {
+            widened = new long[WIDENED_SIZE];
+        }
+        
+        return widened;
+    }
+    
+    /**
+     * Ensures that the backing {@link ByteBuffer} can hold every flush of the <i>cache</i> caused by writing
+     * {@code numBits} more bits, as well as the bits that remain in the <i>cache</i> afterwards, growing it if this
+     * {@link BitBuffer} is elastic.
+     *
+     * @param numBits the amount of bits about to be written.
+     * @throws BufferOverflowException if the backing {@link ByteBuffer} cannot hold every bit.
+     */
+    private void reserveFlushes(long numBits) throws BufferOverflowException {
+        // Only whole words are flushed, but the bits that remain in the cache must fit before the limit as well.
+        long bytes = (Long.SIZE - remainingBits + numBits + Byte.SIZE - 1) / Byte.SIZE;
+        
+        if (bytes > MAX_CAPACITY) {
+            throw new BufferOverflowException();
+        }
+        
+        ensureRemaining((int) bytes);
+        
+        if (buffer.remaining() < bytes) {
+            throw new BufferOverflowException();
+        }
+    }
+    
+    /**
+     * Packs {@code length} {@code byte}s of the specified array, starting at {@code offset}, into a {@code long} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param src    the array of {@code byte}s to pack.
+     * @param offset the index of the first {@code byte} in {@code src} to pack.
+     * @param length the number of {@code byte}s to pack, which must be less than {@link Long#BYTES}.
+     * @return a {@code long} containing the packed {@code byte}s.
+     */
+    private static long pack(byte[] src, int offset, int length) {
+        long value = 0;
+        
+        for (int i = 0; i < length; i++) {
+            value |= (src[offset + i] & 0xFFL) << (i * Byte.SIZE);
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Character#SIZE} bits.
+     *
+     * @param c the {@code char} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putChar(char, ByteOrder)
+     */
+    public BitBuffer putChar(char c) {
+        return putChar(c, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Character#SIZE} bits.
+     *
+     * @param c the {@code char} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putChar(char c, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Character.reverseBytes(c) : c, Character.SIZE);
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Double#SIZE} bits.
+     *
+     * @param d the {@code double} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putDouble(double, ByteOrder)
+     */
+    public BitBuffer putDouble(double d) {
+        return putDouble(d, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Double#SIZE} bits.
+     *
+     * @param d the {@code double} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putLong(long, ByteOrder)
+     */
+    public BitBuffer putDouble(double d, ByteOrder order) {
+        return putLong(Double.doubleToRawLongBits(d), order);
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Float#SIZE} bits.
+     *
+     * @param f the {@code float} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putFloat(float, ByteOrder)
+     */
+    public BitBuffer putFloat(float f) {
+        return putFloat(f, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Float#SIZE} bits.
+     *
+     * @param f the {@code float} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putInt(int, ByteOrder)
+     */
+    public BitBuffer putFloat(float f, ByteOrder order) {
+        return putInt(Float.floatToRawIntBits(f), order);
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Integer#SIZE} bits.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putInt(int, ByteOrder)
+     */
+    public BitBuffer putInt(int i) {
+        return putInt(i, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Integer#SIZE} bits.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putInt(int i, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Integer.reverseBytes(i) : i, Integer.SIZE);
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Long#SIZE} bits.
+     *
+     * @param l the {@code int} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putLong(long, ByteOrder)
+     */
+    public BitBuffer putLong(long l) {
+        return putLong(l, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Long#SIZE} bits.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putLong(long l, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Long.reverseBytes(l) : l, Long.SIZE);
+    }
+    
+    /**
+     * Writes a value with {@link ByteOrder#BIG_ENDIAN} order to this {@link BitBuffer} using {@link Short#SIZE} bits.
+     *
+     * @param s the {@code short} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code short}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putShort(int s) {
+        return putShort(s, ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link BitBuffer} using {@link Short#SIZE} bits.
+     *
+     * @param s the {@code short} to write as an {@code int} for ease-of-use, but internally down-casted to a {@code short}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putShort(int s, ByteOrder order) {
+        var value = (short) s;
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Short.reverseBytes(value) : value, Short.SIZE);
+    }
+    
+    /**
+     * Given the specified {@code maxValue}, this method writes the specified value to this {@link BitBuffer}
      * using the optimal amount of bits, thus providing free compression.
      *
-     * @param value    the value to write to this {@link BitBuffer}.
-     * @param maxValue the maximum possible value that {@code value} can be; a lower {@code maxValue} results in a
-     *                 better compression ratio.
+     * @param value    the value to write to this {@link BitBuffer}.
+     * @param maxValue the maximum possible value that {@code value} can be; a lower {@code maxValue} results in a
+     *                 better compression ratio.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code maxValue} is negative or if the absolute value of {@code value} is
+     * greater than {@code maxValue}.
+     */
+    public BitBuffer putValue(long value, long maxValue) throws IllegalArgumentException {
+        if (maxValue < 0) {
+            throw new IllegalArgumentException("maxValue must be positive!");
+        }
+        
+        if (Math.abs(value) > maxValue) {
+            throw new IllegalArgumentException("value must be less than or equal to maxValue!");
+        }
+        
+        int numBits = Long.SIZE - Long.numberOfLeadingZeros(maxValue) + 1;
+        
+        return putBits(value, numBits);
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} as an unsigned, variable-length integer (LEB128), which uses
+     * {@link Byte#SIZE} bits for every {@code 7} significant bits of {@code i}.
+     * <br><br>
+     * Negative values always use {@code 5} {@code byte}s; see {@link #putSignedVarInt(int)} for writing them compactly.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putVarLong(long)
+     */
+    public BitBuffer putVarInt(int i) {
+        return putVarLong(Integer.toUnsignedLong(i));
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} as an unsigned, variable-length integer (LEB128), which uses
+     * {@link Byte#SIZE} bits for every {@code 7} significant bits of {@code l}.
+     * <br><br>
+     * Values that fit in {@code 56} bits are encoded entirely within a single {@code long} and written with one call to
+     * {@link #putBits(long, int)}. Negative values always use {@code 10} {@code byte}s; see
+     * {@link #putSignedVarLong(long)} for writing them compactly.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putVarLong(long l) {
+        int numBytes = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(l) + 6) / 7);
+        
+        if (numBytes <= Long.BYTES) {
+            return putBits(spread(l) | (CONTINUATION_BITS & MASKS[(numBytes - 1) * Byte.SIZE]), numBytes * Byte.SIZE);
+        }
+        
+        putBits(spread(l) | CONTINUATION_BITS, Long.SIZE);
+        
+        // At most 8 significant bits remain, which need either one or two more bytes.
+        long upper = l >>> (Long.BYTES * 7);
+        if (upper < 0x80) {
+            return putBits(upper, Byte.SIZE);
+        }
+        
+        return putBits((upper & 0x7F) | 0x80 | (upper >>> 7) << Byte.SIZE, Short.SIZE);
+    }
+    
+    /**
+     * Writes a signed value to this {@link BitBuffer} as a ZigZag-encoded, variable-length integer, so that values
+     * with a small absolute value use few {@code byte}s regardless of their sign.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putVarInt(int)
+     */
+    public BitBuffer putSignedVarInt(int i) {
+        return putVarInt((i << 1) ^ (i >> (Integer.SIZE - 1)));
+    }
+    
+    /**
+     * Writes a signed value to this {@link BitBuffer} as a ZigZag-encoded, variable-length integer, so that values
+     * with a small absolute value use few {@code byte}s regardless of their sign.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putVarLong(long)
+     */
+    public BitBuffer putSignedVarLong(long l) {
+        return putVarLong(zigZag(l));
+    }
+    
+    /**
+     * Writes the specified {@link CharSequence} to this {@link BitBuffer} as UTF-8, prefixed by its length in
+     * {@code byte}s as an unsigned, variable-length integer.
+     * <br><br>
+     * Runs of ASCII characters are packed {@link Long#BYTES} at a time into a single {@code long}, which is written
+     * with one call to {@link #putBits(long, int)}; every other character is written with one call as well. As with
+     * {@link String#getBytes(java.nio.charset.Charset)}, each unpaired surrogate is written as {@code '?'}.
+     *
+     * @param s the {@link CharSequence} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #getString()
+     */
+    public BitBuffer putString(CharSequence s) {
+        int length = s.length();
+        putVarLong(utf8Length(s));
+        
+        for (int i = 0; i < length; ) {
+            long word = 0;
+            int ascii = 0;
+            
+            for (int limit = Math.min(Long.BYTES, length - i); ascii < limit; ascii++) {
+                char c = s.charAt(i + ascii);
+                
+                if (c >= 0x80) {
+                    break;
+                }
+                
+                word |= (long) c << (ascii * Byte.SIZE);
+            }
+            
+            if (ascii > 0) {
+                putBits(word, ascii * Byte.SIZE);
+                i += ascii;
+                continue;
+            }
+            
+            char c = s.charAt(i++);
+            
+            if (c < 0x800) {
+                putBits(0xC0 | c >>> 6 | (0x80 | c & 0x3F) << 8, Short.SIZE);
+            } else if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(s.charAt(i))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(i++));
+                putBits(0xF0 | codePoint >>> 18 | (0x80 | codePoint >>> 12 & 0x3F) << 8
+                        | (0x80 | codePoint >>> 6 & 0x3F) << 16 | (0x80L | codePoint & 0x3F) << 24, Integer.SIZE);
+            } else if (Character.isSurrogate(c)) {
+                putBits('?', Byte.SIZE);
+            } else {
+                putBits(0xE0 | c >>> 12 | (0x80 | c >>> 6 & 0x3F) << 8 | (0x80 | c & 0x3F) << 16, 3 * Byte.SIZE);
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Writes the specified {@link CharSequence} to this {@link BitBuffer} using {@link Alphabet#bitsPerChar()} bits for
+     * each character, prefixed by its length as an unsigned, variable-length integer.
+     * <br><br>
+     * As many characters as fit within {@link Long#SIZE} bits are packed into a single {@code long}, which is written
+     * with one call to {@link #putBits(long, int)}.
+     *
+     * @param s        the {@link CharSequence} to write.
+     * @param alphabet the {@link Alphabet} that contains every character of {@code s}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code s} contains a character that is not part of {@code alphabet}, in
+     * which case the characters before it have already been written.
+     * @see #getString(Alphabet)
+     */
+    public BitBuffer putString(CharSequence s, Alphabet alphabet) throws IllegalArgumentException {
+        int length = s.length();
+        int bitsPerChar = alphabet.bitsPerChar();
+        int charsPerWord = Long.SIZE / bitsPerChar;
+        putVarInt(length);
+        
+        for (int i = 0; i < length; i += charsPerWord) {
+            int numChars = Math.min(charsPerWord, length - i);
+            putBits(alphabet.encode(s, i, numChars), numChars * bitsPerChar);
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using Elias gamma coding, which uses {@code 2 * n + 1} bits, where
+     * {@code n} is the position of the most significant bit of {@code l}.
+     * <br><br>
+     * This is suited to values that are usually tiny, but have no upper bound.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code l} is {@code 0}.
+     */
+    public BitBuffer putEliasGamma(long l) throws IllegalArgumentException {
+        if (l == 0) {
+            throw new IllegalArgumentException("l must not be 0!");
+        }
+        
+        return putGamma(l - 1);
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using Elias delta coding, which gamma-codes the length of {@code l}
+     * rather than writing it in unary; it is more compact than {@link #putEliasGamma(long)} once values exceed
+     * {@code 31}.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code l} is {@code 0}.
+     */
+    public BitBuffer putEliasDelta(long l) throws IllegalArgumentException {
+        if (l == 0) {
+            throw new IllegalArgumentException("l must not be 0!");
+        }
+        
+        return putDelta(l - 1);
+    }
+    
+    /**
+     * Writes a signed value to this {@link BitBuffer} using Elias delta coding, after ZigZag-encoding it so that values
+     * with a small absolute value use few bits regardless of their sign.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putEliasDelta(long)
+     */
+    public BitBuffer putSignedEliasDelta(long l) {
+        return putDelta(zigZag(l));
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using zeroth-order exponential-Golomb coding, which is equivalent to
+     * {@link #putEliasGamma(long)} of {@code l + 1}, and therefore also accepts {@code 0}.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer putExpGolomb(long l) {
+        return putGamma(l);
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using exponential-Golomb coding of order {@code k}, which writes the
+     * {@code k} least significant bits of {@code l} verbatim and the rest with {@link #putExpGolomb(long)}.
+     * <br><br>
+     * A higher order is more compact when values are rarely smaller than {@code 2^k}.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @param k the order of the code, between {@code 0} and {@code 63}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code k} is out of range.
+     */
+    public BitBuffer putExpGolomb(long l, int k) throws IllegalArgumentException {
+        if (k < 0 || k >= Long.SIZE) {
+            throw new IllegalArgumentException("k must be between 0 and 63!");
+        }
+        
+        return putGamma(l >>> k).putBits(l, k);
+    }
+    
+    /**
+     * Writes a signed value to this {@link BitBuffer} using zeroth-order exponential-Golomb coding, after
+     * ZigZag-encoding it so that values with a small absolute value use few bits regardless of their sign.
+     * <br><br>
+     * Because exponential-Golomb coding of {@code n} is Elias gamma coding of {@code n + 1}, this also serves as a
+     * signed Elias gamma code.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #putExpGolomb(long)
+     */
+    public BitBuffer putSignedExpGolomb(long l) {
+        return putGamma(zigZag(l));
+    }
+    
+    /**
+     * Writes a value to this {@link BitBuffer} using Golomb-Rice coding with parameter {@code k}, which writes
+     * {@code l >>> k} in unary followed by the {@code k} least significant bits of {@code l}.
+     * <br><br>
+     * This is optimal for geometrically-distributed values, such as the gaps between sorted IDs, when {@code 2^k} is
+     * close to their mean; values much larger than {@code 2^k} produce very long codes.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @param k the parameter of the code, between {@code 0} and {@code 63}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code k} is out of range.
+     * @see #putRiceBlocks(long[], int, int, int)
+     */
+    public BitBuffer putRice(long l, int k) throws IllegalArgumentException {
+        if (k < 0 || k >= Long.SIZE) {
+            throw new IllegalArgumentException("k must be between 0 and 63!");
+        }
+        
+        long quotient = l >>> k;
+        
+        // The code is quotient zeros, a one, and the remainder, which usually fits within a single long.
+        if (Long.compareUnsigned(quotient, Long.SIZE - k) < 0) {
+            int numBits = (int) quotient + 1;
+            return putBits(1L << (numBits - 1) | (l & MASKS[k]) << numBits, numBits + k);
+        }
+        
+        for (; Long.compareUnsigned(quotient, Long.SIZE) >= 0; quotient -= Long.SIZE) {
+            putBits(0, Long.SIZE);
+        }
+        
+        return putBits(1L << quotient, (int) quotient + 1).putBits(l, k);
+    }
+    
+    /**
+     * Writes the specified values to this {@link BitBuffer} using Golomb-Rice coding, in blocks of {@code blockSize}
+     * values.
+     * <br><br>
+     * For each block, the parameter that produces the smallest output is chosen and written as a {@code 6}-bit header
+     * before the values of the block.
+     *
+     * @param src       the array of values to write, each of which is interpreted as unsigned.
+     * @param offset    the index of the first value in {@code src} to write.
+     * @param length    the number of values to write.
+     * @param blockSize the number of values in each block.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code blockSize} is not positive.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @see #putRice(long, int)
+     */
+    public BitBuffer putRiceBlocks(long[] src, int offset, int length, int blockSize)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, src.length);
+        
+        for (int end = offset + length; offset < end; offset += blockSize) {
+            int blockEnd = Math.min(end, offset + blockSize);
+            int k = optimalRiceParameter(src, offset, blockEnd);
+            putBits(k, RICE_PARAMETER_BITS);
+            
+            for (int i = offset; i < blockEnd; i++) {
+                putRice(src[i], k);
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Finds the Golomb-Rice parameter that encodes the specified values in the least amount of bits.
+     * <br><br>
+     * The search starts at the base-2 logarithm of the mean of the values and moves towards whichever neighbor is
+     * cheaper, as the size of the encoded values is convex in the parameter.
+     *
+     * @param src   the array of values, each of which is interpreted as unsigned.
+     * @param start the index of the first value, inclusive.
+     * @param end   the index of the last value, exclusive.
+     * @return the optimal parameter, between {@code 0} and {@code 63}.
+     */
+    private static int optimalRiceParameter(long[] src, int start, int end) {
+        double sum = 0;
+        
+        for (int i = start; i < end; i++) {
+            long value = src[i];
+            sum += value >= 0 ? value : value + 0x1p64;
+        }
+        
+        long mean = (long) Math.min(sum / (end - start), Long.MAX_VALUE);
+        int k = Math.max(0, Long.SIZE - 1 - Long.numberOfLeadingZeros(mean));
+        double cost = riceCost(src, start, end, k);
+        
+        for (int step : new int[] { -1, 1 }) {
+            while (k + step >= 0 && k + step < Long.SIZE) {
+                double neighbor = riceCost(src, start, end, k + step);
+                
+                if (neighbor >= cost) {
+                    break;
+                }
+                
+                cost = neighbor;
+                k += step;
+            }
+        }
+        
+        return k;
+    }
+    
+    /**
+     * Computes the amount of bits needed to encode the specified values using Golomb-Rice coding with parameter
+     * {@code k}.
+     *
+     * @param src   the array of values, each of which is interpreted as unsigned.
+     * @param start the index of the first value, inclusive.
+     * @param end   the index of the last value, exclusive.
+     * @param k     the parameter of the code.
+     * @return the amount of bits, as a {@code double} so that it cannot overflow.
+     */
+    private static double riceCost(long[] src, int start, int end, int k) {
+        double cost = (double) (end - start) * (k + 1);
+        
+        for (int i = start; i < end; i++) {
+            cost += src[i] >>> k;
+        }
+        
+        return cost;
+    }
+    
+    /**
+     * Writes the Elias gamma code of {@code l + 1}, where the addition is carried out on unsigned, 65-bit integers so
+     * that every {@code long} can be written.
+     *
+     * @param l one less than the value to write, which is interpreted as unsigned.
      * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
-     * @throws IllegalArgumentException if {@code maxValue} is negative or if the absolute value of {@code value} is
-     * greater than {@code maxValue}.
      */
-    public BitBuffer putValue(long value, long maxValue) throws IllegalArgumentException {
-        if (maxValue < 0) {
-            throw new IllegalArgumentException("maxValue must be positive!");
+    private BitBuffer putGamma(long l) {
+        long value = l + 1;
+        
+        if (value == 0) {
+            return putBits(0, Long.SIZE).putBits(1, 1).putBits(0, Long.SIZE);
         }
         
-        if (Math.abs(value) > maxValue) {
-            throw new IllegalArgumentException("value must be less than or equal to maxValue!");
+        int numBits = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        
+        // The code is numBits zeros, the implicit most significant bit of value, and the rest of value. This fits
+        // within a single long for all but the largest values.
+        if (numBits < Integer.SIZE) {
+            return putBits(1L << numBits | (value & MASKS[numBits]) << (numBits + 1), 2 * numBits + 1);
         }
         
-        int numBits = Long.SIZE - Long.numberOfLeadingZeros(maxValue) + 1;
+        return putBits(0, numBits).putBits(1, 1).putBits(value, numBits);
+    }
+    
+    /**
+     * Writes the Elias delta code of {@code l + 1}, where the addition is carried out on unsigned, 65-bit integers so
+     * that every {@code long} can be written.
+     *
+     * @param l one less than the value to write, which is interpreted as unsigned.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    private BitBuffer putDelta(long l) {
+        long value = l + 1;
         
-        return putBits(value, numBits);
+        if (value == 0) {
+            return putGamma(Long.SIZE).putBits(0, Long.SIZE);
+        }
+        
+        int numBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        return putGamma(numBits - 1).putBits(value, numBits - 1);
     }
     
     /**
      * After a series of relative {@code put} operations, flip the <i>cache</i> to prepare for a series of relative
      * {@code get} operations.
+     * <br><br>
+     * If this {@link BitBuffer} has already been flipped, this method does nothing.
+     * <br><br>
+     * Only the {@code byte}s that contain the bits in the <i>cache</i> are written, so a {@link BitBuffer} may be
+     * filled up to its exact capacity. Bits that were written beyond its capacity are detected no later than here.
      *
      * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws BufferOverflowException if the bits in the <i>cache</i> do not fit within the capacity of this
+     * {@link BitBuffer}.
      */
-    public BitBuffer flip() {
-        // Put the cache into the buffer if applicable.
-        if (remainingBits != Long.SIZE) {
-            buffer.putLong(cache);
+    public BitBuffer flip() throws BufferOverflowException {
+        return flip(false);
+    }
+    
+    /**
+     * After a series of relative {@code put} operations, flip the <i>cache</i> to prepare for a series of relative
+     * {@code get} operations, optionally limiting this {@link BitBuffer} to the {@code byte}s that were written.
+     * <br><br>
+     * If {@code exact} is {@code true}, the limit of the backing {@link ByteBuffer} is set to
+     * {@link #bytesWritten()}, so that {@link #toByteBuffer()} and {@link #writeTo(WritableByteChannel)} expose no
+     * padding beyond the final, partially-written {@code byte}, and reading beyond it throws a
+     * {@link BufferUnderflowException}. Otherwise, the limit is set to the capacity.
+     * <br><br>
+     * If this {@link BitBuffer} has already been flipped, this method does nothing.
+     *
+     * @param exact whether to limit this {@link BitBuffer} to the {@code byte}s that were written.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws BufferOverflowException if the bits in the <i>cache</i> do not fit within the capacity of this
+     * {@link BitBuffer}.
+     * @see #flip()
+     */
+    public BitBuffer flip(boolean exact) throws BufferOverflowException {
+        if (reading) {
+            return this;
         }
         
+        // Put the cache into the buffer if applicable.
+        writeCache();
+        writtenBits = bitsWritten();
+        
         // Reset the buffer's position and limit.
-        buffer.clear();
+        limit(exact ? bytesWritten() : byteCapacity());
         
         // Set remainingBits to 0 so that, on the next call to getBits, the cache will be reset.
         remainingBits = 0;
+        reading = true;
         return this;
     }
+    
+    /**
+     * Clears this {@link BitBuffer} to prepare for a series of relative {@code put} operations, discarding the
+     * <i>cache</i> and resetting the position of the backing {@link ByteBuffer}.
+     * <br><br>
+     * This allows a {@link BitBuffer} to be reused without reallocating its backing {@link ByteBuffer}. The contents
+     * of the backing {@link ByteBuffer} are not erased, but will be overwritten by subsequent writes.
+     *
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     */
+    public BitBuffer clear() {
+        limit(byteCapacity());
+        cache = 0;
+        remainingBits = Long.SIZE;
+        reading = false;
+        writtenBytes = 0;
+        writtenBits = 0;
+        return this;
+    }
+    
+    /**
+     * Gets the number of bits that have been written to this {@link BitBuffer} since it was last cleared, which is the
+     * furthest position that any {@code put} operation has reached, even if the position has since been moved
+     * backwards.
+     * <br><br>
+     * For a {@link BitBuffer} that was created by {@code wrap} or {@code map}, this includes all of the bits that it
+     * was created with.
+     *
+     * @return the number of bits that have been written.
+     */
+    public long bitsWritten() {
+        return reading ? writtenBits : Math.max(writtenBits, bitPosition());
+    }
+    
+    /**
+     * Gets the number of {@code byte}s that contain the bits that have been written to this {@link BitBuffer}, which
+     * includes the final {@code byte} if it is only partially written.
+     *
+     * @return the number of {@code byte}s that have been written.
+     * @see #bitsWritten()
+     */
+    public long bytesWritten() {
+        return (bitsWritten() + Byte.SIZE - 1) / Byte.SIZE;
+    }
+    
+    /**
+     * Gets the position of this {@link BitBuffer}, which is the index of the next bit to be written or read by a
+     * relative {@code put} or {@code get} operation.
+     *
+     * @return the position of this {@link BitBuffer} in bits.
+     */
+    public long bitPosition() {
+        return reading ? cacheBitIndex() : cacheBitIndex() + Long.SIZE - remainingBits;
+    }
+    
+    /**
+     * Sets the position of this {@link BitBuffer}, which is the index of the next bit to be written or read by a
+     * relative {@code put} or {@code get} operation.
+     * <br><br>
+     * When writing, the bits that were already written are kept, and subsequent relative {@code put} operations
+     * overwrite the bits at the new position.
+     *
+     * @param bitPosition the new position in bits, between {@code 0} and the limit of the backing {@link ByteBuffer}
+     *                    in bits.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code bitPosition} is negative or exceeds the limit of the backing
+     * {@link ByteBuffer}.
+     */
+    public BitBuffer bitPosition(long bitPosition) throws IllegalArgumentException {
+        if (bitPosition < 0 || bitPosition > byteLimit() * Byte.SIZE) {
+            throw new IllegalArgumentException("bitPosition is out of bounds!");
+        }
+        
+        long index = bitPosition >>> 3;
+        int offset = (int) bitPosition & 7;
+        
+        if (reading) {
+            // Only the byte containing the new position is loaded, so that reading never goes beyond the limit.
+            cache = offset == 0 ? 0 : (loadLong(index) & 0xFF) >>> offset;
+            remainingBits = offset == 0 ? 0 : Byte.SIZE - offset;
+            position(offset == 0 ? index : index + 1);
+        } else {
+            // The bits that precede the new position within its byte are kept, as they are flushed along with it.
+            writtenBits = bitsWritten();
+            writeCache();
+            cache = offset == 0 ? 0 : loadLong(index) & MASKS[offset];
+            remainingBits = Long.SIZE - offset;
+            position(index);
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Advances the position of this {@link BitBuffer} by {@code numBits} bits.
+     *
+     * @param numBits the amount of bits to skip, which may be negative to move backwards.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if the new position is negative or exceeds the limit of the backing
+     * {@link ByteBuffer}.
+     * @see #bitPosition(long)
+     */
+    public BitBuffer skipBits(long numBits) throws IllegalArgumentException {
+        if (reading && numBits >= 0 && numBits < remainingBits) {
+            cache >>= numBits;
+            remainingBits -= (int) numBits;
+            return this;
+        }
+        
+        return bitPosition(bitPosition() + numBits);
+    }
+    
+    /**
+     * Reads the next {@code numBits} bits and composes a {@code long}, without changing the position of this
+     * {@link BitBuffer}.
+     * <br><br>
+     * If fewer than {@code numBits} bits are left in the <i>cache</i>, it is refilled starting at the {@code byte}
+     * that contains the current position, so that it holds at least {@code 57} bits unless the limit is reached first.
+     * A subsequent {@link #getBits(int)} of at most {@code numBits} bits is therefore served entirely by the
+     * <i>cache</i>, which makes this suitable for table-driven decoding of variable-length codes. Bits beyond the
+     * limit are read as zeros.
+     *
+     * @param numBits the amount of bits to read, between {@code 0} and {@code 57}.
+     * @return a {@code long} value at the {@link BitBuffer}'s current position.
+     */
+    public long peekBits(int numBits) {
+        if (remainingBits < numBits) {
+            realignCache();
+        }
+        
+        return cache & MASKS[numBits];
+    }
+    
+    /**
+     * Refills the <i>cache</i> with the {@link Long#BYTES} {@code byte}s starting at the {@code byte} that contains
+     * the current position, discarding the bits that precede the position; fewer {@code byte}s are loaded if the
+     * limit is reached first.
+     */
+    private void realignCache() {
+        long bitIndex = cacheBitIndex();
+        long index = bitIndex >>> 3;
+        int offset = (int) bitIndex & 7;
+        position(index);
+        
+        if (buffer.remaining() >= Long.BYTES) {
+            cache = buffer.getLong() >>> offset;
+            remainingBits = Long.SIZE - offset;
+        } else {
+            cache = loadLong(index) >>> offset;
+            remainingBits = buffer.remaining() * Byte.SIZE - offset;
+            buffer.position(buffer.limit());
+        }
+    }
 
     /**
      * Reads the next {@code numBits} bits and composes a {@code long} that can be down-casted to other primitive types.
+     * <br><br>
+     * The value is not sign-extended; see {@link #getValue(long)} for reading signed values.
      *
-     * @param numBits the amount of bits to read.
+     * @param numBits the amount of bits to read, between {@code 0} and {@link Long#SIZE}.
      * @return a {@code long} value at the {@link BitBuffer}'s current position.
      */
-    private long getBits(int numBits) {
+    public long getBits(int numBits) {
         var value = 0L;
         
         if (remainingBits < numBits) {
+            if (buffer.remaining() < Long.BYTES) {
+                return getBitsNearLimit(numBits);
+            }
+            
             value = cache & MASKS[remainingBits];
             cache = buffer.getLong();
             int difference = numBits - remainingBits;
@@ -355,6 +2084,79 @@ public final class BitBuffer {
         
         return value;
     }
+    
+    /**
+     * Reads the specified amount of bits when fewer than {@link Long#BYTES} {@code byte}s remain in the backing
+     * {@link ByteBuffer}, so that the <i>cache</i> is refilled with only the {@code byte}s before its limit.
+     *
+     * @param numBits the amount of bits to read.
+     * @return a {@code long} value at the current position.
+     * @throws BufferUnderflowException if fewer than {@code numBits} bits remain in this {@link BitBuffer}.
+     */
+    private long getBitsNearLimit(int numBits) throws BufferUnderflowException {
+        if (windows != null) {
+            moveWindow();
+            
+            if (buffer.remaining() >= Long.BYTES) {
+                return getBits(numBits);
+            }
+        }
+        
+        int refillBits = buffer.remaining() * Byte.SIZE;
+        int difference = numBits - remainingBits;
+        
+        if (difference > refillBits) {
+            throw new BufferUnderflowException();
+        }
+        
+        long refill = loadLong(windowBase(window) + buffer.position());
+        long value = cache & MASKS[remainingBits] | (refill & MASKS[difference]) << remainingBits;
+        buffer.position(buffer.limit());
+        cache = refill >>> difference;
+        remainingBits = refillBits - difference;
+        return value;
+    }
+    
+    /**
+     * Reads {@code numBits} bits, starting at the specified bit index, and composes a {@code long}, without changing
+     * the position of this {@link BitBuffer}.
+     * <br><br>
+     * The bits are read directly from the backing {@link ByteBuffer} with unaligned {@code long} loads, so random
+     * access costs the same regardless of the position. Bits that have been written, but are still held by the
+     * <i>cache</i>, are read as well.
+     *
+     * @param bitIndex the index of the first bit to read.
+     * @param numBits  the amount of bits to read, between {@code 0} and {@link Long#SIZE}.
+     * @return a {@code long} value composed of the bits at {@code bitIndex}.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link ByteBuffer}.
+     */
+    public long getBits(long bitIndex, int numBits) throws IndexOutOfBoundsException {
+        checkBitIndex(bitIndex, numBits);
+        
+        long index = bitIndex >>> 3;
+        int shift = (int) bitIndex & 7;
+        long value = loadLong(index) >>> shift;
+        
+        if (shift + numBits > Long.SIZE) {
+            value |= loadLong(index + Long.BYTES) << Long.SIZE - shift;
+        }
+        
+        // When writing, the most recent bits are held by the cache rather than the backing buffer.
+        if (!reading) {
+            long cacheBitIndex = cacheBitIndex();
+            long from = Math.max(bitIndex, cacheBitIndex);
+            long to = Math.min(bitIndex + numBits, cacheBitIndex + Long.SIZE - remainingBits);
+            
+            if (from < to) {
+                int overlap = (int) (to - from);
+                int offset = (int) (from - bitIndex);
+                value &= ~(MASKS[overlap] << offset);
+                value |= (cache >>> (from - cacheBitIndex) & MASKS[overlap]) << offset;
+            }
+        }
+        
+        return value & MASKS[numBits];
+    }
 
     /**
      * Reads {@link Byte#BYTES} or {@link Byte#SIZE} bits (depending on the value of {@code compressed}) from this
@@ -379,17 +2181,348 @@ public final class BitBuffer {
     /**
      * Reads the specified amount of {@code byte}s from this {@link BitBuffer} into an array of {@code byte}s.
      *
-     * @param n the number of {@code byte}s to read.
-     * @return an array of {@code byte}s of length {@code n} that contains {@code byte}s read from this {@link BitBuffer}.
+     * @param n the number of {@code byte}s to read.
+     * @return an array of {@code byte}s of length {@code n} that contains {@code byte}s read from this {@link BitBuffer}.
+     */
+    public byte[] getBytes(int n) {
+        var array = new byte[n];
+        getBytes(array, 0, n);
+        return array;
+    }
+    
+    /**
+     * Reads {@code dst.length} {@code byte}s from this {@link BitBuffer} into the specified array.
+     *
+     * @param dst the array to read {@code byte}s into.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #getBytes(byte[], int, int)
+     */
+    public BitBuffer getBytes(byte[] dst) {
+        return getBytes(dst, 0, dst.length);
+    }
+    
+    /**
+     * Reads {@code length} {@code byte}s from this {@link BitBuffer} into the specified array, starting at
+     * {@code offset}.
+     * <br><br>
+     * If this {@link BitBuffer} is currently aligned to a {@code byte}, the {@code byte}s are copied directly from the
+     * backing {@link ByteBuffer}; otherwise, they are read {@link Long#BYTES} at a time.
+     *
+     * @param dst    the array to read {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to read.
+     * @param length the number of {@code byte}s to read.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     */
+    public BitBuffer getBytes(byte[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        
+        int end = offset + length;
+        
+        if (remainingBits % Byte.SIZE == 0) {
+            // Drain the whole bytes that are left in the cache, after which every whole long can be copied directly
+            // from the backing ByteBuffer.
+            while (remainingBits != 0 && offset < end) {
+                dst[offset++] = getByte();
+            }
+            
+            if (remainingBits == 0) {
+                int toCopy = (end - offset) / Long.BYTES * Long.BYTES;
+                
+                // A memory-mapped BitBuffer may need to copy from several windows.
+                while (windows != null && toCopy > buffer.remaining() && window < windows.length - 1) {
+                    moveWindow();
+                    int chunk = Math.min(toCopy, stride);
+                    buffer.get(dst, offset, chunk);
+                    offset += chunk;
+                    toCopy -= chunk;
+                }
+                
+                buffer.get(dst, offset, toCopy);
+                offset += toCopy;
+            }
+        }
+        
+        int words = (end - offset) / Long.BYTES;
+        
+        for (int batch; words > 0; words -= batch) {
+            // The cache is not aligned to a byte here, so every long is completed by a refill that leaves the same
+            // amount of bits in the cache.
+            batch = Math.min(words, batchSize(Long.SIZE));
+            
+            if (!requireRefills((long) batch * Long.SIZE)) {
+                break;
+            }
+            
+            int index = buffer.position();
+            int shift = Long.SIZE - remainingBits;
+            long cache = this.cache & MASKS[remainingBits];
+            
+            for (int i = 0; i < batch; i++, offset += Long.BYTES, index += Long.BYTES) {
+                long value = (long) BYTE_BUFFER_LONGS.get(buffer, index);
+                BYTE_ARRAY_LONGS.set(dst, offset, cache | value << remainingBits);
+                cache = value >>> shift;
+            }
+            
+            this.cache = cache;
+            buffer.position(index);
+        }
+        
+        while (offset < end) {
+            dst[offset++] = getByte();
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Reads {@code byte}s from this {@link BitBuffer} into the specified {@link ByteBuffer} until it has no
+     * {@code byte}s remaining.
+     * <br><br>
+     * Upon returning, the position of {@code dst} will be equal to its limit.
+     *
+     * @param dst the {@link ByteBuffer} to read {@code byte}s into.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @see #getBytes(byte[], int, int)
+     */
+    public BitBuffer getBytes(ByteBuffer dst) {
+        int length = dst.remaining();
+        
+        if (dst.hasArray()) {
+            getBytes(dst.array(), dst.arrayOffset() + dst.position(), length);
+            dst.position(dst.limit());
+            return this;
+        }
+        
+        if (remainingBits % Byte.SIZE == 0) {
+            while (remainingBits != 0 && dst.hasRemaining()) {
+                dst.put(getByte());
+            }
+            
+            if (remainingBits == 0) {
+                int toCopy = dst.remaining() / Long.BYTES * Long.BYTES;
+                
+                // Whatever does not fit within the window of a memory-mapped BitBuffer is read a long at a time.
+                if (windows != null) {
+                    moveWindow();
+                    toCopy = Math.min(toCopy, buffer.remaining() / Long.BYTES * Long.BYTES);
+                }
+                
+                if (toCopy > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                
+                dst.put(buffer.duplicate().limit(buffer.position() + toCopy));
+                buffer.position(buffer.position() + toCopy);
+            }
+        }
+        
+        boolean bigEndian = dst.order() == ByteOrder.BIG_ENDIAN;
+        
+        while (dst.remaining() >= Long.BYTES) {
+            long value = getBits(Long.SIZE);
+            dst.putLong(bigEndian ? Long.reverseBytes(value) : value);
+        }
+        
+        while (dst.hasRemaining()) {
+            dst.put(getByte());
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Reads {@code length} {@code short}s, each composed of {@code bitsPerValue} bits, from this {@link BitBuffer}
+     * into the specified array, starting at {@code offset}.
+     * <br><br>
+     * The values are not sign-extended, unless {@code bitsPerValue} is {@link Short#SIZE}. The values are
+     * unpacked a chunk at a time by {@link #getLongs(long[], int, int, int)} and narrowed to {@code short}s.
+     *
+     * @param dst          the array to read {@code short}s into.
+     * @param offset       the index in {@code dst} of the first {@code short} to read.
+     * @param length       the number of {@code short}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code short}, between {@code 0} and {@link Short#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws BufferUnderflowException  if this {@link BitBuffer} does not contain all of the values, in which case
+     * nothing is read.
+     * @see #getLongs(long[], int, int, int)
+     */
+    public BitBuffer getShorts(short[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferUnderflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Short.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Short.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        
+        // The values are unpacked a chunk at a time by getLongs, so every bit is required up front to keep the
+        // guarantee that nothing is read if they are not all present.
+        if (windows == null) {
+            requireRefills((long) length * bitsPerValue);
+        }
+        
+        long[] values = widened();
+        
+        for (int end = offset + length, chunk; offset < end; offset += chunk) {
+            chunk = Math.min(values.length, end - offset);
+            getLongs(values, 0, chunk, bitsPerValue);
+            
+            for (int i = 0; i < chunk; i++) {
+                dst[offset + i] = (short) values[i];
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Reads {@code length} {@code int}s, each composed of {@code bitsPerValue} bits, from this {@link BitBuffer}
+     * into the specified array, starting at {@code offset}.
+     * <br><br>
+     * The values are not sign-extended, unless {@code bitsPerValue} is {@link Integer#SIZE}. The values are
+     * unpacked a chunk at a time by {@link #getLongs(long[], int, int, int)} and narrowed to {@code int}s.
+     *
+     * @param dst          the array to read {@code int}s into.
+     * @param offset       the index in {@code dst} of the first {@code int} to read.
+     * @param length       the number of {@code int}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code int}, between {@code 0} and {@link Integer#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws BufferUnderflowException  if this {@link BitBuffer} does not contain all of the values, in which case
+     * nothing is read.
+     * @see #getLongs(long[], int, int, int)
+     */
+    public BitBuffer getInts(int[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferUnderflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Integer.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Integer.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        
+        // The values are unpacked a chunk at a time by getLongs, so every bit is required up front to keep the
+        // guarantee that nothing is read if they are not all present.
+        if (windows == null) {
+            requireRefills((long) length * bitsPerValue);
+        }
+        
+        long[] values = widened();
+        
+        for (int end = offset + length, chunk; offset < end; offset += chunk) {
+            chunk = Math.min(values.length, end - offset);
+            getLongs(values, 0, chunk, bitsPerValue);
+            
+            for (int i = 0; i < chunk; i++) {
+                dst[offset + i] = (int) values[i];
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Reads {@code length} {@code long}s, each composed of {@code bitsPerValue} bits, from this {@link BitBuffer}
+     * into the specified array, starting at {@code offset}.
+     * <br><br>
+     * The values are not sign-extended. Like {@link #putLongs(long[], int, int, int)}, the <i>cache</i> is kept in a
+     * local variable for the whole array and the amount of remaining data is checked once, up front.
+     *
+     * @param dst          the array to read {@code long}s into.
+     * @param offset       the index in {@code dst} of the first {@code long} to read.
+     * @param length       the number of {@code long}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code long}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws BufferUnderflowException  if this {@link BitBuffer} does not contain all of the values, in which case
+     * nothing is read.
+     */
+    public BitBuffer getLongs(long[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, BufferUnderflowException {
+        if (bitsPerValue < 0 || bitsPerValue > Long.SIZE) {
+            throw new IllegalArgumentException("bitsPerValue must be between 0 and " + Long.SIZE + "!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        
+        int batchSize = batchSize(bitsPerValue);
+        
+        if (length > batchSize) {
+            for (int end = offset + length; offset < end; offset += batchSize) {
+                getLongs(dst, offset, Math.min(batchSize, end - offset), bitsPerValue);
+            }
+            
+            return this;
+        }
+        
+        if (!requireRefills((long) length * bitsPerValue)) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                dst[i] = getBits(bitsPerValue);
+            }
+            
+            return this;
+        }
+        
+        long mask = MASKS[bitsPerValue];
+        long cache = this.cache;
+        int remainingBits = this.remainingBits;
+        int index = buffer.position();
+        
+        for (int i = offset, end = offset + length; i < end; i++) {
+            long value;
+            
+            if (remainingBits < bitsPerValue) {
+                value = cache & MASKS[remainingBits];
+                cache = (long) BYTE_BUFFER_LONGS.get(buffer, index);
+                index += Long.BYTES;
+                int difference = bitsPerValue - remainingBits;
+                value |= (cache & MASKS[difference]) << remainingBits;
+                cache >>>= difference;
+                remainingBits = Long.SIZE - difference;
+            } else {
+                value = cache & mask;
+                cache >>>= bitsPerValue;
+                remainingBits -= bitsPerValue;
+            }
+            
+            dst[i] = value;
+        }
+        
+        this.cache = cache;
+        this.remainingBits = remainingBits;
+        buffer.position(index);
+        return this;
+    }
+    
+    /**
+     * Ensures that this {@link BitBuffer} contains {@code numBits} more bits, and checks whether every refill of the
+     * <i>cache</i> caused by reading them can load a whole {@code long} from the backing {@link ByteBuffer}.
+     *
+     * @param numBits the amount of bits about to be read.
+     * @return {@code true} if every refill can load a whole {@code long}, or {@code false} if the bits must be read
+     * through {@link #getBits(int)}, as the last of them are too close to the limit of the backing
+     * {@link ByteBuffer}.
+     * @throws BufferUnderflowException if this {@link BitBuffer} does not contain {@code numBits} more bits.
      */
-    public byte[] getBytes(int n) {
-        var array = new byte[n];
+    private boolean requireRefills(long numBits) throws BufferUnderflowException {
+        long bytes = (numBits - remainingBits + Long.SIZE - 1) / Long.SIZE * Long.BYTES;
         
-        for (int i = 0; i < array.length; i++) {
-            array[i] = getByte();
+        if (windows != null && buffer.remaining() < bytes) {
+            moveWindow();
         }
         
-        return array;
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        
+        if (remainingBits + (long) buffer.remaining() * Byte.SIZE < numBits) {
+            throw new BufferUnderflowException();
+        }
+        
+        return false;
     }
     
     /**
@@ -410,7 +2543,7 @@ public final class BitBuffer {
      * @return A {@code char}.
      */
     public char getChar(ByteOrder order) {
-        var value = (char) getBits(Integer.SIZE);
+        var value = (char) getBits(Character.SIZE);
         return order == ByteOrder.BIG_ENDIAN ? Character.reverseBytes(value) : value;
     }
     
@@ -546,13 +2679,510 @@ public final class BitBuffer {
         return getBits(numBits) << unused >> unused;
     }
     
+    /**
+     * Reads an unsigned, variable-length integer (LEB128) from this {@link BitBuffer} and composes an {@code int}.
+     *
+     * @return An {@code int}.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @see #putVarInt(int)
+     */
+    public int getVarInt() throws IllegalStateException {
+        return (int) getVarLong();
+    }
+    
+    /**
+     * Reads an unsigned, variable-length integer (LEB128) from this {@link BitBuffer} and composes a {@code long}.
+     * <br><br>
+     * If the entire variable-length integer is already within the <i>cache</i>, all of its {@code byte}s are decoded
+     * at once rather than one at a time.
+     *
+     * @return A {@code long}.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @see #putVarLong(long)
+     */
+    public long getVarLong() throws IllegalStateException {
+        long word = cache & MASKS[remainingBits];
+        long terminators = ~word & CONTINUATION_BITS & MASKS[remainingBits];
+        
+        if (terminators != 0) {
+            int numBits = Long.numberOfTrailingZeros(terminators) + 1;
+            cache >>>= numBits;
+            remainingBits -= numBits;
+            return gather(word & MASKS[numBits]);
+        }
+        
+        // The variable-length integer spans a cache refill, so read it one byte at a time.
+        long value = 0;
+        
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            long b = getBits(Byte.SIZE);
+            value |= (b & 0x7F) << shift;
+            
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        
+        throw new IllegalStateException("Malformed variable-length integer!");
+    }
+    
+    /**
+     * Reads a ZigZag-encoded, variable-length integer from this {@link BitBuffer} and composes a signed {@code int}.
+     *
+     * @return An {@code int}.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @see #putSignedVarInt(int)
+     */
+    public int getSignedVarInt() throws IllegalStateException {
+        int value = getVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    /**
+     * Reads a ZigZag-encoded, variable-length integer from this {@link BitBuffer} and composes a signed {@code long}.
+     *
+     * @return A {@code long}.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @see #putSignedVarLong(long)
+     */
+    public long getSignedVarLong() throws IllegalStateException {
+        return unZigZag(getVarLong());
+    }
+    
+    /**
+     * Reads a UTF-8 string that was written by {@link #putString(CharSequence)} from this {@link BitBuffer}.
+     * <br><br>
+     * The string is decoded directly from the <i>cache</i> into a scratch {@code char[]} that is reused by every
+     * subsequent call, so no intermediate {@code byte[]} is allocated; see {@link #getString(StringBuilder)} for
+     * avoiding the allocation of the resulting {@link String} as well.
+     *
+     * @return A {@link String}.
+     * @throws IllegalStateException if the string is malformed.
+     */
+    public String getString() throws IllegalStateException {
+        int count = decodeString();
+        return new String(chars, 0, count);
+    }
+    
+    /**
+     * Reads a UTF-8 string that was written by {@link #putString(CharSequence)} from this {@link BitBuffer} and
+     * appends it to the specified {@link StringBuilder}.
+     *
+     * @param dst the {@link StringBuilder} to append the string to.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalStateException if the string is malformed.
+     * @see #getString()
+     */
+    public BitBuffer getString(StringBuilder dst) throws IllegalStateException {
+        int count = decodeString();
+        dst.append(chars, 0, count);
+        return this;
+    }
+    
+    /**
+     * Reads a string that was written by {@link #putString(CharSequence, Alphabet)} with the specified
+     * {@link Alphabet} from this {@link BitBuffer}.
+     * <br><br>
+     * Like {@link #getString()}, the string is decoded into a scratch {@code char[]} that is reused by every
+     * subsequent call.
+     *
+     * @param alphabet the {@link Alphabet} that the string was written with.
+     * @return A {@link String}.
+     * @throws IllegalStateException if the string is malformed.
+     */
+    public String getString(Alphabet alphabet) throws IllegalStateException {
+        int count = decodeString(alphabet);
+        return new String(chars, 0, count);
+    }
+    
+    /**
+     * Reads a string that was written by {@link #putString(CharSequence, Alphabet)} with the specified
+     * {@link Alphabet} from this {@link BitBuffer} and appends it to the specified {@link StringBuilder}.
+     *
+     * @param dst      the {@link StringBuilder} to append the string to.
+     * @param alphabet the {@link Alphabet} that the string was written with.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalStateException if the string is malformed.
+     * @see #getString(Alphabet)
+     */
+    public BitBuffer getString(StringBuilder dst, Alphabet alphabet) throws IllegalStateException {
+        int count = decodeString(alphabet);
+        dst.append(chars, 0, count);
+        return this;
+    }
+    
+    /**
+     * Reads a UTF-8 string from this {@link BitBuffer} into {@code chars}, which is grown if it cannot hold as many
+     * {@code char}s as the string has {@code byte}s.
+     * <br><br>
+     * {@code byte}s are read {@link Long#BYTES} at a time, and a {@code long} whose continuation bits are all clear is
+     * decoded as {@link Long#BYTES} ASCII characters at once.
+     *
+     * @return the amount of {@code char}s that were decoded into {@code chars}.
+     * @throws IllegalStateException if the string is malformed.
+     */
+    private int decodeString() throws IllegalStateException {
+        long length = getVarLong();
+        
+        if (length < 0 || length > MAX_CAPACITY) {
+            throw new IllegalStateException("Malformed string!");
+        }
+        
+        int remainingBytes = (int) length;
+        char[] dst = scratch(remainingBytes);
+        int count = 0;
+        long word = 0;
+        int availableBytes = 0;
+        
+        while (remainingBytes > 0 || availableBytes > 0) {
+            if (availableBytes == 0) {
+                availableBytes = Math.min(Long.BYTES, remainingBytes);
+                word = getBits(availableBytes * Byte.SIZE);
+                remainingBytes -= availableBytes;
+                
+                if (availableBytes == Long.BYTES && (word & CONTINUATION_BITS) == 0) {
+                    for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+                        dst[count++] = (char) (word >>> shift & 0x7F);
+                    }
+                    
+                    availableBytes = 0;
+                    continue;
+                }
+            }
+            
+            int lead = (int) word & 0xFF;
+            word >>>= Byte.SIZE;
+            availableBytes--;
+            
+            if (lead < 0x80) {
+                dst[count++] = (char) lead;
+                continue;
+            }
+            
+            int continuations = lead >= 0xF8 ? 0 : lead >= 0xF0 ? 3 : lead >= 0xE0 ? 2 : lead >= 0xC0 ? 1 : 0;
+            
+            if (continuations == 0) {
+                throw new IllegalStateException("Malformed UTF-8 string!");
+            }
+            
+            int codePoint = lead & (0x3F >>> continuations);
+            
+            for (int i = 0; i < continuations; i++) {
+                if (availableBytes == 0) {
+                    if (remainingBytes == 0) {
+                        throw new IllegalStateException("Malformed UTF-8 string!");
+                    }
+                    
+                    availableBytes = Math.min(Long.BYTES, remainingBytes);
+                    word = getBits(availableBytes * Byte.SIZE);
+                    remainingBytes -= availableBytes;
+                }
+                
+                int b = (int) word & 0xFF;
+                word >>>= Byte.SIZE;
+                availableBytes--;
+                
+                if ((b & 0xC0) != 0x80) {
+                    throw new IllegalStateException("Malformed UTF-8 string!");
+                }
+                
+                codePoint = codePoint << 6 | b & 0x3F;
+            }
+            
+            // Reject overlong encodings, encoded surrogates and code points beyond the Unicode range.
+            int minimum = continuations == 1 ? 0x80
+                    : continuations == 2 ? 0x800 : Character.MIN_SUPPLEMENTARY_CODE_POINT;
+            
+            if (codePoint < minimum || codePoint > Character.MAX_CODE_POINT
+                    || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+                throw new IllegalStateException("Malformed UTF-8 string!");
+            }
+            
+            if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                dst[count++] = Character.highSurrogate(codePoint);
+                dst[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                dst[count++] = (char) codePoint;
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Reads a string that was written with the specified {@link Alphabet} from this {@link BitBuffer} into
+     * {@code chars}.
+     * <br><br>
+     * As many characters as fit within {@link Long#SIZE} bits are read with one call to {@link #getBits(int)} and then
+     * decoded from that {@code long}.
+     *
+     * @param alphabet the {@link Alphabet} that the string was written with.
+     * @return the amount of {@code char}s that were decoded into {@code chars}.
+     * @throws IllegalStateException if the string is malformed.
+     */
+    private int decodeString(Alphabet alphabet) throws IllegalStateException {
+        int length = getVarInt();
+        
+        if (length < 0 || length > MAX_CAPACITY) {
+            throw new IllegalStateException("Malformed string!");
+        }
+        
+        char[] dst = scratch(length);
+        int bitsPerChar = alphabet.bitsPerChar();
+        int charsPerWord = Long.SIZE / bitsPerChar;
+        
+        for (int i = 0; i < length; i += charsPerWord) {
+            int numChars = Math.min(charsPerWord, length - i);
+            alphabet.decode(getBits(numChars * bitsPerChar), numChars, dst, i);
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Gets {@code chars}, which is first grown if it cannot hold the specified amount of {@code char}s.
+     *
+     * @param length the amount of {@code char}s that must fit.
+     * @return {@code chars}.
+     */
+    private char[] scratch(int length) {
+        if (chars == null || chars.length < length) {
+            chars = new char[length];
+        }
+        
+        return chars;
+    }
+    
+    /**
+     * Reads an Elias gamma code from this {@link BitBuffer} and composes a {@code long}.
+     * <br><br>
+     * The unary prefix of the code is decoded with a single {@link Long#numberOfTrailingZeros(long)} whenever it lies
+     * within the <i>cache</i>.
+     *
+     * @return a non-zero {@code long}, which should be interpreted as unsigned.
+     * @throws IllegalStateException if the code is malformed.
+     * @see #putEliasGamma(long)
+     */
+    public long getEliasGamma() throws IllegalStateException {
+        long value = getGamma() + 1;
+        
+        if (value == 0) {
+            throw new IllegalStateException("Elias gamma code exceeds 64 bits!");
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Reads an Elias delta code from this {@link BitBuffer} and composes a {@code long}.
+     *
+     * @return a non-zero {@code long}, which should be interpreted as unsigned.
+     * @throws IllegalStateException if the code is malformed.
+     * @see #putEliasDelta(long)
+     */
+    public long getEliasDelta() throws IllegalStateException {
+        long value = getDelta() + 1;
+        
+        if (value == 0) {
+            throw new IllegalStateException("Elias delta code exceeds 64 bits!");
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Reads a ZigZag-encoded Elias delta code from this {@link BitBuffer} and composes a signed {@code long}.
+     *
+     * @return A {@code long}.
+     * @throws IllegalStateException if the code is malformed.
+     * @see #putSignedEliasDelta(long)
+     */
+    public long getSignedEliasDelta() throws IllegalStateException {
+        return unZigZag(getDelta());
+    }
+    
+    /**
+     * Reads a zeroth-order exponential-Golomb code from this {@link BitBuffer} and composes a {@code long}.
+     *
+     * @return a {@code long}, which should be interpreted as unsigned.
+     * @throws IllegalStateException if the code is malformed.
+     * @see #putExpGolomb(long)
+     */
+    public long getExpGolomb() throws IllegalStateException {
+        return getGamma();
+    }
+    
+    /**
+     * Reads an exponential-Golomb code of order {@code k} from this {@link BitBuffer} and composes a {@code long}.
+     *
+     * @param k the order of the code, which should be the same as what was used when calling
+     *          {@link #putExpGolomb(long, int)}.
+     * @return a {@code long}, which should be interpreted as unsigned.
+     * @throws IllegalArgumentException if {@code k} is not between {@code 0} and {@code 63}.
+     * @throws IllegalStateException    if the code is malformed.
+     */
+    public long getExpGolomb(int k) throws IllegalArgumentException, IllegalStateException {
+        if (k < 0 || k >= Long.SIZE) {
+            throw new IllegalArgumentException("k must be between 0 and 63!");
+        }
+        
+        return getGamma() << k | getBits(k);
+    }
+    
+    /**
+     * Reads a ZigZag-encoded, zeroth-order exponential-Golomb code from this {@link BitBuffer} and composes a signed
+     * {@code long}.
+     *
+     * @return A {@code long}.
+     * @throws IllegalStateException if the code is malformed.
+     * @see #putSignedExpGolomb(long)
+     */
+    public long getSignedExpGolomb() throws IllegalStateException {
+        return unZigZag(getGamma());
+    }
+    
+    /**
+     * Reads a Golomb-Rice code with parameter {@code k} from this {@link BitBuffer} and composes a {@code long}.
+     * <br><br>
+     * The unary quotient is decoded a word at a time from the <i>cache</i>.
+     *
+     * @param k the parameter of the code, which should be the same as what was used when calling
+     *          {@link #putRice(long, int)}.
+     * @return a {@code long}, which should be interpreted as unsigned.
+     * @throws IllegalArgumentException if {@code k} is not between {@code 0} and {@code 63}.
+     */
+    public long getRice(int k) throws IllegalArgumentException {
+        if (k < 0 || k >= Long.SIZE) {
+            throw new IllegalArgumentException("k must be between 0 and 63!");
+        }
+        
+        return (long) getUnary() << k | getBits(k);
+    }
+    
+    /**
+     * Reads values written by {@link #putRiceBlocks(long[], int, int, int)} from this {@link BitBuffer} into the
+     * specified array.
+     *
+     * @param dst       the array to read values into.
+     * @param offset    the index in {@code dst} of the first value to read.
+     * @param length    the number of values to read.
+     * @param blockSize the number of values in each block, which should be the same as what was used when writing.
+     * @return this {@link BitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code blockSize} is not positive.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     */
+    public BitBuffer getRiceBlocks(long[] dst, int offset, int length, int blockSize)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive!");
+        }
+        
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        
+        for (int end = offset + length; offset < end; offset += blockSize) {
+            int blockEnd = Math.min(end, offset + blockSize);
+            int k = (int) getBits(RICE_PARAMETER_BITS);
+            
+            for (int i = offset; i < blockEnd; i++) {
+                dst[i] = (long) getUnary() << k | getBits(k);
+            }
+        }
+        
+        return this;
+    }
+    
+    /**
+     * Reads consecutive {@code 0} bits up to and including the next {@code 1} bit.
+     *
+     * @return the amount of {@code 0} bits that were read.
+     */
+    private int getUnary() {
+        int zeros = 0;
+        
+        while (true) {
+            long word = cache & MASKS[remainingBits];
+            
+            if (word != 0) {
+                int numBits = Long.numberOfTrailingZeros(word) + 1;
+                cache >>>= numBits;
+                remainingBits -= numBits;
+                return zeros + numBits - 1;
+            }
+            
+            // The rest of the cache is zeros, so consume it and refill.
+            zeros += remainingBits;
+            remainingBits = 0;
+            
+            if (getBits(1) != 0) {
+                return zeros;
+            }
+            
+            zeros++;
+        }
+    }
+    
+    /**
+     * Reads an Elias gamma code and composes one less than its value, which is the inverse of
+     * {@link #putGamma(long)}.
+     *
+     * @return one less than the value that was read, which should be interpreted as unsigned.
+     * @throws IllegalStateException if the code exceeds {@code 65} bits.
+     */
+    private long getGamma() throws IllegalStateException {
+        int numBits = getUnary();
+        
+        if (numBits < Long.SIZE) {
+            return (1L << numBits | getBits(numBits)) - 1;
+        }
+        
+        if (numBits > Long.SIZE || getBits(Long.SIZE) != 0) {
+            throw new IllegalStateException("Elias gamma code exceeds 65 bits!");
+        }
+        
+        return -1;
+    }
+    
+    /**
+     * Reads an Elias delta code and composes one less than its value, which is the inverse of
+     * {@link #putDelta(long)}.
+     *
+     * @return one less than the value that was read, which should be interpreted as unsigned.
+     * @throws IllegalStateException if the code exceeds {@code 65} bits.
+     */
+    private long getDelta() throws IllegalStateException {
+        // The gamma-coded length, minus one, is the amount of bits that follow the implicit most significant bit.
+        long numBits = getGamma();
+        
+        if (numBits >= 0 && numBits < Long.SIZE) {
+            return (1L << numBits | getBits((int) numBits)) - 1;
+        }
+        
+        if (numBits != Long.SIZE || getBits(Long.SIZE) != 0) {
+            throw new IllegalStateException("Elias delta code exceeds 65 bits!");
+        }
+        
+        return -1;
+    }
+    
     /**
      * Gets the capacity of the backing {@link ByteBuffer}.
+     * <br><br>
+     * For a memory-mapped {@link BitBuffer}, this is the size of the mapped region, or {@link Integer#MAX_VALUE} if
+     * the region is larger.
      *
      * @return the capacity of the backing buffer in {@code byte}s.
      */
     public int capacity() {
-        return buffer.capacity();
+        return (int) Math.min(byteCapacity(), Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Tells whether or not this {@link BitBuffer} is backed by a <strong>direct</strong> {@link ByteBuffer}.
+     *
+     * @return {@code true} if the backing {@link ByteBuffer} is direct, otherwise {@code false}.
+     */
+    public boolean isDirect() {
+        return buffer.isDirect();
     }
     
     /**
@@ -565,13 +3195,197 @@ public final class BitBuffer {
     /**
      * Gets the backing {@link ByteBuffer} of this {@link BitBuffer}.
      * <br><br>
+     * While writing, its position is reset and its limit is set to its capacity. After this {@link BitBuffer} has
+     * been flipped, only its position is reset, so that a {@link BitBuffer} flipped by {@link #flip(boolean)} exposes
+     * exactly the {@code byte}s that were written.
+     * <br><br>
      * Modifying this {@link ByteBuffer} in any way <strong>will</strong> de-synchronize it from the {@link BitBuffer}
      * that encompasses it.
+     * <br><br>
+     * A memory-mapped {@link BitBuffer} that spans several windows has no single backing {@link ByteBuffer}, so
+     * {@link #writeTo(WritableByteChannel)} or the bulk {@code get} methods must be used to access its contents.
      *
      * @return A {@link ByteBuffer}.
+     * @throws UnsupportedOperationException if this {@link BitBuffer} is memory-mapped as several windows.
+     * @see #writeTo(WritableByteChannel)
+     */
+    public ByteBuffer toByteBuffer() throws UnsupportedOperationException {
+        if (windows != null && windows.length > 1) {
+            throw new UnsupportedOperationException("A BitBuffer mapped as several windows has no single backing " +
+                    "ByteBuffer!");
+        }
+        
+        if (reading) {
+            return buffer.position(0);
+        }
+        
+        writeCache();
+        return buffer.clear();
+    }
+    
+    /**
+     * Gets the number of {@code byte}s that {@link #writeTo(WritableByteChannel)} has yet to write.
+     * <br><br>
+     * While writing, these are only the {@code byte}s whose bits have all been written, as bits may still be written
+     * into a partially-written final {@code byte}. After this {@link BitBuffer} has been flipped, these are the
+     * {@code byte}s up to its limit, which {@link #flip(boolean)} can set to {@link #bytesWritten()} as well.
+     *
+     * @return the number of {@code byte}s that have yet to be written to a channel.
+     */
+    public long pendingBytes() {
+        long validBytes = reading ? byteLimit() : bitsWritten() / Byte.SIZE;
+        return Math.max(0, validBytes - writtenBytes);
+    }
+    
+    /**
+     * Writes the pending {@code byte}s of this {@link BitBuffer} to the specified channel, without modifying its
+     * position or the <i>cache</i>, so that it may continue to be written to or read from afterwards.
+     * <br><br>
+     * A non-blocking channel may only write some of the {@code byte}s, in which case this method can simply be called
+     * again once the channel is ready, as the {@code byte}s that have been written are skipped. A partially-written
+     * final {@code byte} is held back until this {@link BitBuffer} is flipped, at which point it is padded with zeros.
+     *
+     * @param channel the channel to write to.
+     * @return the number of {@code byte}s that were written, possibly zero.
+     * @throws IOException if an I/O error occurs while writing to {@code channel}.
+     * @see #pendingBytes()
+     */
+    public int writeTo(WritableByteChannel channel) throws IOException {
+        if (pendingBytes() == 0) {
+            return 0;
+        }
+        
+        int written = channel.write(pendingView());
+        writtenBytes += written;
+        return written;
+    }
+    
+    /**
+     * Writes the pending {@code byte}s of every specified {@link BitBuffer} to the specified channel at once, in
+     * order, which allows many messages to be sent with a single system call.
+     * <br><br>
+     * As with {@link #writeTo(WritableByteChannel)}, a non-blocking channel may only write some of the {@code byte}s,
+     * in which case this method can simply be called again with the same {@link BitBuffer}s.
+     *
+     * @param channel the channel to write to.
+     * @param buffers the {@link BitBuffer}s to write.
+     * @return the number of {@code byte}s that were written, possibly zero.
+     * @throws IOException if an I/O error occurs while writing to {@code channel}.
+     * @see GatheringByteChannel#write(ByteBuffer[])
+     */
+    public static long writeTo(GatheringByteChannel channel, BitBuffer... buffers) throws IOException {
+        var srcs = new ByteBuffer[buffers.length];
+        var positions = new int[buffers.length];
+        
+        for (int i = 0; i < buffers.length; i++) {
+            srcs[i] = buffers[i].pendingBytes() == 0 ? EMPTY : buffers[i].pendingView();
+            positions[i] = srcs[i].position();
+        }
+        
+        long written = channel.write(srcs);
+        
+        // The position of each view has been advanced by the amount of its bytes that were written, while the shared
+        // empty buffer never moves.
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i].writtenBytes += srcs[i].position() - positions[i];
+        }
+        
+        return written;
+    }
+    
+    /**
+     * Reads {@code byte}s from the specified channel into this {@link BitBuffer}, as if by
+     * {@link #putBytes(ByteBuffer)}, until either the channel has no more {@code byte}s available or this
+     * {@link BitBuffer} is full. An elastic {@link BitBuffer} grows before reading if it is full.
+     * <br><br>
+     * If the position of this {@link BitBuffer} is a multiple of {@link Byte#SIZE}, the {@code byte}s are read
+     * directly into the backing {@link ByteBuffer}; otherwise, at most {@code 8192} {@code byte}s are read into a
+     * reusable scratch buffer and then shifted into place.
+     *
+     * @param channel the channel to read from.
+     * @return the number of {@code byte}s that were read, possibly zero, or {@code -1} if the channel has reached
+     * end-of-stream.
+     * @throws IOException if an I/O error occurs while reading from {@code channel}.
+     */
+    public int readFrom(ReadableByteChannel channel) throws IOException {
+        long bitPosition = bitPosition();
+        long index = (bitPosition + Byte.SIZE - 1) / Byte.SIZE;
+        
+        // The cache may hold up to a long of bits beyond the position of the backing ByteBuffer, so the room is
+        // measured from the bit position; otherwise, a full elastic BitBuffer would read nothing rather than grow.
+        ensureRemaining((int) (index - windowBase(window) - buffer.position()) + Long.BYTES);
+        
+        if (bitPosition % Byte.SIZE != 0) {
+            if (transfer == null) {
+                transfer = ByteBuffer.allocate(TRANSFER_SIZE);
+            }
+            
+            long length = Math.min(Math.min(windowEnd(index), byteLimit()) - index, TRANSFER_SIZE);
+            var dst = transfer.clear().limit((int) Math.max(0, length));
+            int read = channel.read(dst);
+            
+            if (read > 0) {
+                putBytes(dst.flip());
+            }
+            
+            return read;
+        }
+        
+        writeCache();
+        var dst = view(index, windowEnd(index));
+        int read = channel.read(dst);
+        
+        if (read > 0) {
+            bitPosition((index + read) * Byte.SIZE);
+        }
+        
+        return read;
+    }
+    
+    /**
+     * Creates a view of the pending {@code byte}s of this {@link BitBuffer}, which must not be empty, after putting
+     * the bits in the <i>cache</i> into the backing {@link ByteBuffer} if it is being written.
+     *
+     * @return a {@link ByteBuffer} whose remaining {@code byte}s are the pending {@code byte}s, or as many of them as
+     * fit within a single window of a memory-mapped {@link BitBuffer}.
+     * @throws BufferOverflowException if the bits in the <i>cache</i> do not fit within the capacity of this
+     * {@link BitBuffer}.
+     */
+    private ByteBuffer pendingView() throws BufferOverflowException {
+        if (!reading) {
+            writeCache();
+        }
+        
+        return view(writtenBytes, writtenBytes + pendingBytes());
+    }
+    
+    /**
+     * Gets the index of the {@code byte} after the last {@code byte} that can be accessed through the same window as
+     * the specified {@code byte}.
+     *
+     * @param index the index of the {@code byte}.
+     * @return the end of the window, which is the capacity of the backing {@link ByteBuffer} if this
+     * {@link BitBuffer} is not memory-mapped.
+     */
+    private long windowEnd(long index) {
+        int window = windowOf(index);
+        return windowBase(window) + (windows == null ? buffer.capacity() : windows[window].capacity());
+    }
+    
+    /**
+     * Creates a view of the specified range of {@code byte}s, which is truncated to the end of the window in which
+     * it starts if this {@link BitBuffer} is memory-mapped.
+     *
+     * @param from the index of the first {@code byte} of the range.
+     * @param to   the index after the last {@code byte} of the range.
+     * @return a {@link ByteBuffer} whose remaining {@code byte}s are those in the range.
      */
-    public ByteBuffer toByteBuffer() {
-        return buffer.putLong(cache).clear();
+    private ByteBuffer view(long from, long to) {
+        int window = windowOf(from);
+        var source = windows == null ? buffer : windows[window];
+        long base = windowBase(window);
+        return source.duplicate().clear().limit((int) (Math.min(to, windowEnd(from)) - base))
+                .position((int) (from - base));
     }
 
 }
\ No newline at end of file
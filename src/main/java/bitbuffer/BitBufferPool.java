@@ -0,0 +1,291 @@
+package bitbuffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A pool of reusable {@link BitBuffer}s, which avoids the cost of allocating (and later cleaning) a new backing
+ * {@link java.nio.ByteBuffer} for every message.
+ * <br><br>
+ * Buffers are grouped into size classes, each of which is a power of two between {@code 64} {@code byte}s and
+ * {@code 16} MiB. A released {@link BitBuffer} is first kept in a small cache that belongs to the releasing thread,
+ * and only overflows into a lock-free arena shared by all threads once that cache is full. The amount of
+ * {@code byte}s retained by the shared arena never exceeds the maximum specified when creating the pool.
+ * <br><br>
+ * Only {@link BitBuffer}s handed out by a pool may be released to it. A {@link BitBuffer} must not be used after it
+ * is released, and must not be released more than once.
+ *
+ * @author Jacob G.
+ */
+public final class BitBufferPool {
+
+    /**
+     * The base-2 logarithm of the smallest size class.
+     */
+    private static final int MIN_SIZE_CLASS = 6;
+
+    /**
+     * The base-2 logarithm of the largest size class; larger requests are allocated, but never retained.
+     */
+    private static final int MAX_SIZE_CLASS = 24;
+
+    /**
+     * The base-2 logarithm of the largest size class that is kept in the cache of each thread.
+     */
+    private static final int MAX_THREAD_CACHED_SIZE_CLASS = 16;
+
+    /**
+     * The amount of {@link BitBuffer}s of each size class that are kept in the cache of each thread.
+     */
+    private static final int THREAD_CACHE_SIZE = 8;
+
+    /**
+     * Whether or not this pool hands out {@link BitBuffer}s backed by a direct {@link java.nio.ByteBuffer}.
+     */
+    private final boolean direct;
+
+    /**
+     * The maximum amount of {@code byte}s retained by the shared arena.
+     */
+    private final long maxRetainedBytes;
+
+    /**
+     * The amount of {@code byte}s currently retained by the shared arena.
+     */
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    /**
+     * The shared arena, which holds one stack for each size class.
+     */
+    private final SharedStack[] arena = new SharedStack[MAX_SIZE_CLASS - MIN_SIZE_CLASS + 1];
+
+    /**
+     * The cache that belongs to each thread.
+     */
+    private final ThreadLocal<BitBuffer[][]> threadCache = ThreadLocal.withInitial(() ->
+            new BitBuffer[MAX_THREAD_CACHED_SIZE_CLASS - MIN_SIZE_CLASS + 1][THREAD_CACHE_SIZE]);
+
+    /**
+     * A private constructor.
+     *
+     * @param direct           whether or not the pool hands out direct {@link BitBuffer}s.
+     * @param maxRetainedBytes the maximum amount of {@code byte}s retained by the shared arena.
+     */
+    private BitBufferPool(boolean direct, long maxRetainedBytes) {
+        if (maxRetainedBytes < 0) {
+            throw new IllegalArgumentException("maxRetainedBytes must be positive!");
+        }
+
+        this.direct = direct;
+        this.maxRetainedBytes = maxRetainedBytes;
+
+        for (int i = 0; i < arena.length; i++) {
+            arena[i] = new SharedStack();
+        }
+    }
+
+    /**
+     * Creates a pool of {@link BitBuffer}s backed by a {@link java.nio.ByteBuffer}.
+     *
+     * @param maxRetainedBytes the maximum amount of {@code byte}s retained by the shared arena.
+     * @return a {@link BitBufferPool}.
+     * @throws IllegalArgumentException if {@code maxRetainedBytes} is negative.
+     * @see BitBuffer#allocate(int)
+     */
+    public static BitBufferPool heap(long maxRetainedBytes) throws IllegalArgumentException {
+        return new BitBufferPool(false, maxRetainedBytes);
+    }
+
+    /**
+     * Creates a pool of {@link BitBuffer}s backed by a <strong>direct</strong> {@link java.nio.ByteBuffer}.
+     *
+     * @param maxRetainedBytes the maximum amount of {@code byte}s retained by the shared arena.
+     * @return a {@link BitBufferPool}.
+     * @throws IllegalArgumentException if {@code maxRetainedBytes} is negative.
+     * @see BitBuffer#allocateDirect(int)
+     */
+    public static BitBufferPool direct(long maxRetainedBytes) throws IllegalArgumentException {
+        return new BitBufferPool(true, maxRetainedBytes);
+    }
+
+    /**
+     * Gets a cleared {@link BitBuffer} with a capacity of at least {@code capacity} {@code byte}s, reusing a
+     * previously-released {@link BitBuffer} if possible.
+     *
+     * @param capacity the minimum capacity of the {@link BitBuffer} in {@code byte}s.
+     * @return a {@link BitBuffer} that is ready for a series of relative {@code put} operations.
+     * @throws IllegalArgumentException if {@code capacity} is negative.
+     */
+    public BitBuffer acquire(int capacity) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+
+        int sizeClass = Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(capacity, 1) - 1);
+        sizeClass = Math.max(MIN_SIZE_CLASS, sizeClass);
+
+        if (sizeClass > MAX_SIZE_CLASS) {
+            return allocate(capacity);
+        }
+
+        if (sizeClass <= MAX_THREAD_CACHED_SIZE_CLASS) {
+            BitBuffer[] cache = threadCache.get()[sizeClass - MIN_SIZE_CLASS];
+
+            for (int i = cache.length - 1; i >= 0; i--) {
+                var buffer = cache[i];
+
+                if (buffer != null) {
+                    cache[i] = null;
+                    return buffer;
+                }
+            }
+        }
+
+        var buffer = arena[sizeClass - MIN_SIZE_CLASS].pop();
+
+        if (buffer == null) {
+            return allocate(1 << sizeClass);
+        }
+
+        retainedBytes.addAndGet(-buffer.capacity());
+        return buffer;
+    }
+
+    /**
+     * Returns a {@link BitBuffer} to this pool so that it can be handed out again by {@link #acquire(int)}.
+     * <br><br>
+     * The {@link BitBuffer} is cleared, and is discarded if its capacity is not one of the size classes, or if the
+     * shared arena is already retaining the maximum amount of {@code byte}s.
+     *
+     * @param buffer the {@link BitBuffer} to release.
+     * @throws IllegalArgumentException if {@code buffer} was not handed out by this pool, such as a wrapped,
+     * memory-mapped or elastic {@link BitBuffer}, or one that belongs to another pool.
+     */
+    public void release(BitBuffer buffer) throws IllegalArgumentException {
+        if (buffer.owner != this) {
+            throw new IllegalArgumentException("buffer was not allocated by this pool!");
+        }
+
+        int capacity = buffer.capacity();
+        int sizeClass = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(capacity);
+
+        // Requests larger than the largest size class are allocated at their exact size, which belongs to no class.
+        if (sizeClass < MIN_SIZE_CLASS || sizeClass > MAX_SIZE_CLASS || capacity != 1 << sizeClass) {
+            return;
+        }
+
+        buffer.clear();
+
+        if (sizeClass <= MAX_THREAD_CACHED_SIZE_CLASS) {
+            BitBuffer[] cache = threadCache.get()[sizeClass - MIN_SIZE_CLASS];
+
+            for (int i = 0; i < cache.length; i++) {
+                if (cache[i] == null) {
+                    cache[i] = buffer;
+                    return;
+                }
+            }
+        }
+
+        if (retainedBytes.addAndGet(capacity) > maxRetainedBytes) {
+            retainedBytes.addAndGet(-capacity);
+            return;
+        }
+
+        arena[sizeClass - MIN_SIZE_CLASS].push(buffer);
+    }
+
+    /**
+     * Gets the amount of {@code byte}s currently retained by the shared arena of this pool, which excludes the
+     * {@link BitBuffer}s held in the cache of each thread.
+     *
+     * @return the amount of retained {@code byte}s.
+     */
+    public long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * Allocates a new {@link BitBuffer} of the kind handed out by this pool, and marks it as owned by this pool so
+     * that {@link #release(BitBuffer)} accepts it.
+     *
+     * @param capacity the capacity of the {@link BitBuffer} in {@code byte}s.
+     * @return a newly-allocated {@link BitBuffer}.
+     */
+    private BitBuffer allocate(int capacity) {
+        var buffer = direct ? BitBuffer.allocateDirect(capacity) : BitBuffer.allocate(capacity);
+        buffer.owner = this;
+        return buffer;
+    }
+
+    /**
+     * A lock-free (Treiber) stack of {@link BitBuffer}s.
+     */
+    private static final class SharedStack {
+
+        /**
+         * The top of the stack.
+         */
+        private final AtomicReference<Node> head = new AtomicReference<>();
+
+        /**
+         * Pushes a {@link BitBuffer} onto the top of this stack.
+         *
+         * @param buffer the {@link BitBuffer} to push.
+         */
+        void push(BitBuffer buffer) {
+            var node = new Node(buffer);
+
+            do {
+                node.next = head.get();
+            } while (!head.compareAndSet(node.next, node));
+        }
+
+        /**
+         * Pops the {@link BitBuffer} at the top of this stack.
+         *
+         * @return the popped {@link BitBuffer}, or {@code null} if this stack is empty.
+         */
+        BitBuffer pop() {
+            Node node;
+
+            do {
+                node = head.get();
+
+                if (node == null) {
+                    return null;
+                }
+            } while (!head.compareAndSet(node, node.next));
+
+            return node.buffer;
+        }
+
+    }
+
+    /**
+     * A node of a {@link SharedStack}.
+     */
+    private static final class Node {
+
+        /**
+         * The {@link BitBuffer} held by this node.
+         */
+        private final BitBuffer buffer;
+
+        /**
+         * The node beneath this one.
+         */
+        private Node next;
+
+        /**
+         * Creates a new node.
+         *
+         * @param buffer the {@link BitBuffer} held by the node.
+         */
+        Node(BitBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+    }
+
+}
@@ -0,0 +1,704 @@
+package bitbuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * An {@link InputStream} that reads bits from another {@link InputStream}, using the same encodings as
+ * {@link BitBuffer}, so that streams of unbounded length can be decoded in constant memory.
+ * <br><br>
+ * {@code byte}s are read from the underlying {@link InputStream} into a {@link BitBuffer} that holds a single chunk,
+ * and the chunk is refilled whenever the bits that remain in it are not enough for the next {@code get} operation.
+ * Reading beyond the end of the underlying {@link InputStream} throws an {@link EOFException}, or a
+ * {@link java.nio.BufferUnderflowException} if the stream ends in the middle of a variable-length code.
+ *
+ * @author Jacob G.
+ * @see BitOutputStream
+ */
+public final class BitInputStream extends InputStream {
+
+    /**
+     * The {@link InputStream} that is read from.
+     */
+    private final InputStream in;
+
+    /**
+     * The array that backs {@code buffer}.
+     */
+    private final byte[] chunk;
+
+    /**
+     * The {@link BitBuffer} that bits are read from, which wraps the {@code byte}s of {@code chunk} that have been
+     * read from {@code in}.
+     */
+    private BitBuffer buffer;
+
+    /**
+     * The number of {@code byte}s of {@code chunk} that have been read from {@code in}.
+     */
+    private int length;
+
+    /**
+     * Whether or not the end of {@code in} has been reached.
+     */
+    private boolean eof;
+
+    /**
+     * Creates a new {@link BitInputStream} that reads from the specified {@link InputStream} in chunks of
+     * {@link BitOutputStream#DEFAULT_CHUNK_SIZE} {@code byte}s.
+     *
+     * @param in the {@link InputStream} to read from.
+     */
+    public BitInputStream(InputStream in) {
+        this(in, BitOutputStream.DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link BitInputStream} that reads from the specified {@link InputStream} in chunks of the
+     * specified size.
+     *
+     * @param in        the {@link InputStream} to read from.
+     * @param chunkSize the size of each chunk in {@code byte}s.
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive.
+     */
+    public BitInputStream(InputStream in, int chunkSize) throws IllegalArgumentException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive!");
+        }
+
+        this.in = Objects.requireNonNull(in);
+        this.chunk = new byte[chunkSize + BitOutputStream.HEADROOM];
+        this.buffer = BitBuffer.wrap(chunk, 0, 0);
+    }
+
+    /**
+     * Reads the specified amount of bits.
+     *
+     * @param numBits the amount of bits to read, between {@code 0} and {@link Long#SIZE}.
+     * @return the bits that were read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getBits(int)
+     */
+    public long getBits(int numBits) throws IOException {
+        require(numBits);
+        return buffer.getBits(numBits);
+    }
+
+    /**
+     * Reads a {@code boolean} that was written using either a single bit or {@link Byte#SIZE} bits.
+     *
+     * @param compressed whether or not the {@code boolean} was compressed.
+     * @return the {@code boolean} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getBoolean(boolean)
+     */
+    public boolean getBoolean(boolean compressed) throws IOException {
+        require(compressed ? 1 : Byte.SIZE);
+        return buffer.getBoolean(compressed);
+    }
+
+    /**
+     * Reads a {@code byte} using {@link Byte#SIZE} bits.
+     *
+     * @return the {@code byte} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getByte()
+     */
+    public byte getByte() throws IOException {
+        require(Byte.SIZE);
+        return buffer.getByte();
+    }
+
+    /**
+     * Reads a {@code short} using {@link Short#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code short} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getShort()
+     */
+    public short getShort() throws IOException {
+        require(Short.SIZE);
+        return buffer.getShort();
+    }
+
+    /**
+     * Reads a {@code short} using {@link Short#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code short} were written.
+     * @return the {@code short} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getShort(ByteOrder)
+     */
+    public short getShort(ByteOrder order) throws IOException {
+        require(Short.SIZE);
+        return buffer.getShort(order);
+    }
+
+    /**
+     * Reads a {@code char} using {@link Character#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code char} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getChar()
+     */
+    public char getChar() throws IOException {
+        require(Character.SIZE);
+        return buffer.getChar();
+    }
+
+    /**
+     * Reads a {@code char} using {@link Character#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code char} were written.
+     * @return the {@code char} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getChar(ByteOrder)
+     */
+    public char getChar(ByteOrder order) throws IOException {
+        require(Character.SIZE);
+        return buffer.getChar(order);
+    }
+
+    /**
+     * Reads an {@code int} using {@link Integer#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code int} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getInt()
+     */
+    public int getInt() throws IOException {
+        require(Integer.SIZE);
+        return buffer.getInt();
+    }
+
+    /**
+     * Reads an {@code int} using {@link Integer#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code int} were written.
+     * @return the {@code int} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getInt(ByteOrder)
+     */
+    public int getInt(ByteOrder order) throws IOException {
+        require(Integer.SIZE);
+        return buffer.getInt(order);
+    }
+
+    /**
+     * Reads a {@code long} using {@link Long#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code long} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getLong()
+     */
+    public long getLong() throws IOException {
+        require(Long.SIZE);
+        return buffer.getLong();
+    }
+
+    /**
+     * Reads a {@code long} using {@link Long#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code long} were written.
+     * @return the {@code long} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getLong(ByteOrder)
+     */
+    public long getLong(ByteOrder order) throws IOException {
+        require(Long.SIZE);
+        return buffer.getLong(order);
+    }
+
+    /**
+     * Reads a {@code float} using {@link Float#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code float} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getFloat()
+     */
+    public float getFloat() throws IOException {
+        require(Float.SIZE);
+        return buffer.getFloat();
+    }
+
+    /**
+     * Reads a {@code float} using {@link Float#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code float} were written.
+     * @return the {@code float} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getFloat(ByteOrder)
+     */
+    public float getFloat(ByteOrder order) throws IOException {
+        require(Float.SIZE);
+        return buffer.getFloat(order);
+    }
+
+    /**
+     * Reads a {@code double} using {@link Double#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return the {@code double} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getDouble()
+     */
+    public double getDouble() throws IOException {
+        require(Double.SIZE);
+        return buffer.getDouble();
+    }
+
+    /**
+     * Reads a {@code double} using {@link Double#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code double} were written.
+     * @return the {@code double} that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getDouble(ByteOrder)
+     */
+    public double getDouble(ByteOrder order) throws IOException {
+        require(Double.SIZE);
+        return buffer.getDouble(order);
+    }
+
+    /**
+     * Reads a value that was written using the least amount of bits needed to hold any value whose magnitude is at
+     * most {@code maxValue}.
+     *
+     * @param maxValue the maximum magnitude of the value.
+     * @return the value that was read.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see BitBuffer#getValue(long)
+     */
+    public long getValue(long maxValue) throws IOException {
+        require(Long.SIZE - Long.numberOfLeadingZeros(maxValue) + 1);
+        return buffer.getValue(maxValue);
+    }
+
+    /**
+     * Reads an {@code int} that was written as a variable-length integer.
+     *
+     * @return the {@code int} that was read.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getVarInt()
+     */
+    public int getVarInt() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getVarInt();
+    }
+
+    /**
+     * Reads a {@code long} that was written as a variable-length integer.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getVarLong()
+     */
+    public long getVarLong() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getVarLong();
+    }
+
+    /**
+     * Reads a signed {@code int} that was written as a ZigZag-encoded variable-length integer.
+     *
+     * @return the {@code int} that was read.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getSignedVarInt()
+     */
+    public int getSignedVarInt() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getSignedVarInt();
+    }
+
+    /**
+     * Reads a signed {@code long} that was written as a ZigZag-encoded variable-length integer.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the variable-length integer is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getSignedVarLong()
+     */
+    public long getSignedVarLong() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getSignedVarLong();
+    }
+
+    /**
+     * Reads a {@code long} that was written using Elias gamma coding.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the code is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getEliasGamma()
+     */
+    public long getEliasGamma() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getEliasGamma();
+    }
+
+    /**
+     * Reads a {@code long} that was written using Elias delta coding.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the code is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getEliasDelta()
+     */
+    public long getEliasDelta() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getEliasDelta();
+    }
+
+    /**
+     * Reads a signed {@code long} that was written using ZigZag-encoded Elias delta coding.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the code is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getSignedEliasDelta()
+     */
+    public long getSignedEliasDelta() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getSignedEliasDelta();
+    }
+
+    /**
+     * Reads a {@code long} that was written using order-{@code 0} Exp-Golomb coding.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the code is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getExpGolomb()
+     */
+    public long getExpGolomb() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getExpGolomb();
+    }
+
+    /**
+     * Reads a {@code long} that was written using order-{@code k} Exp-Golomb coding.
+     *
+     * @param k the order of the code, between {@code 0} and {@code 63}.
+     * @return the {@code long} that was read.
+     * @throws IllegalArgumentException if {@code k} is out of range.
+     * @throws IllegalStateException    if the code is malformed.
+     * @throws IOException              if an I/O error occurs.
+     * @see BitBuffer#getExpGolomb(int)
+     */
+    public long getExpGolomb(int k) throws IllegalArgumentException, IllegalStateException, IOException {
+        prefetch();
+        return buffer.getExpGolomb(k);
+    }
+
+    /**
+     * Reads a signed {@code long} that was written using order-{@code 0} Exp-Golomb coding.
+     *
+     * @return the {@code long} that was read.
+     * @throws IllegalStateException if the code is malformed.
+     * @throws IOException           if an I/O error occurs.
+     * @see BitBuffer#getSignedExpGolomb()
+     */
+    public long getSignedExpGolomb() throws IllegalStateException, IOException {
+        prefetch();
+        return buffer.getSignedExpGolomb();
+    }
+
+    /**
+     * Reads {@code byte}s into the specified array until it is full.
+     *
+     * @param dst the array to read {@code byte}s into.
+     * @return this {@link BitInputStream} to allow for the convenience of method-chaining.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     * @see #getBytes(byte[], int, int)
+     */
+    public BitInputStream getBytes(byte[] dst) throws IOException {
+        return getBytes(dst, 0, dst.length);
+    }
+
+    /**
+     * Reads {@code length} {@code byte}s into the specified array, starting at {@code offset}, using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param dst    the array to read {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to read.
+     * @param length the number of {@code byte}s to read.
+     * @return this {@link BitInputStream} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws EOFException              if the end of the stream is reached first.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#getBytes(byte[], int, int)
+     */
+    public BitInputStream getBytes(byte[] dst, int offset, int length) throws IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(Byte.SIZE));
+            buffer.getBytes(dst, offset, batch);
+            offset += batch;
+        }
+
+        return this;
+    }
+
+    /**
+     * Reads {@code length} {@code short}s into the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code short}.
+     *
+     * @param dst          the array to read {@code short}s into.
+     * @param offset       the index in {@code dst} of the first {@code short} to read.
+     * @param length       the number of {@code short}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code short}, between {@code 0} and
+     *                     {@link Short#SIZE}.
+     * @return this {@link BitInputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws EOFException              if the end of the stream is reached first.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#getShorts(short[], int, int, int)
+     */
+    public BitInputStream getShorts(short[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.getShorts(dst, offset, batch, bitsPerValue);
+            offset += batch;
+        }
+
+        return this;
+    }
+
+    /**
+     * Reads {@code length} {@code int}s into the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code int}.
+     *
+     * @param dst          the array to read {@code int}s into.
+     * @param offset       the index in {@code dst} of the first {@code int} to read.
+     * @param length       the number of {@code int}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code int}, between {@code 0} and
+     *                     {@link Integer#SIZE}.
+     * @return this {@link BitInputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws EOFException              if the end of the stream is reached first.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#getInts(int[], int, int, int)
+     */
+    public BitInputStream getInts(int[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.getInts(dst, offset, batch, bitsPerValue);
+            offset += batch;
+        }
+
+        return this;
+    }
+
+    /**
+     * Reads {@code length} {@code long}s into the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code long}.
+     *
+     * @param dst          the array to read {@code long}s into.
+     * @param offset       the index in {@code dst} of the first {@code long} to read.
+     * @param length       the number of {@code long}s to read.
+     * @param bitsPerValue the amount of bits used for each {@code long}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitInputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws EOFException              if the end of the stream is reached first.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#getLongs(long[], int, int, int)
+     */
+    public BitInputStream getLongs(long[] dst, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.getLongs(dst, offset, batch, bitsPerValue);
+            offset += batch;
+        }
+
+        return this;
+    }
+
+    /**
+     * Reads a {@code byte} using {@link Byte#SIZE} bits.
+     *
+     * @return the {@code byte} that was read as an unsigned value, or {@code -1} if the end of the stream has been
+     * reached.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public int read() throws IOException {
+        return fill(Byte.SIZE) ? buffer.getByte() & 0xFF : -1;
+    }
+
+    /**
+     * Reads up to {@code length} {@code byte}s into the specified array, starting at {@code offset}, using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param b      the array to read {@code byte}s into.
+     * @param offset the index in {@code b} of the first {@code byte} to read.
+     * @param length the maximum number of {@code byte}s to read.
+     * @return the number of {@code byte}s that were read, or {@code -1} if the end of the stream has been reached.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public int read(byte[] b, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, b.length);
+
+        if (length == 0) {
+            return 0;
+        }
+
+        if (!fill(Byte.SIZE)) {
+            return -1;
+        }
+
+        int read = (int) Math.min(length, availableBits() / Byte.SIZE);
+        buffer.getBytes(b, offset, read);
+        return read;
+    }
+
+    /**
+     * Gets the number of whole {@code byte}s that can be read without blocking, which are those that remain in the
+     * current chunk.
+     *
+     * @return the number of {@code byte}s that can be read without blocking.
+     */
+    @Override
+    public int available() {
+        return (int) (availableBits() / Byte.SIZE);
+    }
+
+    /**
+     * Closes the underlying {@link InputStream}.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Gets the number of bits that remain in the current chunk.
+     *
+     * @return the number of bits that remain.
+     */
+    private long availableBits() {
+        return (long) length * Byte.SIZE - buffer.bitPosition();
+    }
+
+    /**
+     * Gets the maximum amount of values that can be read from the current chunk by a single bulk operation, refilling
+     * it first if it does not contain a single value.
+     *
+     * @param bitsPerValue the amount of bits used for each value.
+     * @return the maximum amount of values, which is at least one.
+     * @throws EOFException if the end of the stream is reached before a single value.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private int batchSize(int bitsPerValue) throws IOException {
+        if (bitsPerValue <= 0 || bitsPerValue > Long.SIZE) {
+            return Integer.MAX_VALUE;
+        }
+
+        require(bitsPerValue);
+        return (int) Math.min(Integer.MAX_VALUE, availableBits() / bitsPerValue);
+    }
+
+    /**
+     * Ensures that the current chunk contains at least the specified amount of bits.
+     *
+     * @param numBits the amount of bits.
+     * @throws EOFException if the end of the stream is reached first.
+     * @throws IOException  if an I/O error occurs.
+     */
+    private void require(int numBits) throws IOException {
+        if (!fill(numBits)) {
+            throw new EOFException();
+        }
+    }
+
+    /**
+     * Ensures that the current chunk contains enough bits for the longest variable-length code, unless the end of the
+     * stream is reached first.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void prefetch() throws IOException {
+        fill(BitOutputStream.HEADROOM * Byte.SIZE);
+    }
+
+    /**
+     * Refills the current chunk until it contains at least the specified amount of bits, or until the end of the
+     * stream is reached.
+     *
+     * @param numBits the amount of bits.
+     * @return {@code true} if the current chunk contains at least {@code numBits} bits.
+     * @throws IOException if an I/O error occurs.
+     */
+    private boolean fill(int numBits) throws IOException {
+        while (availableBits() < numBits) {
+            if (eof) {
+                return false;
+            }
+
+            refill();
+        }
+
+        return true;
+    }
+
+    /**
+     * Moves the {@code byte}s that remain in the current chunk to the start of {@code chunk}, and reads as many
+     * {@code byte}s from the underlying {@link InputStream} as fit after them.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void refill() throws IOException {
+        long bitPosition = buffer.bitPosition();
+        int start = (int) (bitPosition / Byte.SIZE);
+        length -= start;
+        System.arraycopy(chunk, start, chunk, 0, length);
+
+        int read = in.read(chunk, length, chunk.length - length);
+
+        if (read < 0) {
+            eof = true;
+        } else {
+            length += read;
+        }
+
+        buffer = BitBuffer.wrap(chunk, 0, length).bitPosition(bitPosition % Byte.SIZE);
+    }
+
+}
@@ -0,0 +1,678 @@
+package bitbuffer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * An {@link OutputStream} that writes bits to another {@link OutputStream}, using the same encodings as
+ * {@link BitBuffer}, so that streams of unbounded length can be encoded in constant memory.
+ * <br><br>
+ * Bits are written to a {@link BitBuffer} that holds a single chunk. Once the chunk is full, its complete
+ * {@code byte}s are written to the underlying {@link OutputStream} at once, and the bits of the final, partially
+ * written {@code byte} are carried over to the next chunk. Closing the stream writes that final {@code byte}, padded
+ * with zeros.
+ * <br><br>
+ * The stream must be read with a {@link BitInputStream}. Golomb-Rice codes, whose length is unbounded, are not
+ * supported.
+ *
+ * @author Jacob G.
+ * @see BitInputStream
+ */
+public final class BitOutputStream extends OutputStream {
+
+    /**
+     * The default size of each chunk in {@code byte}s.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+    /**
+     * The amount of {@code byte}s that are reserved beyond each chunk, which is enough to hold the longest code that a
+     * single {@code put} operation can write.
+     */
+    static final int HEADROOM = 32;
+
+    /**
+     * The {@link OutputStream} that is written to.
+     */
+    private final OutputStream out;
+
+    /**
+     * The array that backs {@code buffer}.
+     */
+    private final byte[] chunk;
+
+    /**
+     * The size of each chunk in {@code byte}s.
+     */
+    private final int chunkSize;
+
+    /**
+     * The {@link BitBuffer} that bits are written to before they are written to {@code out}.
+     */
+    private final BitBuffer buffer;
+
+    /**
+     * Creates a new {@link BitOutputStream} that writes to the specified {@link OutputStream} in chunks of
+     * {@link #DEFAULT_CHUNK_SIZE} {@code byte}s.
+     *
+     * @param out the {@link OutputStream} to write to.
+     */
+    public BitOutputStream(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a new {@link BitOutputStream} that writes to the specified {@link OutputStream} in chunks of the
+     * specified size.
+     *
+     * @param out       the {@link OutputStream} to write to.
+     * @param chunkSize the size of each chunk in {@code byte}s.
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive.
+     */
+    public BitOutputStream(OutputStream out, int chunkSize) throws IllegalArgumentException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive!");
+        }
+
+        this.out = Objects.requireNonNull(out);
+        this.chunk = new byte[chunkSize + HEADROOM];
+        this.chunkSize = chunkSize;
+        this.buffer = BitBuffer.wrap(chunk).clear();
+    }
+
+    /**
+     * Writes the specified amount of bits.
+     *
+     * @param value   the bits to write.
+     * @param numBits the amount of bits to write, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putBits(long, int)
+     */
+    public BitOutputStream putBits(long value, int numBits) throws IOException {
+        buffer.putBits(value, numBits);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code boolean} using either a single bit or {@link Byte#SIZE} bits.
+     *
+     * @param b          the {@code boolean} to write.
+     * @param compressed whether or not the {@code boolean} should be compressed.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putBoolean(boolean, boolean)
+     */
+    public BitOutputStream putBoolean(boolean b, boolean compressed) throws IOException {
+        buffer.putBoolean(b, compressed);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code byte} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putByte(int)
+     */
+    public BitOutputStream putByte(int b) throws IOException {
+        buffer.putByte(b);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code short} using {@link Short#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param s the {@code short} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putShort(int)
+     */
+    public BitOutputStream putShort(int s) throws IOException {
+        buffer.putShort(s);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code short} using {@link Short#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param s     the {@code short} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code short}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putShort(int, ByteOrder)
+     */
+    public BitOutputStream putShort(int s, ByteOrder order) throws IOException {
+        buffer.putShort(s, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code char} using {@link Character#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param c the {@code char} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putChar(char)
+     */
+    public BitOutputStream putChar(char c) throws IOException {
+        buffer.putChar(c);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code char} using {@link Character#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param c     the {@code char} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code char}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putChar(char, ByteOrder)
+     */
+    public BitOutputStream putChar(char c, ByteOrder order) throws IOException {
+        buffer.putChar(c, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes an {@code int} using {@link Integer#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putInt(int)
+     */
+    public BitOutputStream putInt(int i) throws IOException {
+        buffer.putInt(i);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes an {@code int} using {@link Integer#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param i     the {@code int} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code int}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putInt(int, ByteOrder)
+     */
+    public BitOutputStream putInt(int i, ByteOrder order) throws IOException {
+        buffer.putInt(i, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using {@link Long#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putLong(long)
+     */
+    public BitOutputStream putLong(long l) throws IOException {
+        buffer.putLong(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using {@link Long#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param l     the {@code long} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code long}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putLong(long, ByteOrder)
+     */
+    public BitOutputStream putLong(long l, ByteOrder order) throws IOException {
+        buffer.putLong(l, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code float} using {@link Float#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param f the {@code float} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putFloat(float)
+     */
+    public BitOutputStream putFloat(float f) throws IOException {
+        buffer.putFloat(f);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code float} using {@link Float#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param f     the {@code float} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code float}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putFloat(float, ByteOrder)
+     */
+    public BitOutputStream putFloat(float f, ByteOrder order) throws IOException {
+        buffer.putFloat(f, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code double} using {@link Double#SIZE} bits with {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param d the {@code double} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putDouble(double)
+     */
+    public BitOutputStream putDouble(double d) throws IOException {
+        buffer.putDouble(d);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code double} using {@link Double#SIZE} bits with the specified {@link ByteOrder}.
+     *
+     * @param d     the {@code double} to write.
+     * @param order the order in which to write the {@code byte}s of the {@code double}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putDouble(double, ByteOrder)
+     */
+    public BitOutputStream putDouble(double d, ByteOrder order) throws IOException {
+        buffer.putDouble(d, order);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a value using the least amount of bits needed to hold any value whose magnitude is at most
+     * {@code maxValue}.
+     *
+     * @param value    the value to write.
+     * @param maxValue the maximum magnitude of the value.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code maxValue} is negative, or if {@code value} exceeds it.
+     * @throws IOException              if an I/O error occurs.
+     * @see BitBuffer#putValue(long, long)
+     */
+    public BitOutputStream putValue(long value, long maxValue) throws IllegalArgumentException, IOException {
+        buffer.putValue(value, maxValue);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes an {@code int} as a variable-length integer.
+     *
+     * @param i the {@code int} to write, which is interpreted as unsigned.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putVarInt(int)
+     */
+    public BitOutputStream putVarInt(int i) throws IOException {
+        buffer.putVarInt(i);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} as a variable-length integer.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putVarLong(long)
+     */
+    public BitOutputStream putVarLong(long l) throws IOException {
+        buffer.putVarLong(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a signed {@code int} as a ZigZag-encoded variable-length integer.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putSignedVarInt(int)
+     */
+    public BitOutputStream putSignedVarInt(int i) throws IOException {
+        buffer.putSignedVarInt(i);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a signed {@code long} as a ZigZag-encoded variable-length integer.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putSignedVarLong(long)
+     */
+    public BitOutputStream putSignedVarLong(long l) throws IOException {
+        buffer.putSignedVarLong(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using Elias gamma coding.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code l} is {@code 0}.
+     * @throws IOException              if an I/O error occurs.
+     * @see BitBuffer#putEliasGamma(long)
+     */
+    public BitOutputStream putEliasGamma(long l) throws IllegalArgumentException, IOException {
+        buffer.putEliasGamma(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using Elias delta coding.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code l} is {@code 0}.
+     * @throws IOException              if an I/O error occurs.
+     * @see BitBuffer#putEliasDelta(long)
+     */
+    public BitOutputStream putEliasDelta(long l) throws IllegalArgumentException, IOException {
+        buffer.putEliasDelta(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a signed {@code long} using ZigZag-encoded Elias delta coding.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putSignedEliasDelta(long)
+     */
+    public BitOutputStream putSignedEliasDelta(long l) throws IOException {
+        buffer.putSignedEliasDelta(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using order-{@code 0} Exp-Golomb coding.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putExpGolomb(long)
+     */
+    public BitOutputStream putExpGolomb(long l) throws IOException {
+        buffer.putExpGolomb(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a {@code long} using order-{@code k} Exp-Golomb coding.
+     *
+     * @param l the {@code long} to write, which is interpreted as unsigned.
+     * @param k the order of the code, between {@code 0} and {@code 63}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code k} is out of range.
+     * @throws IOException              if an I/O error occurs.
+     * @see BitBuffer#putExpGolomb(long, int)
+     */
+    public BitOutputStream putExpGolomb(long l, int k) throws IllegalArgumentException, IOException {
+        buffer.putExpGolomb(l, k);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes a signed {@code long} using order-{@code 0} Exp-Golomb coding.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see BitBuffer#putSignedExpGolomb(long)
+     */
+    public BitOutputStream putSignedExpGolomb(long l) throws IOException {
+        buffer.putSignedExpGolomb(l);
+        return drainIfFull();
+    }
+
+    /**
+     * Writes every {@code byte} of the specified array using {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param src the array of {@code byte}s to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     * @see #putBytes(byte[], int, int)
+     */
+    public BitOutputStream putBytes(byte[] src) throws IOException {
+        return putBytes(src, 0, src.length);
+    }
+
+    /**
+     * Writes {@code length} {@code byte}s from the specified array, starting at {@code offset}, using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param src    the array of {@code byte}s to write.
+     * @param offset the index of the first {@code byte} in {@code src} to write.
+     * @param length the number of {@code byte}s to write.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#putBytes(byte[], int, int)
+     */
+    public BitOutputStream putBytes(byte[] src, int offset, int length) throws IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, freeBytes());
+            buffer.putBytes(src, offset, batch);
+            offset += batch;
+            drainIfFull();
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes {@code length} {@code short}s from the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code short}.
+     *
+     * @param src          the array of {@code short}s to write.
+     * @param offset       the index of the first {@code short} in {@code src} to write.
+     * @param length       the number of {@code short}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code short}, between {@code 0} and
+     *                     {@link Short#SIZE}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#putShorts(short[], int, int, int)
+     */
+    public BitOutputStream putShorts(short[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.putShorts(src, offset, batch, bitsPerValue);
+            offset += batch;
+            drainIfFull();
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes {@code length} {@code int}s from the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code int}.
+     *
+     * @param src          the array of {@code int}s to write.
+     * @param offset       the index of the first {@code int} in {@code src} to write.
+     * @param length       the number of {@code int}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code int}, between {@code 0} and
+     *                     {@link Integer#SIZE}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#putInts(int[], int, int, int)
+     */
+    public BitOutputStream putInts(int[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.putInts(src, offset, batch, bitsPerValue);
+            offset += batch;
+            drainIfFull();
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes {@code length} {@code long}s from the specified array, starting at {@code offset}, using
+     * {@code bitsPerValue} bits for each {@code long}.
+     *
+     * @param src          the array of {@code long}s to write.
+     * @param offset       the index of the first {@code long} in {@code src} to write.
+     * @param length       the number of {@code long}s to write.
+     * @param bitsPerValue the amount of bits to use for each {@code long}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException  if {@code bitsPerValue} is out of range.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     * @throws IOException               if an I/O error occurs.
+     * @see BitBuffer#putLongs(long[], int, int, int)
+     */
+    public BitOutputStream putLongs(long[] src, int offset, int length, int bitsPerValue)
+            throws IllegalArgumentException, IndexOutOfBoundsException, IOException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        for (int end = offset + length; offset < end; ) {
+            int batch = Math.min(end - offset, batchSize(bitsPerValue));
+            buffer.putLongs(src, offset, batch, bitsPerValue);
+            offset += batch;
+            drainIfFull();
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes a {@code byte} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void write(int b) throws IOException {
+        putByte(b);
+    }
+
+    /**
+     * Writes {@code length} {@code byte}s from the specified array, starting at {@code offset}, using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param b      the array of {@code byte}s to write.
+     * @param offset the index of the first {@code byte} in {@code b} to write.
+     * @param length the number of {@code byte}s to write.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void write(byte[] b, int offset, int length) throws IOException {
+        putBytes(b, offset, length);
+    }
+
+    /**
+     * Writes every complete {@code byte} to the underlying {@link OutputStream} and flushes it.
+     * <br><br>
+     * The bits of a partially-written {@code byte} are only written once it is complete, or once this stream is
+     * closed.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * Writes every remaining bit to the underlying {@link OutputStream}, padding the final {@code byte} with zeros,
+     * and closes it.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+
+            if (buffer.bitPosition() != 0) {
+                buffer.toByteBuffer();
+                out.write(chunk, 0, 1);
+                buffer.clear();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Gets the amount of whole {@code byte}s that can be written before the current chunk is full, which is at least
+     * one.
+     *
+     * @return the amount of whole {@code byte}s that can be written.
+     */
+    private int freeBytes() {
+        return Math.max(1, chunkSize - (int) (buffer.bitPosition() / Byte.SIZE));
+    }
+
+    /**
+     * Gets the maximum amount of values that can be written to the current chunk by a single bulk operation.
+     *
+     * @param bitsPerValue the amount of bits used for each value.
+     * @return the maximum amount of values, which is at least one.
+     */
+    private int batchSize(int bitsPerValue) {
+        return bitsPerValue == 0 ? Integer.MAX_VALUE : Math.max(1, freeBytes() * Byte.SIZE / bitsPerValue);
+    }
+
+    /**
+     * Writes the complete {@code byte}s of the current chunk to the underlying {@link OutputStream} if it is full.
+     *
+     * @return this {@link BitOutputStream} to allow for the convenience of method-chaining.
+     * @throws IOException if an I/O error occurs.
+     */
+    private BitOutputStream drainIfFull() throws IOException {
+        if (buffer.bitPosition() >= (long) chunkSize * Byte.SIZE) {
+            drain();
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes the complete {@code byte}s of the current chunk to the underlying {@link OutputStream}, and carries the
+     * bits of the final, partially-written {@code byte} over to the start of the next chunk.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void drain() throws IOException {
+        long bitPosition = buffer.bitPosition();
+        int bytes = (int) (bitPosition / Byte.SIZE);
+        int remainder = (int) (bitPosition % Byte.SIZE);
+
+        if (bytes == 0) {
+            return;
+        }
+
+        long partial = buffer.getBits((long) bytes * Byte.SIZE, remainder);
+
+        // Put the cache into the backing array so that every complete byte can be written at once.
+        buffer.toByteBuffer();
+        out.write(chunk, 0, bytes);
+        buffer.clear().putBits(partial, remainder);
+    }
+
+}
@@ -0,0 +1,103 @@
+package bitbuffer;
+
+import java.util.Objects;
+
+/**
+ * Decompresses a stream of {@code double}s that was written to a {@link BitBuffer} by a {@link DoubleStreamEncoder}.
+ *
+ * @author Jacob G.
+ * @see DoubleStreamEncoder
+ */
+public final class DoubleStreamDecoder {
+
+    /**
+     * The {@link BitBuffer} that is read from.
+     */
+    private final BitBuffer buffer;
+
+    /**
+     * The raw bits of the previous {@code double}.
+     */
+    private long previous;
+
+    /**
+     * The amount of meaningful bits of the current window.
+     */
+    private int meaningfulBits;
+
+    /**
+     * The amount of trailing zeros of the current window.
+     */
+    private int trailingZeros;
+
+    /**
+     * Whether or not the next {@code double} is the first of the stream.
+     */
+    private boolean first = true;
+
+    /**
+     * Creates a new {@link DoubleStreamDecoder} that reads from the specified {@link BitBuffer}.
+     *
+     * @param buffer the {@link BitBuffer} to read from, which must already be flipped.
+     */
+    public DoubleStreamDecoder(BitBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer);
+    }
+
+    /**
+     * Decodes the next {@code double} of the stream.
+     *
+     * @return A {@code double}.
+     * @throws IllegalStateException if the stream is malformed.
+     */
+    public double decode() throws IllegalStateException {
+        if (first) {
+            first = false;
+            previous = buffer.getBits(Long.SIZE);
+            return Double.longBitsToDouble(previous);
+        }
+
+        if (buffer.getBits(1) == 0) {
+            return Double.longBitsToDouble(previous);
+        }
+
+        if (buffer.getBits(1) == 1) {
+            int header = (int) buffer.getBits(DoubleStreamEncoder.WINDOW_HEADER_BITS - 2);
+            int leadingZeros = header & DoubleStreamEncoder.MAX_LEADING_ZEROS;
+            meaningfulBits = (header >>> 5) + 1;
+            trailingZeros = Long.SIZE - leadingZeros - meaningfulBits;
+
+            if (trailingZeros < 0) {
+                throw new IllegalStateException("Malformed window of meaningful bits!");
+            }
+        } else if (meaningfulBits == 0) {
+            throw new IllegalStateException("No window of meaningful bits to reuse!");
+        }
+
+        previous ^= buffer.getBits(meaningfulBits) << trailingZeros;
+        return Double.longBitsToDouble(previous);
+    }
+
+    /**
+     * Decodes the next {@code length} {@code double}s of the stream into the specified array, starting at
+     * {@code offset}.
+     *
+     * @param dst    the array to decode {@code double}s into.
+     * @param offset the index in {@code dst} of the first {@code double} to decode.
+     * @param length the number of {@code double}s to decode.
+     * @return this {@link DoubleStreamDecoder} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     * @throws IllegalStateException     if the stream is malformed.
+     */
+    public DoubleStreamDecoder decode(double[] dst, int offset, int length)
+            throws IndexOutOfBoundsException, IllegalStateException {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dst[i] = decode();
+        }
+
+        return this;
+    }
+
+}
@@ -0,0 +1,151 @@
+package bitbuffer;
+
+import java.util.Objects;
+
+/**
+ * Compresses a stream of {@code double}s into a {@link BitBuffer} using the XOR encoding described in
+ * <i>Gorilla: A Fast, Scalable, In-Memory Time Series Database</i> (Pelkonen et al., 2015).
+ * <br><br>
+ * The first {@code double} is written using {@link Double#SIZE} bits. Each subsequent {@code double} is XOR'd with
+ * the previous one, and:
+ * <ul>
+ *     <li>if the result is zero, a single {@code 0} bit is written.</li>
+ *     <li>if the meaningful (non-zero) bits of the result fit within the window of meaningful bits of the previous
+ *     result, the bits {@code 1, 0} are written, followed by the contents of that window.</li>
+ *     <li>otherwise, the bits {@code 1, 1} are written, followed by the amount of leading zeros in {@code 5} bits, the
+ *     amount of meaningful bits (minus one) in {@code 6} bits, and the meaningful bits themselves.</li>
+ * </ul>
+ * Slowly-changing series, such as metric samples, typically compress to less than two {@code byte}s per value.
+ * <br><br>
+ * The stream must be read with a {@link DoubleStreamDecoder}, which must decode exactly as many {@code double}s as
+ * were encoded.
+ *
+ * @author Jacob G.
+ * @see DoubleStreamDecoder
+ */
+public final class DoubleStreamEncoder {
+
+    /**
+     * The maximum amount of leading zeros that can be written, which is limited by the {@code 5} bits used to write
+     * them.
+     */
+    static final int MAX_LEADING_ZEROS = 31;
+
+    /**
+     * The amount of bits used to write the header of a new window: two control bits, {@code 5} bits for the amount
+     * of leading zeros, and {@code 6} bits for the amount of meaningful bits.
+     */
+    static final int WINDOW_HEADER_BITS = 13;
+
+    /**
+     * The {@link BitBuffer} that is written to.
+     */
+    private final BitBuffer buffer;
+
+    /**
+     * The raw bits of the previous {@code double}.
+     */
+    private long previous;
+
+    /**
+     * The amount of leading zeros of the current window.
+     */
+    private int leadingZeros = Long.SIZE;
+
+    /**
+     * The amount of trailing zeros of the current window.
+     */
+    private int trailingZeros;
+
+    /**
+     * Whether or not the next {@code double} is the first of the stream.
+     */
+    private boolean first = true;
+
+    /**
+     * Creates a new {@link DoubleStreamEncoder} that writes to the specified {@link BitBuffer}.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     */
+    public DoubleStreamEncoder(BitBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer);
+    }
+
+    /**
+     * Encodes the next {@code double} of the stream.
+     *
+     * @param d the {@code double} to encode.
+     * @return this {@link DoubleStreamEncoder} to allow for the convenience of method-chaining.
+     */
+    public DoubleStreamEncoder encode(double d) {
+        long bits = Double.doubleToRawLongBits(d);
+
+        if (first) {
+            first = false;
+            previous = bits;
+            buffer.putBits(bits, Long.SIZE);
+            return this;
+        }
+
+        long xor = bits ^ previous;
+        previous = bits;
+
+        if (xor == 0) {
+            buffer.putBits(0, 1);
+            return this;
+        }
+
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+        int trailing = Long.numberOfTrailingZeros(xor);
+
+        if (leading >= leadingZeros && trailing >= trailingZeros) {
+            // The control bits are written first, so they occupy the least significant bits of the value.
+            int meaningfulBits = Long.SIZE - leadingZeros - trailingZeros;
+            long meaningful = xor >>> trailingZeros;
+
+            if (meaningfulBits <= Long.SIZE - 2) {
+                buffer.putBits(meaningful << 2 | 0b01, meaningfulBits + 2);
+            } else {
+                buffer.putBits(0b01, 2).putBits(meaningful, meaningfulBits);
+            }
+
+            return this;
+        }
+
+        leadingZeros = leading;
+        trailingZeros = trailing;
+
+        int meaningfulBits = Long.SIZE - leading - trailing;
+        long meaningful = xor >>> trailing;
+        long header = 0b11 | leading << 2 | (meaningfulBits - 1) << 7;
+
+        if (meaningfulBits <= Long.SIZE - WINDOW_HEADER_BITS) {
+            buffer.putBits(meaningful << WINDOW_HEADER_BITS | header, meaningfulBits + WINDOW_HEADER_BITS);
+        } else {
+            buffer.putBits(header, WINDOW_HEADER_BITS).putBits(meaningful, meaningfulBits);
+        }
+
+        return this;
+    }
+
+    /**
+     * Encodes {@code length} {@code double}s from the specified array, starting at {@code offset}, as the next
+     * {@code double}s of the stream.
+     *
+     * @param src    the array of {@code double}s to encode.
+     * @param offset the index of the first {@code double} in {@code src} to encode.
+     * @param length the number of {@code double}s to encode.
+     * @return this {@link DoubleStreamEncoder} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public DoubleStreamEncoder encode(double[] src, int offset, int length) throws IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        for (int i = offset, end = offset + length; i < end; i++) {
+            encode(src[i]);
+        }
+
+        return this;
+    }
+
+}
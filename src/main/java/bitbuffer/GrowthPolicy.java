@@ -0,0 +1,83 @@
+package bitbuffer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Determines how the backing {@link ByteBuffer} of an elastic {@link BitBuffer} grows when a write would otherwise
+ * overflow it.
+ *
+ * @author Jacob G.
+ * @see BitBuffer#allocate(int, GrowthPolicy)
+ * @see BitBuffer#allocateDirect(int, GrowthPolicy)
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Computes the new capacity of a backing {@link ByteBuffer} that must hold at least {@code minimumCapacity}
+     * {@code byte}s.
+     *
+     * @param capacity        the current capacity of the backing {@link ByteBuffer} in {@code byte}s.
+     * @param minimumCapacity the capacity required to complete the pending write in {@code byte}s.
+     * @return the new capacity in {@code byte}s, which must be at least {@code minimumCapacity}.
+     * @throws BufferOverflowException if the backing {@link ByteBuffer} is not allowed to grow to
+     * {@code minimumCapacity}.
+     */
+    int grow(int capacity, int minimumCapacity) throws BufferOverflowException;
+
+    /**
+     * Gets a {@link GrowthPolicy} that doubles the capacity of the backing {@link ByteBuffer} every time it grows, up
+     * to the largest capacity that a {@link BitBuffer} supports.
+     *
+     * @return a {@link GrowthPolicy}.
+     */
+    static GrowthPolicy doubling() {
+        return (capacity, minimumCapacity) -> (int) Math.min(Math.max(2L * capacity, minimumCapacity),
+                BitBuffer.MAX_CAPACITY);
+    }
+
+    /**
+     * Gets a {@link GrowthPolicy} that grows the backing {@link ByteBuffer} by a fixed amount of {@code byte}s at a
+     * time, which keeps memory usage proportional to the amount of data written, up to the largest capacity that a
+     * {@link BitBuffer} supports.
+     *
+     * @param chunkSize the amount of {@code byte}s to grow by.
+     * @return a {@link GrowthPolicy}.
+     * @throws IllegalArgumentException if {@code chunkSize} is not positive.
+     */
+    static GrowthPolicy chunked(int chunkSize) throws IllegalArgumentException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive!");
+        }
+
+        return (capacity, minimumCapacity) -> {
+            long chunks = ((long) minimumCapacity - capacity + chunkSize - 1) / chunkSize;
+            return (int) Math.min(capacity + chunks * chunkSize, BitBuffer.MAX_CAPACITY);
+        };
+    }
+
+    /**
+     * Gets a {@link GrowthPolicy} that grows according to {@code policy}, but never beyond {@code maxCapacity}.
+     *
+     * @param policy      the {@link GrowthPolicy} to cap.
+     * @param maxCapacity the maximum capacity of the backing {@link ByteBuffer} in {@code byte}s.
+     * @return a {@link GrowthPolicy} that throws a {@link BufferOverflowException} once a write requires more than
+     * {@code maxCapacity} {@code byte}s.
+     * @throws IllegalArgumentException if {@code maxCapacity} is negative.
+     */
+    static GrowthPolicy capped(GrowthPolicy policy, int maxCapacity) throws IllegalArgumentException {
+        if (maxCapacity < 0) {
+            throw new IllegalArgumentException("maxCapacity must be positive!");
+        }
+
+        return (capacity, minimumCapacity) -> {
+            if (minimumCapacity > maxCapacity) {
+                throw new BufferOverflowException();
+            }
+
+            return Math.min(policy.grow(capacity, minimumCapacity), maxCapacity);
+        };
+    }
+
+}
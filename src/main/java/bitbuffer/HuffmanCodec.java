@@ -0,0 +1,509 @@
+package bitbuffer;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * A codec that compresses arrays of {@code byte}s with a canonical Huffman code, which suits small payloads, such as
+ * chat messages, whose statistics are known in advance and for which the headers of general-purpose formats would
+ * dominate.
+ * <br><br>
+ * A {@link HuffmanCodec} is built from the frequency of each {@code byte}, either given directly or counted from
+ * sample data, and its code lengths are limited to {@link #MAX_CODE_LENGTH} bits. Because the code is canonical, it
+ * is fully described by those code lengths, which {@link #writeTable(BitBuffer)} serializes in a few dozen
+ * {@code byte}s so that the encoder and the decoder can share it.
+ * <br><br>
+ * Codes are written with {@link BitBuffer#putBits(long, int)} and decoded with a single table lookup per
+ * {@code byte}, which indexes a table of {@code 1 << MAX_CODE_LENGTH} entries with the result of
+ * {@link BitBuffer#peekBits(int)}.
+ *
+ * @author Jacob G.
+ */
+public final class HuffmanCodec {
+
+    /**
+     * The maximum length of a code in bits.
+     */
+    public static final int MAX_CODE_LENGTH = 12;
+
+    /**
+     * The amount of symbols, which is one for every possible value of a {@code byte}.
+     */
+    private static final int NUM_SYMBOLS = 1 << Byte.SIZE;
+
+    /**
+     * The amount of bits used to write the length of a code when serializing the table.
+     */
+    private static final int LENGTH_BITS = 4;
+
+    /**
+     * The amount of low bits of an entry of {@code codes} or {@code table} that hold the length of a code.
+     */
+    private static final int ENTRY_LENGTH_BITS = 4;
+
+    /**
+     * The amount of codes that are decoded from each call to {@link BitBuffer#peekBits(int)}, which is as many as
+     * fit within the bits that it guarantees.
+     */
+    private static final int CODES_PER_PEEK = 4;
+
+    /**
+     * The length of the code of each symbol in bits, or {@code 0} if the symbol cannot be encoded.
+     */
+    private final byte[] lengths;
+
+    /**
+     * The code of each symbol, with its bits reversed so that it can be written least significant bit first, shifted
+     * left by {@link #ENTRY_LENGTH_BITS} and combined with its length.
+     */
+    private final int[] codes;
+
+    /**
+     * The decoding table, which maps the next {@link #MAX_CODE_LENGTH} bits to the symbol whose code they start with,
+     * shifted left by {@link #ENTRY_LENGTH_BITS} and combined with the length of its code, or to {@code 0} if no code
+     * matches them.
+     */
+    private final int[] table;
+
+    /**
+     * A private constructor.
+     *
+     * @param lengths the length of the code of each symbol in bits.
+     * @throws IllegalStateException if the code lengths do not form a prefix code, or no symbol has a code.
+     */
+    private HuffmanCodec(byte[] lengths) throws IllegalStateException {
+        this.lengths = lengths;
+        this.codes = new int[NUM_SYMBOLS];
+        this.table = new int[1 << MAX_CODE_LENGTH];
+
+        var lengthCounts = new int[MAX_CODE_LENGTH + 1];
+
+        for (byte length : lengths) {
+            lengthCounts[length]++;
+        }
+
+        if (lengthCounts[0] == NUM_SYMBOLS) {
+            throw new IllegalStateException("Malformed Huffman table!");
+        }
+
+        // Symbols without a code do not occupy any of the code space.
+        lengthCounts[0] = 0;
+
+        // Compute the first canonical code of each length, and reject code lengths that oversubscribe the code space.
+        var nextCodes = new int[MAX_CODE_LENGTH + 1];
+        int code = 0;
+
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            code = (code + lengthCounts[length - 1]) << 1;
+            nextCodes[length] = code;
+
+            if (code + lengthCounts[length] > 1 << length) {
+                throw new IllegalStateException("Malformed Huffman table!");
+            }
+        }
+
+        for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+            int length = lengths[symbol];
+
+            if (length == 0) {
+                continue;
+            }
+
+            int reversed = Integer.reverse(nextCodes[length]++) >>> (Integer.SIZE - length);
+            int entry = symbol << ENTRY_LENGTH_BITS | length;
+            codes[symbol] = reversed << ENTRY_LENGTH_BITS | length;
+
+            // Every index whose low bits are the code maps to the symbol, regardless of the bits that follow it.
+            for (int i = reversed; i < table.length; i += 1 << length) {
+                table[i] = entry;
+            }
+        }
+    }
+
+    /**
+     * Creates a {@link HuffmanCodec} from the frequency of each {@code byte}, where {@code frequencies[i]} is the
+     * frequency of the {@code byte} with the unsigned value {@code i}.
+     * <br><br>
+     * Only {@code byte}s with a positive frequency can be encoded.
+     *
+     * @param frequencies the frequency of each {@code byte}, with at most {@code 256} elements.
+     * @return a {@link HuffmanCodec}.
+     * @throws IllegalArgumentException if {@code frequencies} has more than {@code 256} elements, contains a negative
+     * frequency, or does not contain any positive frequency.
+     */
+    public static HuffmanCodec fromFrequencies(long[] frequencies) throws IllegalArgumentException {
+        if (frequencies.length > NUM_SYMBOLS) {
+            throw new IllegalArgumentException("frequencies must not have more than " + NUM_SYMBOLS + " elements!");
+        }
+
+        int numSymbols = 0;
+
+        for (long frequency : frequencies) {
+            if (frequency < 0) {
+                throw new IllegalArgumentException("frequencies must be positive!");
+            }
+
+            if (frequency > 0) {
+                numSymbols++;
+            }
+        }
+
+        if (numSymbols == 0) {
+            throw new IllegalArgumentException("frequencies must contain a positive frequency!");
+        }
+
+        return new HuffmanCodec(codeLengths(frequencies, numSymbols));
+    }
+
+    /**
+     * Creates a {@link HuffmanCodec} from the frequency of each {@code byte} within the specified sample data.
+     * <br><br>
+     * Only {@code byte}s that occur in the sample data can be encoded; see {@link #fromFrequencies(long[])} for
+     * assigning codes to other {@code byte}s as well.
+     *
+     * @param sample the sample data.
+     * @return a {@link HuffmanCodec}.
+     * @throws IllegalArgumentException if {@code sample} is empty.
+     */
+    public static HuffmanCodec fromSample(byte[] sample) throws IllegalArgumentException {
+        return fromSample(sample, 0, sample.length);
+    }
+
+    /**
+     * Creates a {@link HuffmanCodec} from the frequency of each {@code byte} within {@code length} {@code byte}s of
+     * the specified sample data, starting at {@code offset}.
+     *
+     * @param sample the sample data.
+     * @param offset the index of the first {@code byte} in {@code sample} to count.
+     * @param length the number of {@code byte}s to count.
+     * @return a {@link HuffmanCodec}.
+     * @throws IllegalArgumentException  if {@code length} is {@code 0}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code sample}.
+     */
+    public static HuffmanCodec fromSample(byte[] sample, int offset, int length)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, sample.length);
+
+        var frequencies = new long[NUM_SYMBOLS];
+
+        for (int i = offset; i < offset + length; i++) {
+            frequencies[sample[i] & 0xFF]++;
+        }
+
+        return fromFrequencies(frequencies);
+    }
+
+    /**
+     * Reads a {@link HuffmanCodec} that was serialized by {@link #writeTable(BitBuffer)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @return a {@link HuffmanCodec}.
+     * @throws IllegalStateException if the serialized table is malformed.
+     */
+    public static HuffmanCodec readTable(BitBuffer buffer) throws IllegalStateException {
+        var lengths = new byte[NUM_SYMBOLS];
+
+        for (int symbol = 0; symbol < NUM_SYMBOLS; ) {
+            int length = (int) buffer.getBits(LENGTH_BITS);
+
+            if (length > MAX_CODE_LENGTH) {
+                throw new IllegalStateException("Malformed Huffman table!");
+            }
+
+            if (length != 0) {
+                lengths[symbol++] = (byte) length;
+                continue;
+            }
+
+            long run = buffer.getExpGolomb() + 1;
+
+            if (run <= 0 || run > NUM_SYMBOLS - symbol) {
+                throw new IllegalStateException("Malformed Huffman table!");
+            }
+
+            symbol += (int) run;
+        }
+
+        return new HuffmanCodec(lengths);
+    }
+
+    /**
+     * Serializes the code lengths of this {@link HuffmanCodec} to the specified {@link BitBuffer}, so that it can be
+     * recreated by {@link #readTable(BitBuffer)}.
+     * <br><br>
+     * Each code length uses {@code 4} bits, except that each run of {@code byte}s that cannot be encoded is written as
+     * a single zero followed by the length of the run as an Exp-Golomb code.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     */
+    public void writeTable(BitBuffer buffer) {
+        for (int symbol = 0; symbol < NUM_SYMBOLS; ) {
+            int length = lengths[symbol];
+            buffer.putBits(length, LENGTH_BITS);
+
+            if (length != 0) {
+                symbol++;
+                continue;
+            }
+
+            int end = symbol + 1;
+
+            while (end < NUM_SYMBOLS && lengths[end] == 0) {
+                end++;
+            }
+
+            buffer.putExpGolomb(end - symbol - 1);
+            symbol = end;
+        }
+    }
+
+    /**
+     * Gets the length of the code of the specified {@code byte}.
+     *
+     * @param b the {@code byte}.
+     * @return the length of its code in bits, or {@code 0} if it cannot be encoded.
+     */
+    public int codeLength(byte b) {
+        return lengths[b & 0xFF];
+    }
+
+    /**
+     * Encodes {@code length} {@code byte}s from the specified array, starting at {@code offset}, to the specified
+     * {@link BitBuffer}, preceded by the amount of {@code byte}s.
+     * <br><br>
+     * Codes are accumulated into a {@code long}, which is written with one call to {@link BitBuffer#putBits(long, int)}
+     * once it cannot hold another code.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     * @param src    the array of {@code byte}s to encode.
+     * @param offset the index of the first {@code byte} in {@code src} to encode.
+     * @param length the number of {@code byte}s to encode.
+     * @throws IllegalArgumentException  if {@code src} contains a {@code byte} that cannot be encoded, in which case
+     * the codes before it have already been written.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public void encode(BitBuffer buffer, byte[] src, int offset, int length)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        buffer.putVarInt(length);
+
+        long word = 0;
+        int numBits = 0;
+
+        for (int i = offset; i < offset + length; i++) {
+            int code = codes[src[i] & 0xFF];
+            int codeLength = code & (1 << ENTRY_LENGTH_BITS) - 1;
+
+            if (codeLength == 0) {
+                throw new IllegalArgumentException("src contains a byte that cannot be encoded!");
+            }
+
+            if (numBits + codeLength > Long.SIZE) {
+                buffer.putBits(word, numBits);
+                word = 0;
+                numBits = 0;
+            }
+
+            word |= (long) (code >>> ENTRY_LENGTH_BITS) << numBits;
+            numBits += codeLength;
+        }
+
+        buffer.putBits(word, numBits);
+    }
+
+    /**
+     * Decodes an array of {@code byte}s that was encoded by {@link #encode(BitBuffer, byte[], int, int)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @return a new array containing the decoded {@code byte}s.
+     * @throws IllegalStateException if the encoded data is malformed.
+     */
+    public byte[] decode(BitBuffer buffer) throws IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        var dst = new byte[length];
+        decodeSymbols(buffer, dst, 0, length);
+        return dst;
+    }
+
+    /**
+     * Decodes an array of {@code byte}s that was encoded by {@link #encode(BitBuffer, byte[], int, int)} into the
+     * specified array, starting at {@code offset}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to decode.
+     * @return the number of {@code byte}s that were decoded.
+     * @throws IndexOutOfBoundsException if {@code dst} is too small to hold every decoded {@code byte}.
+     * @throws IllegalStateException     if the encoded data is malformed.
+     */
+    public int decode(BitBuffer buffer, byte[] dst, int offset)
+            throws IndexOutOfBoundsException, IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        decodeSymbols(buffer, dst, offset, length);
+        return length;
+    }
+
+    /**
+     * Decodes the specified amount of {@code byte}s, each with a single lookup of the next {@link #MAX_CODE_LENGTH}
+     * bits in {@code table}.
+     * <br><br>
+     * The codes of {@link #CODES_PER_PEEK} {@code byte}s are decoded from the result of a single call to
+     * {@link BitBuffer#peekBits(int)}, and then consumed at once with {@link BitBuffer#getBits(int)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to decode.
+     * @param length the number of {@code byte}s to decode.
+     * @throws IllegalStateException if the encoded data is malformed.
+     */
+    private void decodeSymbols(BitBuffer buffer, byte[] dst, int offset, int length) throws IllegalStateException {
+        int[] table = this.table;
+        int mask = table.length - 1;
+        int end = offset + length;
+        int i = offset;
+
+        for (; i <= end - CODES_PER_PEEK; i += CODES_PER_PEEK) {
+            long bits = buffer.peekBits(CODES_PER_PEEK * MAX_CODE_LENGTH);
+            int numBits = 0;
+
+            for (int j = 0; j < CODES_PER_PEEK; j++) {
+                int entry = table[(int) (bits >>> numBits) & mask];
+
+                if (entry == 0) {
+                    throw new IllegalStateException("Malformed Huffman code!");
+                }
+
+                numBits += entry & (1 << ENTRY_LENGTH_BITS) - 1;
+                dst[i + j] = (byte) (entry >>> ENTRY_LENGTH_BITS);
+            }
+
+            buffer.getBits(numBits);
+        }
+
+        for (; i < end; i++) {
+            int entry = table[(int) buffer.peekBits(MAX_CODE_LENGTH)];
+
+            if (entry == 0) {
+                throw new IllegalStateException("Malformed Huffman code!");
+            }
+
+            buffer.getBits(entry & (1 << ENTRY_LENGTH_BITS) - 1);
+            dst[i] = (byte) (entry >>> ENTRY_LENGTH_BITS);
+        }
+    }
+
+    /**
+     * Computes the length of the Huffman code of each symbol, limited to {@link #MAX_CODE_LENGTH} bits.
+     *
+     * @param frequencies the frequency of each symbol.
+     * @param numSymbols  the amount of symbols with a positive frequency.
+     * @return the length of the code of each symbol in bits, or {@code 0} for symbols with a frequency of {@code 0}.
+     */
+    private static byte[] codeLengths(long[] frequencies, int numSymbols) {
+        var lengths = new byte[NUM_SYMBOLS];
+
+        // Sort the symbols by ascending frequency, breaking ties by symbol so that the result is deterministic.
+        var sorted = new Integer[numSymbols];
+
+        for (int symbol = 0, i = 0; symbol < frequencies.length; symbol++) {
+            if (frequencies[symbol] > 0) {
+                sorted[i++] = symbol;
+            }
+        }
+
+        Arrays.sort(sorted, Comparator.comparingLong((Integer symbol) -> frequencies[symbol])
+                .thenComparingInt(symbol -> symbol));
+
+        if (numSymbols == 1) {
+            lengths[sorted[0]] = 1;
+            return lengths;
+        }
+
+        // Build the Huffman tree with two queues: one of the sorted leaves, and one of the internal nodes, which are
+        // created in ascending order of weight. A node is always created before its parent.
+        int numNodes = 2 * numSymbols - 1;
+        var weights = new long[numNodes];
+        var parents = new int[numNodes];
+
+        for (int i = 0; i < numSymbols; i++) {
+            weights[i] = frequencies[sorted[i]];
+        }
+
+        int leaf = 0;
+        int internal = numSymbols;
+
+        for (int node = numSymbols; node < numNodes; node++) {
+            for (int child = 0; child < 2; child++) {
+                int smallest = leaf < numSymbols && (internal == node || weights[leaf] <= weights[internal])
+                        ? leaf++ : internal++;
+                weights[node] += weights[smallest];
+                parents[smallest] = node;
+            }
+        }
+
+        // The depth of each node is one more than that of its parent, which has a higher index.
+        var depths = new int[numNodes];
+        var lengthCounts = new int[MAX_CODE_LENGTH + 1];
+
+        for (int node = numNodes - 2; node >= 0; node--) {
+            depths[node] = depths[parents[node]] + 1;
+
+            if (node < numSymbols) {
+                lengthCounts[Math.min(depths[node], MAX_CODE_LENGTH)]++;
+            }
+        }
+
+        limitLengths(lengthCounts);
+
+        // The least frequent symbols receive the longest codes.
+        for (int length = MAX_CODE_LENGTH, i = 0; length > 0; length--) {
+            for (int count = lengthCounts[length]; count > 0; count--) {
+                lengths[sorted[i++]] = (byte) length;
+            }
+        }
+
+        return lengths;
+    }
+
+    /**
+     * Adjusts the amount of codes of each length after every code that was longer than {@link #MAX_CODE_LENGTH} bits
+     * has been shortened to {@link #MAX_CODE_LENGTH} bits, so that the code lengths form a complete prefix code again.
+     * <br><br>
+     * Each iteration removes one code of the maximum length and splits a shorter code into two codes that are one bit
+     * longer, which reduces the Kraft sum by one unit of the maximum length.
+     *
+     * @param lengthCounts the amount of codes of each length, which is modified in place.
+     */
+    private static void limitLengths(int[] lengthCounts) {
+        long total = 0;
+
+        for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+            total += (long) lengthCounts[length] << (MAX_CODE_LENGTH - length);
+        }
+
+        for (; total > 1 << MAX_CODE_LENGTH; total--) {
+            lengthCounts[MAX_CODE_LENGTH]--;
+
+            for (int length = MAX_CODE_LENGTH - 1; length > 0; length--) {
+                if (lengthCounts[length] != 0) {
+                    lengthCounts[length]--;
+                    lengthCounts[length + 1] += 2;
+                    break;
+                }
+            }
+        }
+    }
+
+}
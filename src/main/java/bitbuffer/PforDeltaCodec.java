@@ -0,0 +1,253 @@
+package bitbuffer;
+
+import java.util.Objects;
+
+/**
+ * A codec that compresses arrays of {@code long}s, such as monotonic timestamps, using delta encoding followed by
+ * patched frame-of-reference (PFOR) bit-packing.
+ * <br><br>
+ * Values are split into blocks of {@link #BLOCK_SIZE}. Within each block, the difference between consecutive values
+ * is taken, and the smallest difference is subtracted from every difference (the frame of reference) so that the
+ * residuals are small and non-negative. The residuals are then bit-packed with {@link BitBuffer#putLongs} at the
+ * width that minimizes the size of the block; the few residuals that do not fit within that width are stored
+ * separately as exceptions, so that a single outlier does not widen the entire block.
+ * <br><br>
+ * Arithmetic wraps around, so any array of {@code long}s can be encoded, although arrays that are not sorted
+ * compress poorly.
+ *
+ * @author Jacob G.
+ */
+public final class PforDeltaCodec {
+
+    /**
+     * The maximum amount of values in each block.
+     */
+    public static final int BLOCK_SIZE = 128;
+
+    /**
+     * The amount of bits used to write the width of the residuals of a block.
+     */
+    private static final int WIDTH_BITS = 7;
+
+    /**
+     * The amount of bits used to write the position of an exception within a block.
+     */
+    private static final int POSITION_BITS = 7;
+
+    /**
+     * A private constructor.
+     */
+    private PforDeltaCodec() {
+
+    }
+
+    /**
+     * Encodes {@code length} {@code long}s from the specified array, starting at {@code offset}, to the specified
+     * {@link BitBuffer}, preceded by the amount of values.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     * @param src    the array of {@code long}s to encode.
+     * @param offset the index of the first {@code long} in {@code src} to encode.
+     * @param length the number of {@code long}s to encode.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public static void encode(BitBuffer buffer, long[] src, int offset, int length) throws IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        buffer.putVarInt(length);
+
+        var residuals = new long[BLOCK_SIZE - 1];
+        long previous = 0;
+
+        for (int end = offset + length; offset < end; offset += BLOCK_SIZE) {
+            int blockLength = Math.min(BLOCK_SIZE, end - offset);
+            encodeBlock(buffer, src, offset, blockLength, previous, residuals);
+            previous = src[offset + blockLength - 1];
+        }
+    }
+
+    /**
+     * Decodes an array of {@code long}s that was encoded by {@link #encode(BitBuffer, long[], int, int)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @return a new array containing the decoded {@code long}s.
+     * @throws IllegalStateException if the encoded data is malformed.
+     */
+    public static long[] decode(BitBuffer buffer) throws IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        var dst = new long[length];
+        decodeBlocks(buffer, dst, 0, length);
+        return dst;
+    }
+
+    /**
+     * Decodes an array of {@code long}s that was encoded by {@link #encode(BitBuffer, long[], int, int)} into the
+     * specified array, starting at {@code offset}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code long}s into.
+     * @param offset the index in {@code dst} of the first {@code long} to decode.
+     * @return the number of {@code long}s that were decoded.
+     * @throws IndexOutOfBoundsException if {@code dst} is too small to hold every decoded {@code long}.
+     * @throws IllegalStateException     if the encoded data is malformed.
+     */
+    public static int decode(BitBuffer buffer, long[] dst, int offset)
+            throws IndexOutOfBoundsException, IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        decodeBlocks(buffer, dst, offset, length);
+        return length;
+    }
+
+    /**
+     * Encodes a single block.
+     *
+     * @param buffer    the {@link BitBuffer} to write to.
+     * @param src       the array of {@code long}s to encode.
+     * @param offset    the index of the first {@code long} of the block.
+     * @param length    the number of {@code long}s in the block, between {@code 1} and {@link #BLOCK_SIZE}.
+     * @param previous  the last value of the previous block, or {@code 0} if this is the first block.
+     * @param residuals scratch space for the residuals of the block.
+     */
+    private static void encodeBlock(BitBuffer buffer, long[] src, int offset, int length, long previous,
+                                    long[] residuals) {
+        // The first value of each block is relative to the last value of the previous block.
+        buffer.putSignedVarLong(src[offset] - previous);
+
+        int numResiduals = length - 1;
+
+        if (numResiduals == 0) {
+            return;
+        }
+
+        long reference = Long.MAX_VALUE;
+
+        for (int i = 0; i < numResiduals; i++) {
+            long delta = src[offset + i + 1] - src[offset + i];
+            residuals[i] = delta;
+            reference = Math.min(reference, delta);
+        }
+
+        // Count how many residuals need each amount of bits, so that the cost of every width can be computed
+        // without revisiting the residuals.
+        var bitLengths = new int[Long.SIZE + 1];
+
+        for (int i = 0; i < numResiduals; i++) {
+            residuals[i] -= reference;
+            bitLengths[Long.SIZE - Long.numberOfLeadingZeros(residuals[i])]++;
+        }
+
+        int width = optimalWidth(bitLengths, numResiduals);
+        int numExceptions = 0;
+
+        for (int bitLength = width + 1; bitLength <= Long.SIZE; bitLength++) {
+            numExceptions += bitLengths[bitLength];
+        }
+
+        buffer.putSignedVarLong(reference).putBits(width, WIDTH_BITS).putVarInt(numExceptions);
+        buffer.putLongs(residuals, 0, numResiduals, width);
+
+        if (numExceptions == 0) {
+            return;
+        }
+
+        for (int i = 0; i < numResiduals; i++) {
+            long exception = residuals[i] >>> width;
+
+            if (exception != 0) {
+                buffer.putBits(i, POSITION_BITS).putVarLong(exception);
+            }
+        }
+    }
+
+    /**
+     * Finds the width that encodes the residuals of a block in the least amount of bits, accounting for the cost of
+     * storing every residual that does not fit as an exception.
+     *
+     * @param bitLengths   the amount of residuals that need each amount of bits.
+     * @param numResiduals the total amount of residuals.
+     * @return the optimal width, between {@code 0} and {@link Long#SIZE}.
+     */
+    private static int optimalWidth(int[] bitLengths, int numResiduals) {
+        int optimalWidth = Long.SIZE;
+        long optimalCost = (long) numResiduals * Long.SIZE;
+
+        for (int width = 0; width < Long.SIZE; width++) {
+            long cost = (long) numResiduals * width;
+
+            for (int bitLength = width + 1; bitLength <= Long.SIZE; bitLength++) {
+                // Each exception costs its position, plus its upper bits as a variable-length integer.
+                int varIntBytes = (bitLength - width + 6) / 7;
+                cost += (long) bitLengths[bitLength] * (POSITION_BITS + varIntBytes * Byte.SIZE);
+            }
+
+            if (cost < optimalCost) {
+                optimalCost = cost;
+                optimalWidth = width;
+            }
+        }
+
+        return optimalWidth;
+    }
+
+    /**
+     * Decodes every block of an array of {@code long}s.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code long}s into.
+     * @param offset the index in {@code dst} of the first {@code long} to decode.
+     * @param length the number of {@code long}s to decode.
+     * @throws IllegalStateException if the encoded data is malformed.
+     */
+    private static void decodeBlocks(BitBuffer buffer, long[] dst, int offset, int length)
+            throws IllegalStateException {
+        var residuals = new long[BLOCK_SIZE - 1];
+        long value = 0;
+
+        for (int end = offset + length; offset < end; offset += BLOCK_SIZE) {
+            int numResiduals = Math.min(BLOCK_SIZE, end - offset) - 1;
+            value += buffer.getSignedVarLong();
+            dst[offset] = value;
+
+            if (numResiduals == 0) {
+                continue;
+            }
+
+            long reference = buffer.getSignedVarLong();
+            int width = (int) buffer.getBits(WIDTH_BITS);
+            int numExceptions = buffer.getVarInt();
+
+            if (width > Long.SIZE || numExceptions < 0 || numExceptions > numResiduals) {
+                throw new IllegalStateException("Malformed block header!");
+            }
+
+            // Unpack every residual at once, then patch the exceptions in place.
+            buffer.getLongs(residuals, 0, numResiduals, width);
+
+            for (int i = 0; i < numExceptions; i++) {
+                int position = (int) buffer.getBits(POSITION_BITS);
+
+                if (position >= numResiduals) {
+                    throw new IllegalStateException("Malformed exception position!");
+                }
+
+                residuals[position] |= buffer.getVarLong() << width;
+            }
+
+            for (int i = 0; i < numResiduals; i++) {
+                value += residuals[i] + reference;
+                dst[offset + i + 1] = value;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,518 @@
+package bitbuffer;
+
+import java.util.Objects;
+
+/**
+ * A codec that compresses arrays of {@code byte}s with table-based asymmetric numeral systems (tANS), the entropy
+ * coder of Finite State Entropy, which spends a fractional amount of bits on each {@code byte} and therefore comes
+ * closer to the entropy of skewed data than a Huffman code, while decoding each {@code byte} with a single table
+ * lookup and a single call to {@link BitBuffer#getBits(int)}.
+ * <br><br>
+ * A {@link TansCodec} is built from the frequency of each {@code byte}, either given directly or counted from sample
+ * data, which is normalized so that the frequencies add up to the size of the table, {@code 1 << tableLog}. The
+ * normalized frequencies fully describe the codec, and are serialized by {@link #writeTable(BitBuffer)}.
+ * <br><br>
+ * The state of the coder is renormalized by writing its low bits with {@link BitBuffer#putBits(long, int)} and
+ * reading them back with {@link BitBuffer#getBits(int)}. Because the decoder consumes these bits in the opposite
+ * order in which the encoder produces them, the encoder writes in reverse order: it processes the {@code byte}s from
+ * last to first and prepends the bits of each one to those that it has produced so far, so that the decoder can read
+ * the {@code byte}s from first to last.
+ *
+ * @author Jacob G.
+ */
+public final class TansCodec {
+
+    /**
+     * The smallest binary logarithm of the size of the table.
+     */
+    public static final int MIN_TABLE_LOG = 5;
+
+    /**
+     * The largest binary logarithm of the size of the table, which keeps every state within {@code 16} bits.
+     */
+    public static final int MAX_TABLE_LOG = 15;
+
+    /**
+     * The binary logarithm of the size of the table used by {@link #fromFrequencies(long[])} and
+     * {@link #fromSample(byte[])}.
+     */
+    public static final int DEFAULT_TABLE_LOG = 12;
+
+    /**
+     * The amount of symbols, which is one for every possible value of a {@code byte}.
+     */
+    private static final int NUM_SYMBOLS = 1 << Byte.SIZE;
+
+    /**
+     * The amount of bits used to write the binary logarithm of the size of the table when serializing it.
+     */
+    private static final int TABLE_LOG_BITS = 4;
+
+    /**
+     * The amount of bits that the encoder moves from its accumulator to its stack of reversed output at a time.
+     */
+    private static final int SPILL_BITS = Integer.SIZE;
+
+    /**
+     * The binary logarithm of the size of the table.
+     */
+    private final int tableLog;
+
+    /**
+     * The normalized frequency of each symbol, which add up to {@code 1 << tableLog}.
+     */
+    private final int[] frequencies;
+
+    /**
+     * The decoding table, which maps each state to the symbol that it decodes in its lowest {@code 8} bits, the
+     * amount of bits to read in the next {@code 8} bits, and the base of the next state in its upper {@code 16} bits.
+     */
+    private final int[] decodeTable;
+
+    /**
+     * The encoding table, which holds the states that encode each symbol, grouped by symbol.
+     */
+    private final int[] stateTable;
+
+    /**
+     * The offset into {@code stateTable} of each symbol, minus its normalized frequency.
+     */
+    private final int[] stateOffsets;
+
+    /**
+     * The value that is added to a state before it is shifted right by {@code 16} bits to compute the amount of bits
+     * to write when encoding each symbol.
+     */
+    private final int[] deltaNumBits;
+
+    /**
+     * A private constructor.
+     *
+     * @param tableLog    the binary logarithm of the size of the table.
+     * @param frequencies the normalized frequency of each symbol, which add up to {@code 1 << tableLog}.
+     */
+    private TansCodec(int tableLog, int[] frequencies) {
+        this.tableLog = tableLog;
+        this.frequencies = frequencies;
+
+        int tableSize = 1 << tableLog;
+        int mask = tableSize - 1;
+
+        // Spread the symbols over the table, so that the states of each symbol are scattered evenly. The step is odd,
+        // so every position is visited exactly once.
+        var symbols = new int[tableSize];
+        int step = (tableSize >>> 1) + (tableSize >>> 3) + 3;
+        int position = 0;
+
+        for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+            for (int i = 0; i < frequencies[symbol]; i++) {
+                symbols[position] = symbol;
+                position = (position + step) & mask;
+            }
+        }
+
+        this.decodeTable = new int[tableSize];
+        this.stateTable = new int[tableSize];
+        this.stateOffsets = new int[NUM_SYMBOLS];
+        this.deltaNumBits = new int[NUM_SYMBOLS];
+
+        // The k-th state of each symbol is reached from the values between its frequency and twice its frequency.
+        var values = new int[NUM_SYMBOLS];
+        int offset = 0;
+
+        for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+            int frequency = frequencies[symbol];
+            values[symbol] = frequency;
+            stateOffsets[symbol] = offset - frequency;
+            offset += frequency;
+
+            if (frequency != 0) {
+                int maxBits = tableLog - (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(frequency));
+                deltaNumBits[symbol] = (maxBits << 16) - (frequency << maxBits);
+            }
+        }
+
+        for (int state = 0; state < tableSize; state++) {
+            int symbol = symbols[state];
+            int value = values[symbol]++;
+            stateTable[stateOffsets[symbol] + value] = tableSize + state;
+
+            // The decoder restores the previous state by shifting the value back up and appending the bits that the
+            // encoder wrote when it shifted the previous state down to the value.
+            int numBits = tableLog - (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(value));
+            int base = (value << numBits) - tableSize;
+            decodeTable[state] = base << 16 | numBits << Byte.SIZE | symbol;
+        }
+    }
+
+    /**
+     * Creates a {@link TansCodec} with a table of {@code 1 << DEFAULT_TABLE_LOG} states from the frequency of each
+     * {@code byte}, where {@code frequencies[i]} is the frequency of the {@code byte} with the unsigned value
+     * {@code i}.
+     *
+     * @param frequencies the frequency of each {@code byte}, with at most {@code 256} elements.
+     * @return a {@link TansCodec}.
+     * @throws IllegalArgumentException if {@code frequencies} has more than {@code 256} elements, contains a negative
+     * frequency, or does not contain any positive frequency.
+     * @see #fromFrequencies(long[], int)
+     */
+    public static TansCodec fromFrequencies(long[] frequencies) throws IllegalArgumentException {
+        return fromFrequencies(frequencies, DEFAULT_TABLE_LOG);
+    }
+
+    /**
+     * Creates a {@link TansCodec} with a table of {@code 1 << tableLog} states from the frequency of each
+     * {@code byte}, where {@code frequencies[i]} is the frequency of the {@code byte} with the unsigned value
+     * {@code i}.
+     * <br><br>
+     * Only {@code byte}s with a positive frequency can be encoded. A larger table approximates the frequencies more
+     * closely, but takes longer to build and is less likely to fit within the CPU cache.
+     *
+     * @param frequencies the frequency of each {@code byte}, with at most {@code 256} elements.
+     * @param tableLog    the binary logarithm of the size of the table, between {@link #MIN_TABLE_LOG} and
+     *                    {@link #MAX_TABLE_LOG}.
+     * @return a {@link TansCodec}.
+     * @throws IllegalArgumentException if {@code frequencies} has more than {@code 256} elements, contains a negative
+     * frequency, does not contain any positive frequency, or contains more positive frequencies than the table has
+     * states, or if {@code tableLog} is out of range.
+     */
+    public static TansCodec fromFrequencies(long[] frequencies, int tableLog) throws IllegalArgumentException {
+        if (frequencies.length > NUM_SYMBOLS) {
+            throw new IllegalArgumentException("frequencies must not have more than " + NUM_SYMBOLS + " elements!");
+        }
+
+        if (tableLog < MIN_TABLE_LOG || tableLog > MAX_TABLE_LOG) {
+            throw new IllegalArgumentException("tableLog must be between " + MIN_TABLE_LOG + " and "
+                    + MAX_TABLE_LOG + "!");
+        }
+
+        long total = 0;
+        int numSymbols = 0;
+
+        for (long frequency : frequencies) {
+            if (frequency < 0) {
+                throw new IllegalArgumentException("frequencies must be positive!");
+            }
+
+            if (frequency > 0) {
+                total += frequency;
+                numSymbols++;
+            }
+        }
+
+        if (numSymbols == 0) {
+            throw new IllegalArgumentException("frequencies must contain a positive frequency!");
+        }
+
+        if (numSymbols > 1 << tableLog) {
+            throw new IllegalArgumentException("frequencies must not contain more positive frequencies than the "
+                    + "table has states!");
+        }
+
+        return new TansCodec(tableLog, normalize(frequencies, total, tableLog));
+    }
+
+    /**
+     * Creates a {@link TansCodec} with a table of {@code 1 << DEFAULT_TABLE_LOG} states from the frequency of each
+     * {@code byte} within the specified sample data.
+     * <br><br>
+     * Only {@code byte}s that occur in the sample data can be encoded; see {@link #fromFrequencies(long[])} for
+     * assigning states to other {@code byte}s as well.
+     *
+     * @param sample the sample data.
+     * @return a {@link TansCodec}.
+     * @throws IllegalArgumentException if {@code sample} is empty.
+     */
+    public static TansCodec fromSample(byte[] sample) throws IllegalArgumentException {
+        return fromSample(sample, 0, sample.length);
+    }
+
+    /**
+     * Creates a {@link TansCodec} with a table of {@code 1 << DEFAULT_TABLE_LOG} states from the frequency of each
+     * {@code byte} within {@code length} {@code byte}s of the specified sample data, starting at {@code offset}.
+     *
+     * @param sample the sample data.
+     * @param offset the index of the first {@code byte} in {@code sample} to count.
+     * @param length the number of {@code byte}s to count.
+     * @return a {@link TansCodec}.
+     * @throws IllegalArgumentException  if {@code length} is {@code 0}.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code sample}.
+     */
+    public static TansCodec fromSample(byte[] sample, int offset, int length)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, sample.length);
+
+        var frequencies = new long[NUM_SYMBOLS];
+
+        for (int i = offset; i < offset + length; i++) {
+            frequencies[sample[i] & 0xFF]++;
+        }
+
+        return fromFrequencies(frequencies);
+    }
+
+    /**
+     * Reads a {@link TansCodec} that was serialized by {@link #writeTable(BitBuffer)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @return a {@link TansCodec}.
+     * @throws IllegalStateException if the serialized table is malformed.
+     */
+    public static TansCodec readTable(BitBuffer buffer) throws IllegalStateException {
+        int tableLog = (int) buffer.getBits(TABLE_LOG_BITS);
+
+        if (tableLog < MIN_TABLE_LOG || tableLog > MAX_TABLE_LOG) {
+            throw new IllegalStateException("Malformed tANS table!");
+        }
+
+        var frequencies = new int[NUM_SYMBOLS];
+        long total = 0;
+
+        for (int symbol = 0; symbol < NUM_SYMBOLS; symbol++) {
+            long frequency = buffer.getExpGolomb();
+            total += frequency;
+
+            if (frequency < 0 || total > 1 << tableLog) {
+                throw new IllegalStateException("Malformed tANS table!");
+            }
+
+            frequencies[symbol] = (int) frequency;
+        }
+
+        if (total != 1 << tableLog) {
+            throw new IllegalStateException("Malformed tANS table!");
+        }
+
+        return new TansCodec(tableLog, frequencies);
+    }
+
+    /**
+     * Serializes the normalized frequencies of this {@link TansCodec} to the specified {@link BitBuffer}, so that it
+     * can be recreated by {@link #readTable(BitBuffer)}.
+     * <br><br>
+     * The binary logarithm of the size of the table uses {@code 4} bits, and each normalized frequency is written as
+     * an Exp-Golomb code, so that each {@code byte} that cannot be encoded costs a single bit.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     */
+    public void writeTable(BitBuffer buffer) {
+        buffer.putBits(tableLog, TABLE_LOG_BITS);
+
+        for (int frequency : frequencies) {
+            buffer.putExpGolomb(frequency);
+        }
+    }
+
+    /**
+     * Gets the normalized frequency of the specified {@code byte}, out of a total of {@code 1 << tableLog}.
+     *
+     * @param b the {@code byte}.
+     * @return its normalized frequency, or {@code 0} if it cannot be encoded.
+     */
+    public int normalizedFrequency(byte b) {
+        return frequencies[b & 0xFF];
+    }
+
+    /**
+     * Encodes {@code length} {@code byte}s from the specified array, starting at {@code offset}, to the specified
+     * {@link BitBuffer}, preceded by the amount of {@code byte}s.
+     * <br><br>
+     * The bits of each {@code byte} are prepended to an accumulator, whose most significant bits are moved to a stack
+     * {@link #SPILL_BITS} at a time. Once every {@code byte} has been encoded, the final state is prepended as well,
+     * and the accumulator and the stack are written from front to back with {@link BitBuffer#putBits(long, int)}.
+     *
+     * @param buffer the {@link BitBuffer} to write to.
+     * @param src    the array of {@code byte}s to encode.
+     * @param offset the index of the first {@code byte} in {@code src} to encode.
+     * @param length the number of {@code byte}s to encode.
+     * @throws IllegalArgumentException  if {@code src} contains a {@code byte} that cannot be encoded, in which case
+     * nothing is written.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public void encode(BitBuffer buffer, byte[] src, int offset, int length)
+            throws IllegalArgumentException, IndexOutOfBoundsException {
+        Objects.checkFromIndexSize(offset, length, src.length);
+
+        if (length == 0) {
+            buffer.putVarInt(0);
+            return;
+        }
+
+        // Each byte produces at most tableLog bits, and so does the final state.
+        var stack = new int[(int) (((long) length + 1) * tableLog / SPILL_BITS) + 1];
+        int top = 0;
+        long accumulator = 0;
+        int numBits = 0;
+
+        // The last byte is decoded without reading any bits, so the encoder starts in one of its states directly.
+        int last = symbol(src[offset + length - 1]);
+        int state = stateTable[stateOffsets[last] + frequencies[last]];
+
+        for (int i = offset + length - 2; i >= offset; i--) {
+            int symbol = symbol(src[i]);
+            int bits = (state + deltaNumBits[symbol]) >>> 16;
+            accumulator = accumulator << bits | state & (1 << bits) - 1;
+            numBits += bits;
+
+            if (numBits > SPILL_BITS) {
+                numBits -= SPILL_BITS;
+                stack[top++] = (int) (accumulator >>> numBits);
+            }
+
+            state = stateTable[(state >>> bits) + stateOffsets[symbol]];
+        }
+
+        accumulator = accumulator << tableLog | state - (1 << tableLog);
+        numBits += tableLog;
+
+        if (numBits > SPILL_BITS) {
+            numBits -= SPILL_BITS;
+            stack[top++] = (int) (accumulator >>> numBits);
+        }
+
+        buffer.putVarInt(length).putBits(accumulator, numBits);
+
+        while (top > 0) {
+            buffer.putBits(stack[--top], SPILL_BITS);
+        }
+    }
+
+    /**
+     * Decodes an array of {@code byte}s that was encoded by {@link #encode(BitBuffer, byte[], int, int)}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @return a new array containing the decoded {@code byte}s.
+     * @throws IllegalStateException if the encoded data is malformed.
+     */
+    public byte[] decode(BitBuffer buffer) throws IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        var dst = new byte[length];
+        decodeSymbols(buffer, dst, 0, length);
+        return dst;
+    }
+
+    /**
+     * Decodes an array of {@code byte}s that was encoded by {@link #encode(BitBuffer, byte[], int, int)} into the
+     * specified array, starting at {@code offset}.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to decode.
+     * @return the number of {@code byte}s that were decoded.
+     * @throws IndexOutOfBoundsException if {@code dst} is too small to hold every decoded {@code byte}.
+     * @throws IllegalStateException     if the encoded data is malformed.
+     */
+    public int decode(BitBuffer buffer, byte[] dst, int offset)
+            throws IndexOutOfBoundsException, IllegalStateException {
+        int length = buffer.getVarInt();
+
+        if (length < 0) {
+            throw new IllegalStateException("Encoded length is negative!");
+        }
+
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        decodeSymbols(buffer, dst, offset, length);
+        return length;
+    }
+
+    /**
+     * Decodes the specified amount of {@code byte}s, each with a single lookup of the current state in
+     * {@code decodeTable}, after which the next state is composed from its base and the bits that are read.
+     *
+     * @param buffer the {@link BitBuffer} to read from.
+     * @param dst    the array to decode {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to decode.
+     * @param length the number of {@code byte}s to decode.
+     */
+    private void decodeSymbols(BitBuffer buffer, byte[] dst, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+
+        int[] decodeTable = this.decodeTable;
+        int state = (int) buffer.getBits(tableLog);
+        int last = offset + length - 1;
+
+        for (int i = offset; i < last; i++) {
+            int entry = decodeTable[state];
+            dst[i] = (byte) entry;
+            state = (entry >>> 16) + (int) buffer.getBits(entry >>> Byte.SIZE & 0xFF);
+        }
+
+        dst[last] = (byte) decodeTable[state];
+    }
+
+    /**
+     * Gets the symbol of the specified {@code byte}, which is its unsigned value.
+     *
+     * @param b the {@code byte} to encode.
+     * @return the symbol of {@code b}.
+     * @throws IllegalArgumentException if {@code b} cannot be encoded.
+     */
+    private int symbol(byte b) throws IllegalArgumentException {
+        int symbol = b & 0xFF;
+
+        if (frequencies[symbol] == 0) {
+            throw new IllegalArgumentException("src contains a byte that cannot be encoded!");
+        }
+
+        return symbol;
+    }
+
+    /**
+     * Scales the specified frequencies so that they add up to {@code 1 << tableLog}, while every positive frequency
+     * remains positive.
+     *
+     * @param frequencies the frequency of each symbol.
+     * @param total       the sum of {@code frequencies}.
+     * @param tableLog    the binary logarithm of the size of the table.
+     * @return the normalized frequency of each symbol.
+     */
+    private static int[] normalize(long[] frequencies, long total, int tableLog) {
+        int tableSize = 1 << tableLog;
+        var normalized = new int[NUM_SYMBOLS];
+        int sum = 0;
+        int largest = 0;
+
+        for (int symbol = 0; symbol < frequencies.length; symbol++) {
+            if (frequencies[symbol] == 0) {
+                continue;
+            }
+
+            normalized[symbol] = (int) Math.max(1, Math.round((double) frequencies[symbol] * tableSize / total));
+            sum += normalized[symbol];
+
+            if (normalized[symbol] > normalized[largest]) {
+                largest = symbol;
+            }
+        }
+
+        // Rounding leaves the sum slightly off, which is corrected with the most frequent symbol, as that affects the
+        // compression ratio the least. If that symbol cannot absorb the difference, the difference is spread over the
+        // symbols that are the most frequent at the time.
+        if (normalized[largest] + tableSize - sum >= 1) {
+            normalized[largest] += tableSize - sum;
+            return normalized;
+        }
+
+        for (; sum > tableSize; sum--) {
+            int symbol = 0;
+
+            for (int i = 1; i < NUM_SYMBOLS; i++) {
+                if (normalized[i] > normalized[symbol]) {
+                    symbol = i;
+                }
+            }
+
+            normalized[symbol]--;
+        }
+
+        return normalized;
+    }
+
+}
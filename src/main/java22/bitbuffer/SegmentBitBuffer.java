@@ -0,0 +1,1071 @@
+package bitbuffer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * A {@link BitBuffer} backed by a {@link MemorySegment} rather than a {@link java.nio.ByteBuffer}, which allows it to
+ * hold more than {@code 2} GiB.
+ * <br><br>
+ * Positions and capacities are {@code long}s, but otherwise the relative and absolute {@code put} and {@code get}
+ * operations behave exactly like those of {@link BitBuffer}, and the two produce identical bytes. Writes and reads
+ * never touch memory beyond the end of the segment, so its size does not need to be a multiple of {@link Long#BYTES}.
+ * <br><br>
+ * A {@link SegmentBitBuffer} created by {@link #allocate(long)} owns its memory, which is freed deterministically by
+ * {@link #close()}.
+ * <br><br>
+ * Only the core typed API of {@link BitBuffer} is provided: bits, {@code boolean}s, {@code byte}s and {@code byte}
+ * arrays, every primitive type in either {@link ByteOrder}, {@link #putValue(long, long)} and
+ * {@link #getValue(long)}, and positioning. The codecs of {@link BitBuffer} (variable-length integers, Elias,
+ * exponential-Golomb and Golomb-Rice codes, bit-packed primitive arrays and strings), {@link BitBuffer#peekBits(int)},
+ * reserved bits, channel I/O, elastic growth and {@link BitBuffer#flip(boolean)} are not.
+ * <br><br>
+ * This class is only available on Java 22 and later, from the {@code jdk22} classifier of the artifact.
+ *
+ * @author Jacob G.
+ * @see BitBuffer
+ */
+public final class SegmentBitBuffer implements AutoCloseable {
+
+    /**
+     * The mask used when writing/reading bits.
+     */
+    private static final long[] MASKS = new long[Long.SIZE + 1];
+
+    /**
+     * The layout of the {@code long}s that the <i>cache</i> is flushed to and refilled from.
+     */
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    /*
+     * Initialize the mask to its respective values.
+     */
+    static {
+        for (int i = 0; i < Long.SIZE; i++) {
+            MASKS[i] = (1L << i) - 1;
+        }
+
+        MASKS[Long.SIZE] = -1L;
+    }
+
+    /**
+     * The backing {@link MemorySegment}.
+     */
+    private final MemorySegment segment;
+
+    /**
+     * The {@link Arena} that this {@link SegmentBitBuffer} allocated {@code segment} from, or {@code null} if the
+     * memory is owned by the caller.
+     */
+    private final Arena arena;
+
+    /**
+     * The index of the next {@code byte} of {@code segment} that the <i>cache</i> is flushed to or refilled from.
+     */
+    private long position;
+
+    /**
+     * The number of bits available within {@code cache}.
+     */
+    private int remainingBits = Long.SIZE;
+
+    /**
+     * The <i>cache</i> used when writing and reading bits.
+     */
+    private long cache;
+
+    /**
+     * Whether or not this {@link SegmentBitBuffer} has been flipped for a series of relative {@code get} operations.
+     */
+    private boolean reading;
+
+    /**
+     * A private constructor.
+     *
+     * @param segment the backing {@link MemorySegment}.
+     * @param arena   the {@link Arena} owned by this {@link SegmentBitBuffer}, or {@code null}.
+     */
+    private SegmentBitBuffer(MemorySegment segment, Arena arena) {
+        this.segment = segment;
+        this.arena = arena;
+    }
+
+    /**
+     * Allocates a new {@link SegmentBitBuffer} backed by off-heap memory that it owns, which is freed when it is
+     * closed.
+     * <br><br>
+     * The memory is allocated from a confined {@link Arena}, so the {@link SegmentBitBuffer} can only be used by the
+     * thread that allocated it; see {@link #allocate(long, Arena)} for sharing it between threads.
+     *
+     * @param capacity the capacity of the {@link SegmentBitBuffer} in {@code byte}s.
+     * @return a {@link SegmentBitBuffer}.
+     * @throws IllegalArgumentException if {@code capacity} is negative.
+     */
+    public static SegmentBitBuffer allocate(long capacity) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+
+        var arena = Arena.ofConfined();
+        return new SegmentBitBuffer(arena.allocate(capacity, Long.BYTES), arena);
+    }
+
+    /**
+     * Allocates a new {@link SegmentBitBuffer} from the specified {@link Arena}, which remains responsible for freeing
+     * the memory.
+     *
+     * @param capacity the capacity of the {@link SegmentBitBuffer} in {@code byte}s.
+     * @param arena    the {@link Arena} to allocate from.
+     * @return a {@link SegmentBitBuffer}.
+     * @throws IllegalArgumentException if {@code capacity} is negative.
+     */
+    public static SegmentBitBuffer allocate(long capacity, Arena arena) throws IllegalArgumentException {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must be positive!");
+        }
+
+        return new SegmentBitBuffer(arena.allocate(capacity, Long.BYTES), null);
+    }
+
+    /**
+     * Wraps an existing {@link MemorySegment}, such as a memory-mapped file, in a {@link SegmentBitBuffer} that is
+     * ready for a series of relative {@code put} operations.
+     * <br><br>
+     * The caller remains responsible for the lifetime of {@code segment}.
+     *
+     * @param segment the {@link MemorySegment} to wrap.
+     * @return a {@link SegmentBitBuffer}.
+     */
+    public static SegmentBitBuffer wrap(MemorySegment segment) {
+        return new SegmentBitBuffer(Objects.requireNonNull(segment), null);
+    }
+
+    /**
+     * Writes {@code value} to this {@link SegmentBitBuffer} using {@code numBits} bits.
+     * <br><br>
+     * Only the {@code numBits} least significant bits of {@code value} are written.
+     *
+     * @param value   the value to write.
+     * @param numBits the amount of bits to use when writing {@code value}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws BufferOverflowException if the backing {@link MemorySegment} is full.
+     */
+    public SegmentBitBuffer putBits(long value, int numBits) throws BufferOverflowException {
+        if (remainingBits < numBits) {
+            int upperHalfBits = numBits - remainingBits;
+            flush(cache | (value & MASKS[remainingBits]) << Long.SIZE - remainingBits);
+            cache = (value >>> remainingBits) & MASKS[upperHalfBits];
+            remainingBits = Long.SIZE - upperHalfBits;
+        } else {
+            cache |= (value & MASKS[numBits]) << (Long.SIZE - remainingBits);
+            remainingBits -= numBits;
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes {@code value} using {@code numBits} bits, starting at the specified bit index, without changing the
+     * position of this {@link SegmentBitBuffer}.
+     *
+     * @param bitIndex the index of the first bit to write.
+     * @param value    the value to write.
+     * @param numBits  the amount of bits to use when writing {@code value}, between {@code 0} and {@link Long#SIZE}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link MemorySegment}.
+     * @see BitBuffer#putBits(long, long, int)
+     */
+    public SegmentBitBuffer putBits(long bitIndex, long value, int numBits) throws IndexOutOfBoundsException {
+        checkBitIndex(bitIndex, numBits);
+
+        long bits = value & MASKS[numBits];
+        long index = bitIndex >>> 3;
+        int shift = (int) bitIndex & 7;
+        mergeLong(index, bits << shift, MASKS[numBits] << shift);
+
+        if (shift + numBits > Long.SIZE) {
+            mergeLong(index + Long.BYTES, bits >>> Long.SIZE - shift, MASKS[numBits] >>> Long.SIZE - shift);
+        }
+
+        long cacheBitIndex = cacheBitIndex();
+        long from = Math.max(bitIndex, cacheBitIndex);
+        long to = Math.min(bitIndex + numBits, cacheBitIndex + (reading ? remainingBits : Long.SIZE - remainingBits));
+
+        if (from < to) {
+            int overlap = (int) (to - from);
+            int offset = (int) (from - cacheBitIndex);
+            cache &= ~(MASKS[overlap] << offset);
+            cache |= (bits >>> (from - bitIndex) & MASKS[overlap]) << offset;
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes either {@link Byte#BYTES} or {@link Byte#SIZE} bits to this {@link SegmentBitBuffer}, depending on the
+     * value of {@code compressed}.
+     *
+     * @param b          the {@code boolean} to write.
+     * @param compressed whether or not the {@code boolean} should be compressed.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putBoolean(boolean b, boolean compressed) {
+        return compressed ? putBits(b ? 1 : 0, 1) : putByte(b ? 1 : 0);
+    }
+
+    /**
+     * Writes a value to this {@link SegmentBitBuffer} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putByte(byte b) {
+        return putBits(b, Byte.SIZE);
+    }
+
+    /**
+     * Writes a value to this {@link SegmentBitBuffer} using {@link Byte#SIZE} bits.
+     *
+     * @param b the {@code byte} to write as an {@code int}, which is down-casted to a {@code byte}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putByte(int b) {
+        return putBits(b, Byte.SIZE);
+    }
+
+    /**
+     * Writes all of the {@code byte}s of the specified array to this {@link SegmentBitBuffer} using {@link Byte#SIZE}
+     * bits for each {@code byte}.
+     *
+     * @param src the array of {@code byte}s to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putBytes(byte[] src) {
+        return putBytes(src, 0, src.length);
+    }
+
+    /**
+     * Writes {@code length} {@code byte}s from the specified array, starting at {@code offset}, to this
+     * {@link SegmentBitBuffer} using {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param src    the array of {@code byte}s to write.
+     * @param offset the index of the first {@code byte} in {@code src} to write.
+     * @param length the number of {@code byte}s to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code src}.
+     */
+    public SegmentBitBuffer putBytes(byte[] src, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, src.length);
+        return putBytes(MemorySegment.ofArray(src), offset, length);
+    }
+
+    /**
+     * Writes all of the remaining {@code byte}s of the specified {@link ByteBuffer} to this {@link SegmentBitBuffer}
+     * using {@link Byte#SIZE} bits for each {@code byte}.
+     * <br><br>
+     * Upon returning, the position of {@code src} will be equal to its limit.
+     *
+     * @param src the {@link ByteBuffer} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putBytes(ByteBuffer src) {
+        putBytes(MemorySegment.ofBuffer(src), 0, src.remaining());
+        src.position(src.limit());
+        return this;
+    }
+
+    /**
+     * Writes {@code length} {@code byte}s from the specified {@link MemorySegment}, starting at {@code offset}, using
+     * {@link Byte#SIZE} bits for each {@code byte}.
+     *
+     * @param source the {@link MemorySegment} that contains the {@code byte}s to write.
+     * @param offset the index of the first {@code byte} in {@code source} to write.
+     * @param length the number of {@code byte}s to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    private SegmentBitBuffer putBytes(MemorySegment source, long offset, long length) {
+        long end = offset + length;
+
+        if (remainingBits == Long.SIZE) {
+            // The cache is empty, so the bytes can be copied directly into the backing segment.
+            long toCopy = length / Long.BYTES * Long.BYTES;
+
+            if (segment.byteSize() - position < toCopy) {
+                throw new BufferOverflowException();
+            }
+
+            MemorySegment.copy(source, offset, segment, position, toCopy);
+            position += toCopy;
+            offset += toCopy;
+        } else {
+            for (; end - offset >= Long.BYTES; offset += Long.BYTES) {
+                putBits(source.get(LONG, offset), Long.SIZE);
+            }
+        }
+
+        for (; offset < end; offset++) {
+            putByte(source.get(ValueLayout.JAVA_BYTE, offset));
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Character#SIZE} bits.
+     *
+     * @param c the {@code char} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putChar(char c) {
+        return putChar(c, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using
+     * {@link Character#SIZE} bits.
+     *
+     * @param c     the {@code char} to write.
+     * @param order the order in which to write the {@code byte}s of {@code c}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putChar(char c, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Character.reverseBytes(c) : c, Character.SIZE);
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Double#SIZE} bits.
+     *
+     * @param d the {@code double} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putDouble(double d) {
+        return putDouble(d, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using {@link Double#SIZE}
+     * bits.
+     *
+     * @param d     the {@code double} to write.
+     * @param order the order in which to write the {@code byte}s of {@code d}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putDouble(double d, ByteOrder order) {
+        return putLong(Double.doubleToRawLongBits(d), order);
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Float#SIZE} bits.
+     *
+     * @param f the {@code float} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putFloat(float f) {
+        return putFloat(f, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using {@link Float#SIZE}
+     * bits.
+     *
+     * @param f     the {@code float} to write.
+     * @param order the order in which to write the {@code byte}s of {@code f}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putFloat(float f, ByteOrder order) {
+        return putInt(Float.floatToRawIntBits(f), order);
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Integer#SIZE} bits.
+     *
+     * @param i the {@code int} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putInt(int i) {
+        return putInt(i, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using {@link Integer#SIZE}
+     * bits.
+     *
+     * @param i     the {@code int} to write.
+     * @param order the order in which to write the {@code byte}s of {@code i}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putInt(int i, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Integer.reverseBytes(i) : i, Integer.SIZE);
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Long#SIZE} bits.
+     *
+     * @param l the {@code long} to write.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putLong(long l) {
+        return putLong(l, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using {@link Long#SIZE}
+     * bits.
+     *
+     * @param l     the {@code long} to write.
+     * @param order the order in which to write the {@code byte}s of {@code l}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putLong(long l, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Long.reverseBytes(l) : l, Long.SIZE);
+    }
+
+    /**
+     * Writes a value with {@link ByteOrder#LITTLE_ENDIAN} order to this {@link SegmentBitBuffer} using
+     * {@link Short#SIZE} bits.
+     *
+     * @param s the {@code short} to write as an {@code int}, which is down-casted to a {@code short}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putShort(int s) {
+        return putShort(s, ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Writes a value with the specified {@link ByteOrder} to this {@link SegmentBitBuffer} using {@link Short#SIZE}
+     * bits.
+     *
+     * @param s     the {@code short} to write as an {@code int}, which is down-casted to a {@code short}.
+     * @param order the order in which to write the {@code byte}s of {@code s}.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer putShort(int s, ByteOrder order) {
+        return putBits(order == ByteOrder.BIG_ENDIAN ? Short.reverseBytes((short) s) : s, Short.SIZE);
+    }
+
+    /**
+     * Given the specified {@code maxValue}, this method writes the specified value to this {@link SegmentBitBuffer}
+     * using the optimal amount of bits, thus providing free compression.
+     *
+     * @param value    the value to write to this {@link SegmentBitBuffer}.
+     * @param maxValue the maximum possible value that {@code value} can be; a lower {@code maxValue} results in a
+     *                 better compression ratio.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code maxValue} is negative or if the absolute value of {@code value} is
+     * greater than {@code maxValue}.
+     * @see BitBuffer#putValue(long, long)
+     */
+    public SegmentBitBuffer putValue(long value, long maxValue) throws IllegalArgumentException {
+        if (maxValue < 0) {
+            throw new IllegalArgumentException("maxValue must be positive!");
+        }
+
+        if (Math.abs(value) > maxValue) {
+            throw new IllegalArgumentException("value must be less than or equal to maxValue!");
+        }
+
+        return putBits(value, Long.SIZE - Long.numberOfLeadingZeros(maxValue) + 1);
+    }
+
+    /**
+     * After a series of relative {@code put} operations, flip the <i>cache</i> to prepare for a series of relative
+     * {@code get} operations.
+     * <br><br>
+     * If this {@link SegmentBitBuffer} has already been flipped, this method does nothing.
+     *
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws BufferOverflowException if the bits held by the <i>cache</i> do not fit in the backing
+     * {@link MemorySegment}.
+     */
+    public SegmentBitBuffer flip() throws BufferOverflowException {
+        if (reading) {
+            return this;
+        }
+
+        writeCache();
+        position = 0;
+        cache = 0;
+        remainingBits = 0;
+        reading = true;
+        return this;
+    }
+
+    /**
+     * Clears this {@link SegmentBitBuffer} to prepare for a series of relative {@code put} operations, discarding the
+     * <i>cache</i>.
+     *
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer clear() {
+        position = 0;
+        cache = 0;
+        remainingBits = Long.SIZE;
+        reading = false;
+        return this;
+    }
+
+    /**
+     * Gets the position of this {@link SegmentBitBuffer}, which is the index of the next bit to be written or read by
+     * a relative {@code put} or {@code get} operation.
+     *
+     * @return the position of this {@link SegmentBitBuffer} in bits.
+     */
+    public long bitPosition() {
+        return reading ? cacheBitIndex() : cacheBitIndex() + Long.SIZE - remainingBits;
+    }
+
+    /**
+     * Sets the position of this {@link SegmentBitBuffer}, which is the index of the next bit to be written or read by
+     * a relative {@code put} or {@code get} operation.
+     *
+     * @param bitPosition the new position in bits, between {@code 0} and the capacity in bits.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if {@code bitPosition} is negative or exceeds the capacity.
+     * @see BitBuffer#bitPosition(long)
+     */
+    public SegmentBitBuffer bitPosition(long bitPosition) throws IllegalArgumentException {
+        if (bitPosition < 0 || bitPosition > segment.byteSize() * Byte.SIZE) {
+            throw new IllegalArgumentException("bitPosition is out of bounds!");
+        }
+
+        long index = bitPosition >>> 3;
+        int offset = (int) bitPosition & 7;
+
+        if (reading) {
+            cache = offset == 0 ? 0 : (segment.get(ValueLayout.JAVA_BYTE, index) & 0xFF) >>> offset;
+            remainingBits = offset == 0 ? 0 : Byte.SIZE - offset;
+            position = offset == 0 ? index : index + 1;
+        } else {
+            writeCache();
+            cache = offset == 0 ? 0 : segment.get(ValueLayout.JAVA_BYTE, index) & MASKS[offset];
+            remainingBits = Long.SIZE - offset;
+            position = index;
+        }
+
+        return this;
+    }
+
+    /**
+     * Advances the position of this {@link SegmentBitBuffer} by {@code numBits} bits.
+     *
+     * @param numBits the amount of bits to skip, which may be negative to move backwards.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IllegalArgumentException if the new position is negative or exceeds the capacity.
+     */
+    public SegmentBitBuffer skipBits(long numBits) throws IllegalArgumentException {
+        if (reading && numBits >= 0 && numBits < remainingBits) {
+            cache >>>= numBits;
+            remainingBits -= (int) numBits;
+            return this;
+        }
+
+        return bitPosition(bitPosition() + numBits);
+    }
+
+    /**
+     * Reads the next {@code numBits} bits and composes a {@code long} that can be down-casted to other primitive types.
+     *
+     * @param numBits the amount of bits to read, between {@code 0} and {@link Long#SIZE}.
+     * @return a {@code long} value at the current position.
+     * @throws BufferUnderflowException if fewer than {@code numBits} bits remain in the backing
+     * {@link MemorySegment}.
+     */
+    public long getBits(int numBits) throws BufferUnderflowException {
+        if (remainingBits >= numBits) {
+            long value = cache & MASKS[numBits];
+            cache >>>= numBits;
+            remainingBits -= numBits;
+            return value;
+        }
+
+        // Near the end of the segment, the cache is refilled with only the bytes that remain.
+        long available = segment.byteSize() - position;
+        int bytes = (int) Math.min(available, Long.BYTES);
+        int difference = numBits - remainingBits;
+
+        if (bytes * Byte.SIZE < difference) {
+            throw new BufferUnderflowException();
+        }
+
+        long value = cache & MASKS[remainingBits];
+        long refill = loadLong(position, bytes);
+        position += bytes;
+        value |= (refill & MASKS[difference]) << remainingBits;
+        cache = difference == Long.SIZE ? 0 : refill >>> difference;
+        remainingBits = bytes * Byte.SIZE - difference;
+        return value;
+    }
+
+    /**
+     * Reads {@code numBits} bits, starting at the specified bit index, and composes a {@code long}, without changing
+     * the position of this {@link SegmentBitBuffer}.
+     *
+     * @param bitIndex the index of the first bit to read.
+     * @param numBits  the amount of bits to read, between {@code 0} and {@link Long#SIZE}.
+     * @return a {@code long} value composed of the bits at {@code bitIndex}.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link MemorySegment}.
+     * @see BitBuffer#getBits(long, int)
+     */
+    public long getBits(long bitIndex, int numBits) throws IndexOutOfBoundsException {
+        checkBitIndex(bitIndex, numBits);
+
+        long index = bitIndex >>> 3;
+        int shift = (int) bitIndex & 7;
+        long value = loadLong(index, (int) Math.min(segment.byteSize() - index, Long.BYTES)) >>> shift;
+
+        if (shift + numBits > Long.SIZE) {
+            value |= (segment.get(ValueLayout.JAVA_BYTE, index + Long.BYTES) & 0xFFL) << Long.SIZE - shift;
+        }
+
+        if (!reading) {
+            long cacheBitIndex = cacheBitIndex();
+            long from = Math.max(bitIndex, cacheBitIndex);
+            long to = Math.min(bitIndex + numBits, cacheBitIndex + Long.SIZE - remainingBits);
+
+            if (from < to) {
+                int overlap = (int) (to - from);
+                int offset = (int) (from - bitIndex);
+                value &= ~(MASKS[overlap] << offset);
+                value |= (cache >>> (from - cacheBitIndex) & MASKS[overlap]) << offset;
+            }
+        }
+
+        return value & MASKS[numBits];
+    }
+
+    /**
+     * Reads {@link Byte#BYTES} or {@link Byte#SIZE} bits (depending on the value of {@code compressed}) from this
+     * {@link SegmentBitBuffer} and composes a {@code boolean}.
+     *
+     * @param compressed whether or not the {@code boolean} to read is compressed.
+     * @return {@code true} if the value read is not equal to {@code 0}, otherwise {@code false}.
+     */
+    public boolean getBoolean(boolean compressed) {
+        return (compressed ? getBits(1) : getByte()) != 0;
+    }
+
+    /**
+     * Reads {@link Byte#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code byte}.
+     *
+     * @return A {@code byte}.
+     */
+    public byte getByte() {
+        return (byte) getBits(Byte.SIZE);
+    }
+
+    /**
+     * Reads the specified amount of {@code byte}s from this {@link SegmentBitBuffer} into an array of {@code byte}s.
+     *
+     * @param n the number of {@code byte}s to read.
+     * @return an array of {@code byte}s of length {@code n} that contains {@code byte}s read from this
+     * {@link SegmentBitBuffer}.
+     */
+    public byte[] getBytes(int n) {
+        var array = new byte[n];
+        getBytes(array, 0, n);
+        return array;
+    }
+
+    /**
+     * Reads {@code dst.length} {@code byte}s from this {@link SegmentBitBuffer} into the specified array.
+     *
+     * @param dst the array to read {@code byte}s into.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @see #getBytes(byte[], int, int)
+     */
+    public SegmentBitBuffer getBytes(byte[] dst) {
+        return getBytes(dst, 0, dst.length);
+    }
+
+    /**
+     * Reads {@code length} {@code byte}s from this {@link SegmentBitBuffer} into the specified array, starting at
+     * {@code offset}.
+     *
+     * @param dst    the array to read {@code byte}s into.
+     * @param offset the index in {@code dst} of the first {@code byte} to read.
+     * @param length the number of {@code byte}s to read.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     * @throws IndexOutOfBoundsException if {@code offset} or {@code length} are out of bounds for {@code dst}.
+     */
+    public SegmentBitBuffer getBytes(byte[] dst, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, dst.length);
+        return getBytes(MemorySegment.ofArray(dst), offset, length);
+    }
+
+    /**
+     * Reads {@code byte}s from this {@link SegmentBitBuffer} into the specified {@link ByteBuffer} until it has no
+     * {@code byte}s remaining.
+     * <br><br>
+     * Upon returning, the position of {@code dst} will be equal to its limit.
+     *
+     * @param dst the {@link ByteBuffer} to read {@code byte}s into.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    public SegmentBitBuffer getBytes(ByteBuffer dst) {
+        getBytes(MemorySegment.ofBuffer(dst), 0, dst.remaining());
+        dst.position(dst.limit());
+        return this;
+    }
+
+    /**
+     * Reads {@code length} {@code byte}s into the specified {@link MemorySegment}, starting at {@code offset}.
+     *
+     * @param destination the {@link MemorySegment} to read {@code byte}s into.
+     * @param offset      the index in {@code destination} of the first {@code byte} to read.
+     * @param length      the number of {@code byte}s to read.
+     * @return this {@link SegmentBitBuffer} to allow for the convenience of method-chaining.
+     */
+    private SegmentBitBuffer getBytes(MemorySegment destination, long offset, long length) {
+        long end = offset + length;
+
+        if (remainingBits == 0) {
+            // The cache is empty, so the bytes can be copied directly from the backing segment.
+            long toCopy = length / Long.BYTES * Long.BYTES;
+
+            if (segment.byteSize() - position < toCopy) {
+                throw new BufferUnderflowException();
+            }
+
+            MemorySegment.copy(segment, position, destination, offset, toCopy);
+            position += toCopy;
+            offset += toCopy;
+        } else {
+            for (; end - offset >= Long.BYTES; offset += Long.BYTES) {
+                destination.set(LONG, offset, getBits(Long.SIZE));
+            }
+        }
+
+        for (; offset < end; offset++) {
+            destination.set(ValueLayout.JAVA_BYTE, offset, getByte());
+        }
+
+        return this;
+    }
+
+    /**
+     * Reads {@link Character#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code char} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return A {@code char}.
+     */
+    public char getChar() {
+        return getChar(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Character#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code char} with the
+     * specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code char} were written.
+     * @return A {@code char}.
+     */
+    public char getChar(ByteOrder order) {
+        var value = (char) getBits(Character.SIZE);
+        return order == ByteOrder.BIG_ENDIAN ? Character.reverseBytes(value) : value;
+    }
+
+    /**
+     * Reads {@link Double#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code double} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return A {@code double}.
+     */
+    public double getDouble() {
+        return getDouble(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Double#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code double} with the
+     * specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code double} were written.
+     * @return A {@code double}.
+     */
+    public double getDouble(ByteOrder order) {
+        return Double.longBitsToDouble(getLong(order));
+    }
+
+    /**
+     * Reads {@link Float#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code float} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return A {@code float}.
+     */
+    public float getFloat() {
+        return getFloat(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Float#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code float} with the
+     * specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code float} were written.
+     * @return A {@code float}.
+     */
+    public float getFloat(ByteOrder order) {
+        return Float.intBitsToFloat(getInt(order));
+    }
+
+    /**
+     * Reads {@link Integer#SIZE} bits from this {@link SegmentBitBuffer} and composes an {@code int} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return An {@code int}.
+     */
+    public int getInt() {
+        return getInt(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Integer#SIZE} bits from this {@link SegmentBitBuffer} and composes an {@code int} with the
+     * specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code int} were written.
+     * @return An {@code int}.
+     */
+    public int getInt(ByteOrder order) {
+        var value = (int) getBits(Integer.SIZE);
+        return order == ByteOrder.BIG_ENDIAN ? Integer.reverseBytes(value) : value;
+    }
+
+    /**
+     * Reads {@link Long#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code long} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return A {@code long}.
+     */
+    public long getLong() {
+        return getLong(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Long#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code long} with the specified
+     * {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code long} were written.
+     * @return A {@code long}.
+     */
+    public long getLong(ByteOrder order) {
+        var value = getBits(Long.SIZE);
+        return order == ByteOrder.BIG_ENDIAN ? Long.reverseBytes(value) : value;
+    }
+
+    /**
+     * Reads {@link Short#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code short} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @return A {@code short}.
+     */
+    public short getShort() {
+        return getShort(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Reads {@link Short#SIZE} bits from this {@link SegmentBitBuffer} and composes a {@code short} with the
+     * specified {@link ByteOrder}.
+     *
+     * @param order the order in which the {@code byte}s of the {@code short} were written.
+     * @return A {@code short}.
+     */
+    public short getShort(ByteOrder order) {
+        var value = (short) getBits(Short.SIZE);
+        return order == ByteOrder.BIG_ENDIAN ? Short.reverseBytes(value) : value;
+    }
+
+    /**
+     * Given the specified {@code maxValue}, this method reads a value from this {@link SegmentBitBuffer} using the
+     * optimal amount of bits, thus providing free compression.
+     * <br><br>
+     * The value of {@code maxValue} should be the same as what was used when calling {@link #putValue(long, long)}.
+     *
+     * @param maxValue the maximum possible value that the value being read can be; a lower {@code maxValue} results
+     *                 in a better compression ratio.
+     * @return the value read from this {@link SegmentBitBuffer} as a {@code long}.
+     * @throws IllegalArgumentException if {@code maxValue} is negative.
+     * @see BitBuffer#getValue(long)
+     */
+    public long getValue(long maxValue) throws IllegalArgumentException {
+        if (maxValue < 0) {
+            throw new IllegalArgumentException("maxValue must be positive!");
+        }
+
+        int numBits = Long.SIZE - Long.numberOfLeadingZeros(maxValue) + 1;
+        int unused = Long.SIZE - numBits;
+
+        return getBits(numBits) << unused >> unused;
+    }
+
+    /**
+     * Gets the capacity of the backing {@link MemorySegment}.
+     *
+     * @return the capacity of the backing segment in {@code byte}s.
+     */
+    public long capacity() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Gets the backing {@link MemorySegment} of this {@link SegmentBitBuffer}.
+     * <br><br>
+     * Bits that are still held by the <i>cache</i> have not yet been written to it; see {@link #flip()}.
+     *
+     * @return A {@link MemorySegment}.
+     */
+    public MemorySegment segment() {
+        return segment;
+    }
+
+    /**
+     * Views the backing {@link MemorySegment} of this {@link SegmentBitBuffer} as a {@link ByteBuffer} with
+     * {@link ByteOrder#LITTLE_ENDIAN} order, after writing the bits held by the <i>cache</i> to it if this
+     * {@link SegmentBitBuffer} is being written.
+     * <br><br>
+     * The {@link ByteBuffer} spans the whole segment, and modifying it <strong>will</strong> de-synchronize it from
+     * this {@link SegmentBitBuffer}.
+     *
+     * @return A {@link ByteBuffer}.
+     * @throws UnsupportedOperationException if the backing {@link MemorySegment} is larger than {@code 2} GiB, which a
+     * {@link ByteBuffer} cannot address.
+     * @see BitBuffer#toByteBuffer()
+     */
+    public ByteBuffer toByteBuffer() throws UnsupportedOperationException {
+        if (!reading) {
+            writeCache();
+        }
+
+        return segment.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Frees the backing {@link MemorySegment} if it was allocated by {@link #allocate(long)}; otherwise, this method
+     * does nothing, as the memory is owned by the caller.
+     * <br><br>
+     * This {@link SegmentBitBuffer} must not be used after it is closed.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    /**
+     * Flushes a full <i>cache</i> to the backing {@link MemorySegment}.
+     *
+     * @param word the contents of the full <i>cache</i>.
+     * @throws BufferOverflowException if fewer than {@link Long#BYTES} {@code byte}s remain.
+     */
+    private void flush(long word) throws BufferOverflowException {
+        if (segment.byteSize() - position < Long.BYTES) {
+            throw new BufferOverflowException();
+        }
+
+        segment.set(LONG, position, word);
+        position += Long.BYTES;
+    }
+
+    /**
+     * Writes the bits held by the <i>cache</i> to the backing {@link MemorySegment} at the current position, without
+     * advancing it or overwriting any of the bits that follow them.
+     *
+     * @throws BufferOverflowException if the backing {@link MemorySegment} is too small to hold the bits of the
+     * <i>cache</i>.
+     */
+    private void writeCache() throws BufferOverflowException {
+        int numBits = Long.SIZE - remainingBits;
+
+        if (numBits == 0) {
+            return;
+        }
+
+        if (segment.byteSize() - position < (numBits + 7) / Byte.SIZE) {
+            throw new BufferOverflowException();
+        }
+
+        mergeLong(position, cache, MASKS[numBits]);
+    }
+
+    /**
+     * Reads {@code bytes} {@code byte}s from the backing {@link MemorySegment} at the specified index with
+     * {@link ByteOrder#LITTLE_ENDIAN} order.
+     *
+     * @param index the index of the first {@code byte} to read.
+     * @param bytes the amount of {@code byte}s to read, between {@code 0} and {@link Long#BYTES}.
+     * @return a {@code long} containing the {@code byte}s that were read, padded with zeros.
+     */
+    private long loadLong(long index, int bytes) {
+        if (bytes == Long.BYTES) {
+            return segment.get(LONG, index);
+        }
+
+        long value = 0;
+
+        for (int i = 0; i < bytes; i++) {
+            value |= (segment.get(ValueLayout.JAVA_BYTE, index + i) & 0xFFL) << i * Byte.SIZE;
+        }
+
+        return value;
+    }
+
+    /**
+     * Replaces the bits selected by {@code mask} in the {@link Long#BYTES} {@code byte}s of the backing
+     * {@link MemorySegment} at the specified index with those of {@code value}, accessing only the {@code byte}s
+     * selected by {@code mask} when near the end of the segment.
+     *
+     * @param index the index of the first {@code byte} to write.
+     * @param value the bits to write with {@link ByteOrder#LITTLE_ENDIAN} order.
+     * @param mask  the bits of {@code value} to write.
+     */
+    private void mergeLong(long index, long value, long mask) {
+        if (segment.byteSize() - index >= Long.BYTES) {
+            segment.set(LONG, index, segment.get(LONG, index) & ~mask | value & mask);
+            return;
+        }
+
+        for (int i = 0; i < Long.BYTES && mask >>> i * Byte.SIZE != 0; i++) {
+            int byteMask = (int) (mask >>> i * Byte.SIZE) & 0xFF;
+
+            if (byteMask != 0) {
+                int b = segment.get(ValueLayout.JAVA_BYTE, index + i) & ~byteMask |
+                        (int) (value >>> i * Byte.SIZE) & byteMask;
+                segment.set(ValueLayout.JAVA_BYTE, index + i, (byte) b);
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the bit held by the least significant bit of the <i>cache</i>.
+     *
+     * @return the index of the first bit held by the <i>cache</i>.
+     */
+    private long cacheBitIndex() {
+        return reading ? position * Byte.SIZE - remainingBits : position * Byte.SIZE;
+    }
+
+    /**
+     * Checks that {@code numBits} bits starting at {@code bitIndex} lie within the backing {@link MemorySegment}.
+     *
+     * @param bitIndex the index of the first bit.
+     * @param numBits  the amount of bits, between {@code 0} and {@link Long#SIZE}.
+     * @throws IndexOutOfBoundsException if any of the bits lie outside of the backing {@link MemorySegment}.
+     */
+    private void checkBitIndex(long bitIndex, int numBits) throws IndexOutOfBoundsException {
+        if (numBits < 0 || numBits > Long.SIZE || bitIndex < 0 ||
+                bitIndex > segment.byteSize() * Byte.SIZE - numBits) {
+            throw new IndexOutOfBoundsException("Bits " + bitIndex + " to " + (bitIndex + numBits) +
+                    " are out of bounds!");
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package bitbuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class AlphabetTests {
+    
+    @Test
+    void testBitsPerChar() {
+        Assertions.assertEquals(4, Alphabet.DIGITS.bitsPerChar());
+        Assertions.assertEquals(5, Alphabet.LOWERCASE.bitsPerChar());
+        Assertions.assertEquals(6, Alphabet.LOWERCASE_IDENTIFIER.bitsPerChar());
+        Assertions.assertEquals(7, Alphabet.PRINTABLE_ASCII.bitsPerChar());
+        Assertions.assertEquals(95, Alphabet.PRINTABLE_ASCII.size());
+        Assertions.assertEquals(1, Alphabet.of("ab").bitsPerChar());
+        Assertions.assertEquals(2, Alphabet.of("abc").bitsPerChar());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "player_1", "abcdefghijklmnopqrstuvwxyz0123456789_", "x_x_x_x_x_x_x_x_x_x_x_x"})
+    void testReadString(String value) {
+        for (int offset = 0; offset < Long.SIZE; offset += 9) {
+            BitBuffer buffer = BitBuffer.allocate(64);
+            buffer.putBits(0, offset).putString(value, Alphabet.LOWERCASE_IDENTIFIER).putBits(5, 3).flip();
+            Assertions.assertEquals(0, buffer.getBits(offset));
+            Assertions.assertEquals(value, buffer.getString(Alphabet.LOWERCASE_IDENTIFIER));
+            Assertions.assertEquals(5, buffer.getBits(3));
+            Assertions.assertEquals(offset + Byte.SIZE + value.length() * 6 + 3, buffer.bitPosition());
+        }
+    }
+    
+    @Test
+    void testReadStringIntoBuilder() {
+        BitBuffer buffer = BitBuffer.allocate(32);
+        buffer.putString("Hello, World!", Alphabet.PRINTABLE_ASCII).putString("2024", Alphabet.DIGITS).flip();
+        
+        var builder = new StringBuilder();
+        buffer.getString(builder, Alphabet.PRINTABLE_ASCII).getString(builder, Alphabet.DIGITS);
+        Assertions.assertEquals("Hello, World!2024", builder.toString());
+    }
+    
+    @Test
+    void testUnknownCharacter() {
+        Assertions.assertFalse(Alphabet.LOWERCASE.contains('A'));
+        Assertions.assertFalse(Alphabet.LOWERCASE.contains('\u20ac'));
+        Assertions.assertTrue(Alphabet.LOWERCASE.contains('q'));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BitBuffer.allocate(16).putString("Player", Alphabet.LOWERCASE));
+    }
+    
+    @Test
+    void testMalformedString() {
+        // The code 15 is not the code of any decimal digit.
+        BitBuffer buffer = BitBuffer.allocate(16);
+        buffer.putVarInt(1).putBits(15, 4).flip();
+        Assertions.assertThrows(IllegalStateException.class, () -> buffer.getString(Alphabet.DIGITS));
+    }
+    
+    @Test
+    void testInvalidAlphabet() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Alphabet.of("a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Alphabet.of("abca"));
+    }
+    
+}
@@ -0,0 +1,154 @@
+package bitbuffer;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class BinaryArithmeticTests {
+    
+    @Test
+    void testReadSkewedBooleans() {
+        var random = new Random(42);
+        var values = new boolean[10_000];
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(100) == 0;
+        }
+        
+        var buffer = BitBuffer.allocate(values.length / Byte.SIZE);
+        var encoder = new BinaryArithmeticEncoder(buffer, 1);
+        
+        for (boolean value : values) {
+            encoder.encodeBoolean(value, 0);
+        }
+        
+        encoder.finish();
+        
+        // The entropy of a flag that is set 1% of the time is about 0.08 bits, rather than the single bit of
+        // putBoolean.
+        Assertions.assertTrue(buffer.bitPosition() < values.length / 8, "bits = " + buffer.bitPosition());
+        
+        buffer.putInt(42).flip();
+        var decoder = new BinaryArithmeticDecoder(buffer, 1);
+        
+        for (boolean value : values) {
+            Assertions.assertEquals(value, decoder.decodeBoolean(0));
+        }
+        
+        decoder.finish();
+        Assertions.assertEquals(42, buffer.getInt());
+    }
+    
+    @Test
+    void testReadRandomBooleansAcrossContexts() {
+        var random = new Random(7);
+        var values = new boolean[100_000];
+        var contexts = new int[values.length];
+        
+        // Unpredictable booleans keep the range wide, which makes carries into pending bytes frequent.
+        for (int i = 0; i < values.length; i++) {
+            contexts[i] = random.nextInt(4);
+            values[i] = random.nextInt(contexts[i] + 2) == 0;
+        }
+        
+        var buffer = BitBuffer.allocate(values.length / Byte.SIZE + 16);
+        buffer.putBits(5, 3);
+        var encoder = new BinaryArithmeticEncoder(buffer, 4);
+        
+        for (int i = 0; i < values.length; i++) {
+            encoder.encodeBoolean(values[i], contexts[i]);
+        }
+        
+        encoder.finish();
+        buffer.putBits(3, 2).flip();
+        Assertions.assertEquals(5, buffer.getBits(3));
+        var decoder = new BinaryArithmeticDecoder(buffer, 4);
+        
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertEquals(values[i], decoder.decodeBoolean(contexts[i]));
+        }
+        
+        decoder.finish();
+        Assertions.assertEquals(3, buffer.getBits(2));
+    }
+    
+    @Test
+    void testReadBits() {
+        var random = new Random(42);
+        var values = new int[5000];
+        
+        // Mostly the first of 6 constants of an enum, which occupy 3 bits.
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(10) < 8 ? 0 : random.nextInt(6);
+        }
+        
+        var buffer = BitBuffer.allocate(values.length);
+        var encoder = new BinaryArithmeticEncoder(buffer, 8);
+        
+        for (int value : values) {
+            encoder.encodeBits(value, 3, 1).encodeBoolean(value == 5, 0);
+        }
+        
+        encoder.finish();
+        Assertions.assertTrue(buffer.bitPosition() < values.length * 2, "bits = " + buffer.bitPosition());
+        
+        buffer.flip();
+        var decoder = new BinaryArithmeticDecoder(buffer, 8);
+        
+        for (int value : values) {
+            Assertions.assertEquals(value, decoder.decodeBits(3, 1));
+            Assertions.assertEquals(value == 5, decoder.decodeBoolean(0));
+        }
+        
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> decoder.decodeBits(16, 0));
+        Assertions.assertEquals(0, decoder.decodeBits(0, 0));
+        decoder.finish();
+    }
+    
+    @Test
+    void testReadEmptyStream() {
+        var buffer = BitBuffer.allocate(Integer.BYTES);
+        new BinaryArithmeticEncoder(buffer, 1).finish();
+        Assertions.assertEquals(Integer.SIZE, buffer.bitPosition());
+        
+        buffer.flip();
+        new BinaryArithmeticDecoder(buffer, 1).finish();
+        Assertions.assertEquals(Integer.SIZE, buffer.bitPosition());
+    }
+    
+    @Test
+    void testFinishDetectsMismatch() {
+        var buffer = BitBuffer.allocate(64);
+        var encoder = new BinaryArithmeticEncoder(buffer, 2);
+        
+        for (int i = 0; i < 100; i++) {
+            encoder.encodeBoolean(i % 3 == 0, i & 1);
+        }
+        
+        encoder.finish();
+        buffer.flip();
+        var decoder = new BinaryArithmeticDecoder(buffer, 2);
+        
+        for (int i = 0; i < 50; i++) {
+            Assertions.assertEquals(i % 3 == 0, decoder.decodeBoolean(i & 1));
+        }
+        
+        Assertions.assertThrows(IllegalStateException.class, decoder::finish);
+        
+        var malformed = BitBuffer.wrap(new byte[] { -1, -1, -1, -1 });
+        Assertions.assertThrows(IllegalStateException.class, () -> new BinaryArithmeticDecoder(malformed, 1));
+    }
+    
+    @Test
+    void testInvalidArguments() {
+        var buffer = BitBuffer.allocate(16);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BinaryArithmeticEncoder(buffer, 0));
+        
+        var encoder = new BinaryArithmeticEncoder(buffer, 7);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> encoder.encodeBits(0, 17, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> encoder.encodeBits(0, -1, 0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> encoder.encodeBits(0, 3, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> encoder.encodeBoolean(true, 7));
+    }
+    
+}
@@ -0,0 +1,88 @@
+package bitbuffer;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class BitBufferPoolTests {
+    
+    @Test
+    void testAcquireCapacity() {
+        var pool = BitBufferPool.heap(1 << 20);
+        Assertions.assertTrue(pool.acquire(0).capacity() >= 64);
+        Assertions.assertTrue(pool.acquire(100).capacity() >= 128);
+        Assertions.assertTrue(pool.acquire(1 << 25).capacity() >= 1 << 25);
+    }
+    
+    @Test
+    void testReleasedBufferIsReusedAndCleared() {
+        var pool = BitBufferPool.direct(1 << 20);
+        var buffer = pool.acquire(100);
+        Assertions.assertTrue(buffer.isDirect());
+        buffer.putInt(42).putBits(5, 3);
+        pool.release(buffer);
+        
+        var reused = pool.acquire(90);
+        Assertions.assertSame(buffer, reused);
+        Assertions.assertEquals(7, reused.putInt(7).flip().getInt());
+    }
+    
+    @Test
+    void testSharedArenaIsBounded() throws Exception {
+        var pool = BitBufferPool.heap(1024);
+        var buffers = new BitBuffer[64];
+        
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = pool.acquire(256);
+        }
+        
+        // Released from another thread, so that the buffers overflow into the shared arena.
+        CompletableFuture.runAsync(() -> {
+            for (var buffer : buffers) {
+                pool.release(buffer);
+            }
+        }).get();
+        
+        Assertions.assertTrue(pool.retainedBytes() > 0);
+        Assertions.assertTrue(pool.retainedBytes() <= 1024);
+        
+        long retained = pool.retainedBytes();
+        pool.acquire(256);
+        Assertions.assertTrue(pool.retainedBytes() < retained);
+    }
+    
+    @Test
+    void testLargeBufferIsNotRetained() {
+        var pool = BitBufferPool.heap(1 << 26);
+        var large = pool.acquire(20 << 20);
+        Assertions.assertEquals(20 << 20, large.capacity());
+        pool.release(large);
+        
+        // A 20 MiB buffer is not filed under the 16 MiB size class.
+        Assertions.assertEquals(0, pool.retainedBytes());
+        Assertions.assertNotSame(large, pool.acquire(16 << 20));
+        Assertions.assertNotSame(large, pool.acquire(20 << 20));
+    }
+    
+    @Test
+    void testReleaseWrongKind() {
+        var pool = BitBufferPool.heap(1024);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.release(BitBuffer.allocateDirect(64)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.release(BitBuffer.allocate(64)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> pool.release(BitBufferPool.heap(1024).acquire(64)));
+    }
+    
+    @Test
+    void testReleaseWrappedBuffer() {
+        var pool = BitBufferPool.heap(1024);
+        var wrapped = BitBuffer.wrap(ByteBuffer.allocate(64).asReadOnlyBuffer());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pool.release(wrapped));
+        
+        var acquired = pool.acquire(64);
+        Assertions.assertNotSame(wrapped, acquired);
+        Assertions.assertEquals(42, acquired.putInt(42).flip().getInt());
+    }
+    
+}
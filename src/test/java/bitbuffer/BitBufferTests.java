@@ -1,6 +1,20 @@
 package bitbuffer;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,7 +27,7 @@ final class BitBufferTests {
     
     @BeforeEach
     void initialize() {
-        buffer = BitBuffer.allocate(Long.BYTES);
+        buffer = BitBuffer.allocate(2 * Long.BYTES);
     }
     
     @ParameterizedTest
@@ -50,6 +64,56 @@ final class BitBufferTests {
                 33, -46, 4}, buffer.flip().getBytes(16));
     }
     
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 8, 13})
+    void testReadBytesBulk(int offsetBits) {
+        var payload = new byte[100];
+        
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31 + 7);
+        }
+        
+        BitBuffer buffer = BitBuffer.allocate(128);
+        buffer.putBits(0, offsetBits).putBytes(payload, 0, 3).putBytes(payload, 3, 97);
+        
+        var array = new byte[payload.length + 2];
+        buffer.flip().getBits(offsetBits);
+        buffer.getBytes(array, 1, 5).getBytes(array, 6, 95);
+        Assertions.assertArrayEquals(payload, Arrays.copyOfRange(array, 1, 101));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 5, 16})
+    void testReadBytesByteBuffer(int offsetBits) {
+        var payload = ByteBuffer.allocateDirect(45);
+        
+        for (int i = 0; i < payload.capacity(); i++) {
+            payload.put((byte) (i * 17 - 3));
+        }
+        
+        BitBuffer buffer = BitBuffer.allocate(64);
+        buffer.putBits(0, offsetBits).putBytes(payload.flip());
+        Assertions.assertFalse(payload.hasRemaining());
+        
+        var direct = ByteBuffer.allocateDirect(20);
+        var heap = ByteBuffer.allocate(25);
+        buffer.flip().getBits(offsetBits);
+        buffer.getBytes(direct).getBytes(heap);
+        Assertions.assertEquals(payload.flip().limit(20), direct.flip());
+        Assertions.assertEquals(payload.limit(45).position(20), heap.flip());
+    }
+    
+    @Test
+    void testReadBitsAcrossCache() {
+        BitBuffer buffer = BitBuffer.allocate(24);
+        buffer.putBits(5, 3).putBits(0x123456789ABCDEFL, 63).putBits(-1, 64).putBits(42, 7);
+        buffer.flip();
+        Assertions.assertEquals(5, buffer.getBits(3));
+        Assertions.assertEquals(0x123456789ABCDEFL, buffer.getBits(63));
+        Assertions.assertEquals(-1, buffer.getBits(64));
+        Assertions.assertEquals(42, buffer.getBits(7));
+    }
+    
     @ParameterizedTest
     @ValueSource(shorts = {1234, 0, -1234})
     void testReadShortBigEndian(short value) {
@@ -122,6 +186,451 @@ final class BitBufferTests {
                 .flip().getValue(Long.MAX_VALUE));
     }
     
+    @Test
+    void testElasticGrowth() {
+        BitBuffer buffer = BitBuffer.allocate(1, GrowthPolicy.doubling());
+        
+        for (int i = 0; i < 1000; i++) {
+            buffer.putBits(i, 13);
+        }
+        
+        buffer.putBytes(new byte[100]).putInt(42).flip();
+        
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, buffer.getBits(13));
+        }
+        
+        Assertions.assertArrayEquals(new byte[100], buffer.getBytes(100));
+        Assertions.assertEquals(42, buffer.getInt());
+    }
+    
+    @Test
+    void testElasticGrowthKeepsDirect() {
+        BitBuffer buffer = BitBuffer.allocateDirect(8, GrowthPolicy.chunked(24));
+        buffer.putLong(1).putLong(2).putLong(3).putLong(4);
+        Assertions.assertEquals(32, buffer.capacity());
+        Assertions.assertTrue(buffer.toByteBuffer().isDirect());
+    }
+    
+    @Test
+    void testElasticGrowthCapped() {
+        BitBuffer buffer = BitBuffer.allocate(8, GrowthPolicy.capped(GrowthPolicy.doubling(), 32));
+        buffer.putLong(1).putLong(2).putLong(3).putLong(4);
+        Assertions.assertEquals(32, buffer.capacity());
+        Assertions.assertThrows(BufferOverflowException.class, () -> buffer.putLong(5).putLong(6));
+    }
+    
+    @Test
+    void testElasticGrowthStaysWithinMaxCapacity() {
+        // Growing past 1 GiB must not request an array larger than the VM allows.
+        Assertions.assertEquals(BitBuffer.MAX_CAPACITY, GrowthPolicy.doubling().grow((1 << 30) + 1, (1 << 30) + 2));
+        Assertions.assertEquals(BitBuffer.MAX_CAPACITY,
+                GrowthPolicy.chunked(1 << 30).grow(BitBuffer.MAX_CAPACITY - 1, BitBuffer.MAX_CAPACITY));
+    }
+    
+    @Test
+    void testClear() {
+        buffer.putInt(42).putBits(3, 2).clear();
+        Assertions.assertEquals(26, buffer.putInt(26).flip().getInt());
+        buffer.clear().putLong(-1L).flip();
+        Assertions.assertEquals(-1L, buffer.getLong());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, 127L, 128L, 300L, 16383L, 16384L, (1L << 56) - 1, 1L << 56, 1L << 63, -1L,
+            Long.MIN_VALUE, Long.MAX_VALUE})
+    void testReadVarLong(long value) {
+        // Every offset forces the variable-length integer to start at a different position within the cache.
+        for (int offset = 0; offset < Long.SIZE; offset += 5) {
+            BitBuffer buffer = BitBuffer.allocate(32);
+            buffer.putBits(0, offset).putVarLong(value).putVarLong(value).flip().getBits(offset);
+            Assertions.assertEquals(value, buffer.getVarLong());
+            Assertions.assertEquals(value, buffer.getVarLong());
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, -1L, 63L, -64L, 64L, Long.MIN_VALUE, Long.MAX_VALUE})
+    void testReadSignedVarLong(long value) {
+        BitBuffer buffer = BitBuffer.allocate(32);
+        buffer.putBits(5, 3).putSignedVarLong(value).flip();
+        Assertions.assertEquals(5, buffer.getBits(3));
+        Assertions.assertEquals(value, buffer.getSignedVarLong());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, -1, 127, 128, Integer.MIN_VALUE, Integer.MAX_VALUE})
+    void testReadVarInt(int value) {
+        Assertions.assertEquals(value, buffer.putVarInt(value).flip().getVarInt());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, -1, 63, -64, Integer.MIN_VALUE, Integer.MAX_VALUE})
+    void testReadSignedVarInt(int value) {
+        Assertions.assertEquals(value, buffer.putSignedVarInt(value).flip().getSignedVarInt());
+    }
+    
+    @Test
+    void testVarLongSize() {
+        BitBuffer buffer = BitBuffer.allocate(32);
+        buffer.putVarLong(127).putSignedVarLong(-64).putVarLong(128).putVarLong(-1).flip();
+        Assertions.assertEquals(127, buffer.getByte());
+        Assertions.assertEquals(127, buffer.getByte());
+        Assertions.assertEquals((byte) 0x80, buffer.getByte());
+        Assertions.assertEquals(1, buffer.getByte());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"", "a", "Hello, World!", "0123456789abcdef", "caf\u00e9 cr\u00e8me",
+            "\u20ac100 \u4e2d\u6587", "\ud83d\ude00 emoji \ud83c\udf89 and ASCII text after it"})
+    void testReadString(String value) {
+        byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        
+        for (int offset = 0; offset < Long.SIZE; offset += 7) {
+            BitBuffer buffer = BitBuffer.allocate(128);
+            buffer.putBits(0, offset).putString(value).putBits(5, 3).flip().getBits(offset);
+            Assertions.assertEquals(expected.length, buffer.getVarInt());
+            
+            var encoded = new byte[expected.length];
+            buffer.getBytes(encoded);
+            Assertions.assertArrayEquals(expected, encoded);
+            
+            buffer.bitPosition(offset);
+            Assertions.assertEquals(value, buffer.getString());
+            Assertions.assertEquals(5, buffer.getBits(3));
+        }
+    }
+    
+    @Test
+    void testReadStringIntoBuilder() {
+        BitBuffer buffer = BitBuffer.allocate(64);
+        buffer.putString("\ud800 lone").putString("fo\u00f6").putString("bar").flip();
+        Assertions.assertEquals("? lone", buffer.getString());
+        
+        var builder = new StringBuilder("x");
+        buffer.getString(builder).getString(builder);
+        Assertions.assertEquals("xfo\u00f6bar", builder.toString());
+    }
+    
+    @Test
+    void testReadMalformedString() {
+        BitBuffer buffer = BitBuffer.allocate(16);
+        buffer.putVarInt(2).putByte(0xC0).putByte(0x80).flip();
+        Assertions.assertThrows(IllegalStateException.class, buffer::getString);
+        
+        buffer.clear().putVarInt(2).putByte(0xE2).putByte(0x82).flip();
+        Assertions.assertThrows(IllegalStateException.class, buffer::getString);
+        
+        buffer.clear().putVarInt(3).putByte(0xED).putByte(0xA0).putByte(0x80).flip();
+        Assertions.assertThrows(IllegalStateException.class, buffer::getString);
+    }
+    
+    @Test
+    void testPeekBits() {
+        BitBuffer buffer = BitBuffer.allocate(11);
+        buffer.putBits(0x5A5, 12).putLong(-1L).putBits(0x15, 5).flip();
+        
+        // Every peek refills the cache without consuming any bits.
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(0x5, buffer.peekBits(4));
+            Assertions.assertEquals(0x5A5, buffer.peekBits(12));
+        }
+        
+        Assertions.assertEquals(0x5A5, buffer.getBits(12));
+        Assertions.assertEquals((1L << 56) - 1, buffer.peekBits(56));
+        Assertions.assertEquals(-1L, buffer.getLong());
+        
+        // Bits beyond the limit, which is 7 bits past the last bit written, are read as zeros.
+        Assertions.assertEquals(0x15, buffer.peekBits(12));
+        Assertions.assertEquals(0x15, buffer.getBits(5));
+        Assertions.assertEquals(0, buffer.peekBits(12));
+        Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getBits(8));
+    }
+    
+    @Test
+    void testReadCharDoesNotOverread() {
+        Assertions.assertEquals('\u20ac', buffer.putChar('\u20ac').putShort(7).flip().getChar());
+        Assertions.assertEquals(7, buffer.getShort());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L, 31L, 32L, 1000L, 1L << 31, (1L << 32) + 5, Long.MAX_VALUE, Long.MIN_VALUE, -1L})
+    void testReadEliasCodes(long value) {
+        for (int offset = 0; offset < Long.SIZE; offset += 7) {
+            BitBuffer buffer = BitBuffer.allocate(128);
+            buffer.putBits(0, offset).putEliasGamma(value).putEliasDelta(value).putSignedEliasDelta(value)
+                    .putExpGolomb(value).putExpGolomb(value, 5).putSignedExpGolomb(value).putBits(3, 2)
+                    .flip().getBits(offset);
+            Assertions.assertEquals(value, buffer.getEliasGamma());
+            Assertions.assertEquals(value, buffer.getEliasDelta());
+            Assertions.assertEquals(value, buffer.getSignedEliasDelta());
+            Assertions.assertEquals(value, buffer.getExpGolomb());
+            Assertions.assertEquals(value, buffer.getExpGolomb(5));
+            Assertions.assertEquals(value, buffer.getSignedExpGolomb());
+            Assertions.assertEquals(3, buffer.getBits(2));
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(longs = {0L, -1L, 1L, 7L, -8L})
+    void testReadSmallExpGolomb(long value) {
+        Assertions.assertEquals(value, buffer.putSignedExpGolomb(value).flip().getSignedExpGolomb());
+        Assertions.assertEquals(-1L, BitBuffer.allocate(32).putExpGolomb(-1L).flip().getExpGolomb());
+    }
+    
+    @Test
+    void testEliasGammaSize() {
+        buffer.putEliasGamma(1).putEliasGamma(2).putEliasGamma(5).flip();
+        
+        // 1 -> "1", 2 -> "0 1 0", 5 -> "00 1 01", written least significant bit first.
+        Assertions.assertEquals(0b01_1_00_0_1_0_1, buffer.getBits(9));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.putEliasGamma(0));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4, 30, 63})
+    void testReadRice(int k) {
+        long[] values = {0, 1, 2, 17, 100, 1000, 1L << k, (1L << k) * 70 + 3};
+        BitBuffer buffer = BitBuffer.allocate(256);
+        buffer.putBits(1, 1);
+        
+        for (long value : values) {
+            buffer.putRice(value, k);
+        }
+        
+        buffer.flip().getBits(1);
+        
+        for (long value : values) {
+            Assertions.assertEquals(value, buffer.getRice(k));
+        }
+    }
+    
+    @Test
+    void testReadRiceBlocks() {
+        var random = new Random(42);
+        var values = new long[1000];
+        
+        for (int i = 0; i < values.length; i++) {
+            // Small gaps in the first half and large gaps in the second, so that each block picks its own parameter.
+            values[i] = (long) (-Math.log(random.nextDouble()) * (i < 500 ? 3 : 50_000));
+        }
+        
+        BitBuffer buffer = BitBuffer.allocate(values.length * Long.BYTES);
+        buffer.putRiceBlocks(values, 0, values.length, 128);
+        
+        var decoded = new long[values.length + 1];
+        buffer.flip().getRiceBlocks(decoded, 1, values.length, 128);
+        Assertions.assertArrayEquals(values, Arrays.copyOfRange(decoded, 1, decoded.length));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 7, 13, 16, 31, 32, 33, 63, 64})
+    void testReadPackedArrays(int bitsPerValue) {
+        var random = new Random(bitsPerValue);
+        var longs = new long[200];
+        var ints = new int[200];
+        var shorts = new short[200];
+        
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong() & (bitsPerValue == Long.SIZE ? -1L : (1L << bitsPerValue) - 1);
+            ints[i] = (int) longs[i];
+            shorts[i] = (short) longs[i];
+        }
+        
+        int intBits = Math.min(bitsPerValue, Integer.SIZE);
+        int shortBits = Math.min(bitsPerValue, Short.SIZE);
+        
+        BitBuffer buffer = BitBuffer.allocate(longs.length * (Long.BYTES + Integer.BYTES + Short.BYTES) + 1);
+        buffer.putBits(1, 5).putLongs(longs, 0, 100, bitsPerValue).putBits(2, 2).putLongs(longs, 100, 100, bitsPerValue)
+                .putInts(ints, 0, ints.length, intBits).putShorts(shorts, 0, shorts.length, shortBits).flip();
+        
+        var decodedLongs = new long[longs.length];
+        var decodedInts = new int[ints.length];
+        var decodedShorts = new short[shorts.length];
+        
+        Assertions.assertEquals(1, buffer.getBits(5));
+        buffer.getLongs(decodedLongs, 0, 100, bitsPerValue);
+        Assertions.assertEquals(2, buffer.getBits(2));
+        buffer.getLongs(decodedLongs, 100, 100, bitsPerValue).getInts(decodedInts, 0, ints.length, intBits)
+                .getShorts(decodedShorts, 0, shorts.length, shortBits);
+        
+        Assertions.assertArrayEquals(longs, decodedLongs);
+        
+        for (int i = 0; i < ints.length; i++) {
+            Assertions.assertEquals(ints[i] & (intBits == Integer.SIZE ? -1 : (1 << intBits) - 1), decodedInts[i]);
+            Assertions.assertEquals((short) (shorts[i] & ((1 << shortBits) - 1)), decodedShorts[i]);
+        }
+    }
+    
+    @Test
+    void testPackedArraysCheckCapacityUpFront() {
+        BitBuffer buffer = BitBuffer.allocate(8);
+        var values = new long[100];
+        Assertions.assertThrows(BufferOverflowException.class, () -> buffer.putLongs(values, 0, 100, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.putInts(new int[1], 0, 1, 33));
+        
+        // Even though the values are packed a chunk at a time, the first chunks are not written either.
+        Assertions.assertThrows(BufferOverflowException.class, () -> buffer.putInts(new int[1000], 0, 1000, 1));
+        Assertions.assertThrows(BufferOverflowException.class, () -> buffer.putShorts(new short[1000], 0, 1000, 1));
+        Assertions.assertEquals(42, buffer.putInt(42).flip().getInt());
+        Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getInts(new int[1000], 0, 1000, 1));
+        Assertions.assertEquals(Integer.SIZE, buffer.bitPosition());
+    }
+    
+    @Test
+    void testReadPackedArraysAcrossChunks() {
+        var random = new Random(42);
+        var ints = new int[1000];
+        var shorts = new short[1000];
+        
+        for (int i = 0; i < ints.length; i++) {
+            ints[i] = random.nextInt();
+            shorts[i] = (short) ints[i];
+        }
+        
+        BitBuffer buffer = BitBuffer.allocate(ints.length * (Integer.BYTES + Short.BYTES));
+        buffer.putBits(1, 3).putInts(ints, 0, ints.length, 27).putShorts(shorts, 1, shorts.length - 1, 16).flip();
+        
+        var decodedInts = new int[ints.length];
+        var decodedShorts = new short[shorts.length];
+        Assertions.assertEquals(1, buffer.getBits(3));
+        buffer.getInts(decodedInts, 0, ints.length, 27).getShorts(decodedShorts, 1, shorts.length - 1, 16);
+        
+        for (int i = 0; i < ints.length; i++) {
+            Assertions.assertEquals(ints[i] & (1 << 27) - 1, decodedInts[i]);
+        }
+        
+        shorts[0] = 0;
+        Assertions.assertArrayEquals(shorts, decodedShorts);
+    }
+    
+    @Test
+    void testPatchLengthField() {
+        buffer.putBits(0, 13).putLong(-1L).putBits(5, 3);
+        buffer.putBits(0, 42, 13);
+        Assertions.assertEquals(42, buffer.getBits(0, 13));
+        Assertions.assertEquals(80, buffer.bitPosition());
+        
+        // Bits that are still held by the cache can be patched as well.
+        buffer.putBits(77, 0b10, 2);
+        Assertions.assertEquals(0b110111, buffer.getBits(74, 6));
+        buffer.flip();
+        Assertions.assertEquals(42, buffer.getBits(13));
+        Assertions.assertEquals(-1L, buffer.getLong());
+        Assertions.assertEquals(0b110, buffer.getBits(3));
+    }
+    
+    @Test
+    void testAbsoluteBitsDoNotMoveCursor() {
+        var random = new Random(42);
+        var values = new long[100];
+        var widths = new int[values.length];
+        var buffer = BitBuffer.allocate(values.length * Long.BYTES);
+        
+        for (int i = 0; i < values.length; i++) {
+            widths[i] = 1 + random.nextInt(Long.SIZE);
+            values[i] = random.nextLong() & (-1L >>> Long.SIZE - widths[i]);
+            buffer.putBits(values[i], widths[i]);
+        }
+        
+        buffer.flip();
+        Assertions.assertEquals(values[0], buffer.getBits(widths[0]));
+        long position = buffer.bitPosition();
+        long bitIndex = 0;
+        
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertEquals(values[i], buffer.getBits(bitIndex, widths[i]));
+            bitIndex += widths[i];
+        }
+        
+        Assertions.assertEquals(position, buffer.bitPosition());
+        Assertions.assertEquals(values[1], buffer.getBits(widths[1]));
+    }
+    
+    @Test
+    void testAbsolutePutWhileReading() {
+        buffer.putInt(1).putInt(2).flip();
+        Assertions.assertEquals(1, buffer.getInt());
+        buffer.putBits(Integer.SIZE, 3, Integer.SIZE);
+        Assertions.assertEquals(3, buffer.getInt());
+    }
+    
+    @Test
+    void testBitPosition() {
+        buffer.putInt(1).putBits(5, 3).putInt(2);
+        Assertions.assertEquals(67, buffer.bitPosition());
+        
+        // Moving backwards overwrites bits without discarding the ones that follow.
+        buffer.bitPosition(32).putBits(6, 3).bitPosition(67).putShort((short) 7);
+        buffer.flip();
+        Assertions.assertEquals(0, buffer.bitPosition());
+        buffer.bitPosition(32);
+        Assertions.assertEquals(6, buffer.getBits(3));
+        Assertions.assertEquals(2, buffer.getInt());
+        Assertions.assertEquals(7, buffer.getShort());
+        Assertions.assertEquals(83, buffer.bitPosition());
+        buffer.bitPosition(3).bitPosition(0);
+        Assertions.assertEquals(1, buffer.getInt());
+    }
+    
+    @Test
+    void testSkipBits() {
+        buffer.putInt(1).putBits(5, 3).putLong(2).putBits(1, 1).flip();
+        Assertions.assertEquals(5, buffer.skipBits(32).getBits(3));
+        Assertions.assertEquals(1, buffer.skipBits(64).getBits(1));
+        Assertions.assertEquals(1, buffer.skipBits(-100).getInt());
+    }
+    
+    @Test
+    void testAbsoluteBitsOutOfBounds() {
+        long bits = buffer.capacity() * 8L;
+        Assertions.assertEquals(0, buffer.getBits(bits - 7, 7));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> buffer.getBits(bits - 7, 8));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> buffer.putBits(-1, 0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.bitPosition(bits + 1));
+    }
+    
+    @Test
+    void testReserveAndFill() {
+        var buffer = BitBuffer.allocate(128);
+        long first = buffer.reserveBits(10);
+        buffer.putBits(3, 2);
+        long second = buffer.reserveBits(7);
+        
+        // The second field is still held by the cache, while the first will have been flushed.
+        buffer.fill(second, 100);
+        
+        for (int i = 0; i < 20; i++) {
+            buffer.putInt(i);
+        }
+        
+        buffer.fill(first, 1000).flip();
+        Assertions.assertEquals(1000, buffer.getBits(10));
+        Assertions.assertEquals(3, buffer.getBits(2));
+        Assertions.assertEquals(100, buffer.getBits(7));
+        Assertions.assertEquals(0, buffer.getInt());
+    }
+    
+    @Test
+    void testReserveAndFillElastic() {
+        var buffer = BitBuffer.allocate(0, GrowthPolicy.doubling());
+        buffer.putLong(1).putLong(2).putInt(3);
+        long marker = buffer.reserveBits(Long.SIZE);
+        buffer.fill(marker, -1L).putBits(1, 1).flip();
+        Assertions.assertEquals(1, buffer.getLong());
+        Assertions.assertEquals(2, buffer.getLong());
+        Assertions.assertEquals(3, buffer.getInt());
+        Assertions.assertEquals(-1L, buffer.getLong());
+        Assertions.assertEquals(1, buffer.getBits(1));
+    }
+    
+    @Test
+    void testFillTooLarge() {
+        long marker = buffer.reserveBits(4);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.fill(marker, 16));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.reserveBits(65));
+    }
+    
     /**
      * This method tests whether the {@code long} cache is cleared properly.
      */
@@ -142,4 +651,396 @@ final class BitBufferTests {
         Assertions.assertEquals(1234, buffer.flip().getShort());
     }
     
+    @Test
+    void testMapAcrossWindows() throws IOException {
+        var values = new long[100];
+        var random = new Random(42);
+        var expected = BitBuffer.allocate(values.length * Long.BYTES);
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> random.nextInt(Long.SIZE);
+            expected.putBits(values[i], 13);
+        }
+        
+        var contents = new byte[(values.length * 13 + Byte.SIZE - 1) / Byte.SIZE / Long.BYTES * Long.BYTES];
+        expected.flip().getBytes(contents);
+        var file = Files.createTempFile("bitbuffer", ".bin");
+        
+        try {
+            Files.write(file, contents);
+            var length = contents.length;
+            
+            // A stride of 16 bytes creates several windows out of a small file.
+            var mapped = BitBuffer.map(file, FileChannel.MapMode.READ_ONLY, 0, length, 16);
+            
+            for (int i = 0; i < length * Byte.SIZE / 13; i++) {
+                Assertions.assertEquals(values[i] & 0x1FFF, mapped.getBits(13));
+            }
+            
+            Assertions.assertEquals(values[90] & 0x1FFF, mapped.getBits(90 * 13, 13));
+            mapped.bitPosition(37 * 13);
+            
+            for (int i = 37; i < 60; i++) {
+                Assertions.assertEquals(values[i] & 0x1FFF, mapped.getBits(13));
+            }
+            
+            var bytes = new byte[length];
+            mapped.bitPosition(0);
+            mapped.getBytes(bytes);
+            Assertions.assertArrayEquals(contents, bytes);
+            Assertions.assertThrows(UnsupportedOperationException.class, mapped::toByteBuffer);
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    void testMapReadWrite() throws IOException {
+        var file = Files.createTempFile("bitbuffer", ".bin");
+        
+        try {
+            Files.write(file, new byte[128]);
+            var values = new long[30];
+            
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i * 0x0123_4567L;
+            }
+            
+            BitBuffer.map(file, FileChannel.MapMode.READ_WRITE, 8, 120, 16).clear().putLongs(values, 0, 30, 32)
+                    .flip();
+            
+            var mapped = BitBuffer.map(file, FileChannel.MapMode.READ_ONLY, 8, 120);
+            Assertions.assertEquals(120, mapped.capacity());
+            Assertions.assertEquals(120, mapped.toByteBuffer().remaining());
+            
+            for (long value : values) {
+                Assertions.assertEquals(value & 0xFFFF_FFFFL, mapped.getBits(32));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    void testMapPrivateTooLarge() throws IOException {
+        var file = Files.createTempFile("bitbuffer", ".bin");
+        
+        try {
+            Files.write(file, new byte[64]);
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BitBuffer.map(file, FileChannel.MapMode.PRIVATE, 0, 33, 16));
+            
+            // A single window spans two strides.
+            Assertions.assertEquals(32, BitBuffer.map(file, FileChannel.MapMode.PRIVATE, 0, 32, 16).capacity());
+            Assertions.assertEquals(0, BitBuffer.map(file, FileChannel.MapMode.PRIVATE, 0, 0, 16).capacity());
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> BitBuffer.map(file, FileChannel.MapMode.READ_ONLY, -1, 64));
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    void testWrapArrayTail() {
+        var bytes = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+        var buffer = BitBuffer.wrap(bytes, 1, 11);
+        Assertions.assertEquals(0x0201, buffer.getBits(12) | buffer.getBits(4) << 12);
+        Assertions.assertEquals(0x9080706050403L, buffer.getBits(52));
+        Assertions.assertEquals(0xB0A0, buffer.getBits(20));
+        Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getBits(1));
+    }
+    
+    @Test
+    void testWrapBulkTail() {
+        var values = new long[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11 };
+        var contents = new byte[values.length * 5 / Byte.SIZE + 1];
+        BitBuffer.allocate(contents.length).putLongs(values, 0, values.length, 5).flip().getBytes(contents);
+        
+        var decoded = new long[values.length];
+        BitBuffer.wrap(contents).getLongs(decoded, 0, decoded.length, 5);
+        Assertions.assertArrayEquals(values, decoded);
+        Assertions.assertThrows(BufferUnderflowException.class,
+                () -> BitBuffer.wrap(contents).getLongs(new long[12], 0, 12, 5));
+    }
+    
+    @Test
+    void testWrapByteBuffer() {
+        var bytes = ByteBuffer.allocate(16).order(ByteOrder.BIG_ENDIAN);
+        bytes.position(3).limit(13);
+        var buffer = BitBuffer.wrap(bytes.asReadOnlyBuffer());
+        Assertions.assertEquals(10, buffer.capacity());
+        Assertions.assertEquals(ByteOrder.BIG_ENDIAN, bytes.order());
+        
+        BitBuffer.wrap(bytes).clear().putInt(42).putBits(5, 3).flip();
+        Assertions.assertEquals(3, bytes.position());
+        Assertions.assertEquals(42, buffer.getInt());
+        Assertions.assertEquals(5, buffer.getBits(3));
+    }
+    
+    @Test
+    void testExactCapacity() {
+        var buffer = BitBuffer.allocate(5);
+        Assertions.assertEquals(5, buffer.capacity());
+        buffer.putBits(3, 2).putInt(-7).putBits(1, 6).flip();
+        Assertions.assertEquals(3, buffer.getBits(2));
+        Assertions.assertEquals(-7, buffer.getInt());
+        Assertions.assertEquals(1, buffer.getBits(6));
+        Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getBits(1));
+    }
+    
+    @Test
+    void testExactCapacityOverflow() {
+        Assertions.assertThrows(BufferOverflowException.class, () -> BitBuffer.allocate(5).putLong(1).flip());
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> BitBuffer.allocate(12).putLong(1).putLong(2).flip());
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> BitBuffer.allocate(12).putLongs(new long[13], 0, 13, 8));
+    }
+    
+    @Test
+    void testExactCapacityBulk() {
+        var values = new long[] { 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55, 60, 63 };
+        var buffer = BitBuffer.allocate((3 + values.length * 6 + Byte.SIZE - 1) / Byte.SIZE);
+        buffer.putBits(1, 3).putLongs(values, 0, values.length, 6).flip();
+        
+        var decoded = new long[values.length];
+        Assertions.assertEquals(1, buffer.getBits(3));
+        buffer.getLongs(decoded, 0, decoded.length, 6);
+        Assertions.assertArrayEquals(values, decoded);
+    }
+    
+    @Test
+    void testWriteTo() throws IOException {
+        var out = new ByteArrayOutputStream();
+        buffer.putInt(42).putBits(5, 3);
+        
+        // The partially-written final byte is held back.
+        Assertions.assertEquals(4, buffer.pendingBytes());
+        Assertions.assertEquals(4, buffer.writeTo(Channels.newChannel(out)));
+        Assertions.assertEquals(0, buffer.pendingBytes());
+        Assertions.assertEquals(0, buffer.writeTo(Channels.newChannel(out)));
+        Assertions.assertArrayEquals(new byte[] { 42, 0, 0, 0 }, out.toByteArray());
+        
+        // Neither the position nor the cache are affected.
+        buffer.putBits(3, 5).flip();
+        Assertions.assertEquals(42, buffer.getInt());
+        Assertions.assertEquals(0b11101, buffer.getBits(8));
+    }
+    
+    @Test
+    void testWriteToThenFinishByte() throws IOException {
+        var out = new ByteArrayOutputStream();
+        var channel = Channels.newChannel(out);
+        buffer.putBits(0b101, 3);
+        Assertions.assertEquals(0, buffer.writeTo(channel));
+        
+        buffer.putBits(0b11111, 5).putBits(0xAB, 8);
+        Assertions.assertEquals(2, buffer.writeTo(channel));
+        buffer.putBits(1, 1);
+        Assertions.assertEquals(0, buffer.writeTo(channel));
+        
+        // The padded final byte is only written once flipped.
+        buffer.flip(true);
+        Assertions.assertEquals(1, buffer.writeTo(channel));
+        Assertions.assertArrayEquals(new byte[] { (byte) 0xFD, (byte) 0xAB, 1 }, out.toByteArray());
+        
+        var received = BitBuffer.wrap(out.toByteArray());
+        Assertions.assertEquals(0b101, received.getBits(3));
+        Assertions.assertEquals(0b11111, received.getBits(5));
+        Assertions.assertEquals(0xAB, received.getBits(8));
+        Assertions.assertEquals(1, received.getBits(1));
+    }
+    
+    @Test
+    void testWriteToPartially() throws IOException {
+        var out = new ByteArrayOutputStream();
+        
+        // Writes at most three bytes at a time, like a non-blocking channel with a full send buffer.
+        var channel = new WritableByteChannel() {
+            @Override
+            public int write(ByteBuffer src) {
+                int written = Math.min(3, src.remaining());
+                
+                for (int i = 0; i < written; i++) {
+                    out.write(src.get());
+                }
+                
+                return written;
+            }
+            
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+            
+            @Override
+            public void close() {
+            
+            }
+        };
+        
+        buffer.putLong(0x0102030405060708L).putShort((short) 0x090A);
+        
+        while (buffer.pendingBytes() > 0) {
+            Assertions.assertTrue(buffer.writeTo(channel) <= 3);
+        }
+        
+        Assertions.assertArrayEquals(new byte[] { 8, 7, 6, 5, 4, 3, 2, 1, 10, 9 }, out.toByteArray());
+    }
+    
+    @Test
+    void testGatheringWriteTo() throws IOException {
+        var first = BitBuffer.allocate(4).putShort((short) 1234);
+        var second = BitBuffer.allocate(8).putBits(1, 1).putInt(-1).flip(true);
+        var empty = BitBuffer.allocate(8);
+        var pipe = Pipe.open();
+        
+        try (var sink = pipe.sink(); var source = pipe.source()) {
+            Assertions.assertEquals(7, BitBuffer.writeTo(sink, empty, first, empty, second));
+            Assertions.assertEquals(0, first.pendingBytes());
+            Assertions.assertEquals(0, second.pendingBytes());
+            
+            var received = ByteBuffer.allocate(7);
+            
+            while (received.hasRemaining()) {
+                source.read(received);
+            }
+            
+            var buffer = BitBuffer.wrap(received.flip());
+            Assertions.assertEquals(1234, buffer.getShort());
+            Assertions.assertEquals(1, buffer.getBits(1));
+            Assertions.assertEquals(-1, buffer.getInt());
+        }
+    }
+    
+    @Test
+    void testReadFrom() throws IOException {
+        var bytes = new byte[100];
+        new Random(42).nextBytes(bytes);
+        
+        var aligned = BitBuffer.allocate(1, GrowthPolicy.doubling()).putBits(7, 8);
+        var unaligned = BitBuffer.allocate(128).putBits(5, 3);
+        var alignedChannel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        var unalignedChannel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        
+        while (aligned.readFrom(alignedChannel) != -1) {
+            Assertions.assertTrue(aligned.pendingBytes() > 0);
+        }
+        
+        while (unaligned.readFrom(unalignedChannel) != -1) {
+            Assertions.assertTrue(unaligned.pendingBytes() > 0);
+        }
+        
+        Assertions.assertEquals(808, aligned.bitPosition());
+        Assertions.assertEquals(803, unaligned.bitPosition());
+        
+        var alignedBytes = new byte[100];
+        var unalignedBytes = new byte[100];
+        Assertions.assertEquals(7, aligned.flip().getBits(8));
+        Assertions.assertEquals(5, unaligned.flip().getBits(3));
+        aligned.getBytes(alignedBytes);
+        unaligned.getBytes(unalignedBytes);
+        Assertions.assertArrayEquals(bytes, alignedBytes);
+        Assertions.assertArrayEquals(bytes, unalignedBytes);
+    }
+    
+    @Test
+    void testReadFromGrowsFullElasticBuffer() throws IOException {
+        var bytes = new byte[20];
+        new Random(42).nextBytes(bytes);
+        
+        // The cache of the unaligned buffer reaches its capacity after the first read.
+        var unaligned = BitBuffer.allocate(8, GrowthPolicy.doubling()).putBits(5, 4);
+        var aligned = BitBuffer.allocate(8, GrowthPolicy.doubling()).putLong(-1);
+        var unalignedChannel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        var alignedChannel = Channels.newChannel(new ByteArrayInputStream(bytes));
+        
+        while (unaligned.readFrom(unalignedChannel) > 0) {
+            Assertions.assertTrue(unaligned.pendingBytes() > 0);
+        }
+        
+        while (aligned.readFrom(alignedChannel) > 0) {
+            Assertions.assertTrue(aligned.pendingBytes() > 0);
+        }
+        
+        Assertions.assertEquals(164, unaligned.bitPosition());
+        Assertions.assertEquals(224, aligned.bitPosition());
+        
+        var unalignedBytes = new byte[20];
+        var alignedBytes = new byte[20];
+        Assertions.assertEquals(5, unaligned.flip().getBits(4));
+        Assertions.assertEquals(-1, aligned.flip().getLong());
+        unaligned.getBytes(unalignedBytes);
+        aligned.getBytes(alignedBytes);
+        Assertions.assertArrayEquals(bytes, unalignedBytes);
+        Assertions.assertArrayEquals(bytes, alignedBytes);
+    }
+    
+    @Test
+    void testBitsWritten() {
+        Assertions.assertEquals(0, buffer.bitsWritten());
+        buffer.putInt(1).putBits(5, 3);
+        Assertions.assertEquals(35, buffer.bitsWritten());
+        Assertions.assertEquals(5, buffer.bytesWritten());
+        
+        // Moving backwards does not forget the bits that follow.
+        buffer.bitPosition(8).putBits(1, 1);
+        Assertions.assertEquals(35, buffer.bitsWritten());
+        buffer.putBits(70, 2, 6);
+        Assertions.assertEquals(76, buffer.bitsWritten());
+        Assertions.assertEquals(10, buffer.bytesWritten());
+        
+        buffer.flip();
+        Assertions.assertEquals(76, buffer.bitsWritten());
+        Assertions.assertEquals(0, buffer.clear().bitsWritten());
+        Assertions.assertEquals(88, BitBuffer.wrap(new byte[11]).bitsWritten());
+    }
+    
+    @Test
+    void testExactFlip() throws IOException {
+        buffer.putShort((short) 300).putBits(3, 2).flip(true);
+        Assertions.assertEquals(3, buffer.toByteBuffer().remaining());
+        Assertions.assertEquals(3, buffer.pendingBytes());
+        
+        var out = new ByteArrayOutputStream();
+        buffer.writeTo(Channels.newChannel(out));
+        Assertions.assertArrayEquals(new byte[] { 44, 1, 3 }, out.toByteArray());
+        
+        buffer.bitPosition(0);
+        Assertions.assertEquals(300, buffer.getShort());
+        Assertions.assertEquals(3, buffer.getBits(8));
+        Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getBits(1));
+        
+        // Clearing restores the full capacity.
+        buffer.clear().putLong(-1L).putLong(-2L).flip();
+        Assertions.assertEquals(-1L, buffer.getLong());
+        Assertions.assertEquals(-2L, buffer.getLong());
+    }
+    
+    @Test
+    void testExactFlipMapped() throws IOException {
+        var file = Files.createTempFile("bitbuffer", ".bin");
+        
+        try {
+            Files.write(file, new byte[128]);
+            var mapped = BitBuffer.map(file, FileChannel.MapMode.READ_WRITE, 0, 128, 16).clear();
+            
+            for (int i = 0; i < 11; i++) {
+                mapped.putInt(i);
+            }
+            
+            mapped.flip(true);
+            Assertions.assertEquals(44, mapped.pendingBytes());
+            
+            for (int i = 0; i < 11; i++) {
+                Assertions.assertEquals(i, mapped.getInt());
+            }
+            
+            Assertions.assertThrows(BufferUnderflowException.class, mapped::getInt);
+            Assertions.assertEquals(128, mapped.clear().capacity());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
 }
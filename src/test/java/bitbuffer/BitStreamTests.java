@@ -0,0 +1,105 @@
+package bitbuffer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteOrder;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class BitStreamTests {
+    
+    @Test
+    void testRoundTripAcrossChunks() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        
+        try (var out = new BitOutputStream(bytes, 3)) {
+            for (int i = 0; i < 100; i++) {
+                out.putBits(i, 7).putBoolean(i % 3 == 0, true).putInt(i * 31, ByteOrder.BIG_ENDIAN)
+                        .putVarLong(i * 1_000_003L).putSignedExpGolomb(-i).putDouble(i / 3.0).putEliasDelta(i + 1);
+            }
+        }
+        
+        // The bits that are read from the underlying stream are not aligned with the chunks that were written.
+        try (var in = new BitInputStream(new ByteArrayInputStream(bytes.toByteArray()), 5)) {
+            for (int i = 0; i < 100; i++) {
+                Assertions.assertEquals(i, in.getBits(7));
+                Assertions.assertEquals(i % 3 == 0, in.getBoolean(true));
+                Assertions.assertEquals(i * 31, in.getInt(ByteOrder.BIG_ENDIAN));
+                Assertions.assertEquals(i * 1_000_003L, in.getVarLong());
+                Assertions.assertEquals(-i, in.getSignedExpGolomb());
+                Assertions.assertEquals(i / 3.0, in.getDouble());
+                Assertions.assertEquals(i + 1, in.getEliasDelta());
+            }
+        }
+    }
+    
+    @Test
+    void testBulkRoundTrip() throws IOException {
+        var random = new Random(42);
+        var values = new long[1000];
+        var data = new byte[777];
+        random.nextBytes(data);
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> 21;
+        }
+        
+        var bytes = new ByteArrayOutputStream();
+        
+        try (var out = new BitOutputStream(bytes, 16)) {
+            out.putBits(1, 3).putLongs(values, 0, values.length, 43).putBytes(data);
+        }
+        
+        Assertions.assertEquals((3 + values.length * 43 + data.length * 8 + 7) / 8, bytes.size());
+        
+        var decodedValues = new long[values.length];
+        var decodedData = new byte[data.length];
+        
+        try (var in = new BitInputStream(new ByteArrayInputStream(bytes.toByteArray()), 16)) {
+            Assertions.assertEquals(1, in.getBits(3));
+            in.getLongs(decodedValues, 0, decodedValues.length, 43).getBytes(decodedData);
+        }
+        
+        Assertions.assertArrayEquals(values, decodedValues);
+        Assertions.assertArrayEquals(data, decodedData);
+    }
+    
+    @Test
+    void testFlushWritesCompleteBytes() throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var out = new BitOutputStream(bytes);
+        out.putShort(1234).putBits(5, 3);
+        out.flush();
+        Assertions.assertEquals(2, bytes.size());
+        out.putBits(0, 5);
+        out.close();
+        Assertions.assertEquals(3, bytes.size());
+    }
+    
+    @Test
+    void testEndOfStream() throws IOException {
+        InputStream in = new BitInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3 }), 1);
+        var buffer = new byte[8];
+        Assertions.assertEquals(1, in.read());
+        Assertions.assertEquals(2, in.read(buffer, 0, buffer.length));
+        Assertions.assertEquals(-1, in.read());
+        Assertions.assertEquals(-1, in.read(buffer, 0, buffer.length));
+        
+        var bits = new BitInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+        Assertions.assertEquals(0x0201, bits.getShort());
+        Assertions.assertThrows(EOFException.class, bits::getShort);
+    }
+    
+    @Test
+    void testChunkSizeMustBePositive() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BitOutputStream(new ByteArrayOutputStream(), 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new BitInputStream(new ByteArrayInputStream(new byte[0]), -1));
+    }
+    
+}
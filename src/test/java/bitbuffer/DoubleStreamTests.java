@@ -0,0 +1,77 @@
+package bitbuffer;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class DoubleStreamTests {
+    
+    @Test
+    void testReadSlowlyChangingSeries() {
+        var random = new Random(42);
+        var values = new double[1000];
+        double value = 20.0;
+        
+        for (int i = 0; i < values.length; i++) {
+            if (random.nextInt(4) == 0) {
+                value += random.nextInt(5) - 2;
+            }
+            
+            values[i] = value;
+        }
+        
+        // At most two bytes per value, instead of eight.
+        var buffer = BitBuffer.allocate(values.length * 2);
+        new DoubleStreamEncoder(buffer).encode(values, 0, values.length);
+        buffer.flip();
+        
+        var decoded = new double[values.length];
+        new DoubleStreamDecoder(buffer).decode(decoded, 0, decoded.length);
+        Assertions.assertArrayEquals(values, decoded);
+    }
+    
+    @Test
+    void testReadSpecialValues() {
+        double[] values = {
+            0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE,
+            Double.MAX_VALUE, 1.0, 1.0, Double.longBitsToDouble(1L), Double.longBitsToDouble(-1L), 3.14159
+        };
+        
+        var buffer = BitBuffer.allocate(values.length * Double.BYTES * 2);
+        var encoder = new DoubleStreamEncoder(buffer);
+        
+        for (double value : values) {
+            encoder.encode(value);
+        }
+        
+        buffer.putInt(42).flip();
+        var decoder = new DoubleStreamDecoder(buffer);
+        
+        for (double value : values) {
+            Assertions.assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(decoder.decode()));
+        }
+        
+        Assertions.assertEquals(42, buffer.getInt());
+    }
+    
+    @Test
+    void testReadRandomBits() {
+        var random = new Random(7);
+        var values = new double[500];
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Double.longBitsToDouble(random.nextLong() >>> random.nextInt(Long.SIZE));
+        }
+        
+        var buffer = BitBuffer.allocate(values.length * Double.BYTES * 2);
+        new DoubleStreamEncoder(buffer).encode(values, 0, values.length);
+        buffer.flip();
+        
+        var decoder = new DoubleStreamDecoder(buffer);
+        
+        for (double value : values) {
+            Assertions.assertEquals(Double.doubleToRawLongBits(value), Double.doubleToRawLongBits(decoder.decode()));
+        }
+    }
+    
+}
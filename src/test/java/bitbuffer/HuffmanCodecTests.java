@@ -0,0 +1,127 @@
+package bitbuffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class HuffmanCodecTests {
+    
+    private static final byte[] SAMPLE = ("hey, anyone up for a match? gg wp! see you all tomorrow at 8, "
+            + "I'll bring the new map. lol that was close, nice shot!").getBytes(StandardCharsets.US_ASCII);
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 100, 4096})
+    void testReadSampledText(int length) {
+        var random = new Random(length);
+        var data = new byte[length];
+        
+        for (int i = 0; i < length; i++) {
+            data[i] = SAMPLE[random.nextInt(SAMPLE.length)];
+        }
+        
+        var codec = HuffmanCodec.fromSample(SAMPLE);
+        var buffer = BitBuffer.allocate(length + 16);
+        codec.encode(buffer, data, 0, length);
+        buffer.flip();
+        Assertions.assertArrayEquals(data, codec.decode(buffer));
+    }
+    
+    @Test
+    void testCompressesSkewedData() {
+        var frequencies = new long[256];
+        frequencies['a'] = 1000;
+        frequencies['b'] = 10;
+        frequencies['c'] = 10;
+        
+        var codec = HuffmanCodec.fromFrequencies(frequencies);
+        Assertions.assertEquals(1, codec.codeLength((byte) 'a'));
+        Assertions.assertEquals(2, codec.codeLength((byte) 'b'));
+        Assertions.assertEquals(0, codec.codeLength((byte) 'd'));
+        
+        var data = "aaaaaaaabaaaaaac".getBytes(StandardCharsets.US_ASCII);
+        var buffer = BitBuffer.allocate(16);
+        codec.encode(buffer, data, 0, data.length);
+        Assertions.assertEquals(Byte.SIZE + 18, buffer.bitPosition());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> codec.encode(buffer, new byte[] { 'd' }, 0, 1));
+    }
+    
+    @Test
+    void testCodeLengthsAreLimited() {
+        // Fibonacci frequencies produce the deepest possible Huffman tree.
+        var frequencies = new long[256];
+        frequencies[0] = 1;
+        frequencies[1] = 1;
+        
+        for (int i = 2; i < 40; i++) {
+            frequencies[i] = frequencies[i - 1] + frequencies[i - 2];
+        }
+        
+        var codec = HuffmanCodec.fromFrequencies(frequencies);
+        var data = new byte[40];
+        long kraft = 0;
+        
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            int length = codec.codeLength(data[i]);
+            Assertions.assertTrue(length >= 1 && length <= HuffmanCodec.MAX_CODE_LENGTH);
+            kraft += 1L << (HuffmanCodec.MAX_CODE_LENGTH - length);
+        }
+        
+        Assertions.assertEquals(1L << HuffmanCodec.MAX_CODE_LENGTH, kraft);
+        
+        var buffer = BitBuffer.allocate(64);
+        codec.encode(buffer, data, 0, data.length);
+        buffer.flip();
+        Assertions.assertArrayEquals(data, codec.decode(buffer));
+    }
+    
+    @Test
+    void testReadTable() {
+        var codec = HuffmanCodec.fromSample(SAMPLE);
+        var buffer = BitBuffer.allocate(128);
+        codec.writeTable(buffer);
+        codec.encode(buffer, SAMPLE, 0, SAMPLE.length);
+        buffer.flip();
+        
+        var decoded = HuffmanCodec.readTable(buffer);
+        
+        for (int i = 0; i < 256; i++) {
+            Assertions.assertEquals(codec.codeLength((byte) i), decoded.codeLength((byte) i));
+        }
+        
+        var dst = new byte[SAMPLE.length + 1];
+        Assertions.assertEquals(SAMPLE.length, decoded.decode(buffer, dst, 1));
+        
+        for (int i = 0; i < SAMPLE.length; i++) {
+            Assertions.assertEquals(SAMPLE[i], dst[i + 1]);
+        }
+    }
+    
+    @Test
+    void testSingleSymbol() {
+        var codec = HuffmanCodec.fromSample(new byte[] { 7, 7, 7 });
+        var buffer = BitBuffer.allocate(16);
+        codec.encode(buffer, new byte[] { 7, 7, 7, 7, 7 }, 0, 5);
+        buffer.flip();
+        Assertions.assertArrayEquals(new byte[] { 7, 7, 7, 7, 7 }, codec.decode(buffer));
+        
+        // A set bit does not start any code.
+        buffer.clear().putVarInt(1).putBits(1, 1).flip();
+        Assertions.assertThrows(IllegalStateException.class, () -> codec.decode(buffer));
+    }
+    
+    @Test
+    void testMalformedTable() {
+        // Three codes of length 1 oversubscribe the code space.
+        var buffer = BitBuffer.allocate(16);
+        buffer.putBits(1, 4).putBits(1, 4).putBits(1, 4).putBits(0, 4).putExpGolomb(252).flip();
+        Assertions.assertThrows(IllegalStateException.class, () -> HuffmanCodec.readTable(buffer));
+        
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HuffmanCodec.fromSample(new byte[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HuffmanCodec.fromFrequencies(new long[257]));
+    }
+    
+}
@@ -0,0 +1,74 @@
+package bitbuffer;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class PforDeltaCodecTests {
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 127, 128, 129, 1000})
+    void testReadTimestamps(int length) {
+        var random = new Random(length);
+        var values = new long[length];
+        long timestamp = 1_546_300_800_000L;
+        
+        for (int i = 0; i < length; i++) {
+            timestamp += 1000 + random.nextInt(16);
+            values[i] = timestamp;
+        }
+        
+        var buffer = BitBuffer.allocate(length * Long.BYTES + 64);
+        PforDeltaCodec.encode(buffer, values, 0, length);
+        buffer.flip();
+        Assertions.assertArrayEquals(values, PforDeltaCodec.decode(buffer));
+    }
+    
+    @Test
+    void testExceptionsKeepBlocksNarrow() {
+        var values = new long[PforDeltaCodec.BLOCK_SIZE];
+        
+        for (int i = 1; i < values.length; i++) {
+            values[i] = values[i - 1] + (i % 50 == 0 ? 1L << 40 : 3);
+        }
+        
+        // Without exceptions, every residual would need 41 bits and overflow the buffer.
+        var buffer = BitBuffer.allocate(64);
+        PforDeltaCodec.encode(buffer, values, 0, values.length);
+        buffer.flip();
+        
+        var decoded = new long[values.length + 2];
+        Assertions.assertEquals(values.length, PforDeltaCodec.decode(buffer, decoded, 2));
+        
+        for (int i = 0; i < values.length; i++) {
+            Assertions.assertEquals(values[i], decoded[i + 2]);
+        }
+    }
+    
+    @Test
+    void testReadUnsortedExtremes() {
+        var random = new Random(42);
+        var values = new long[300];
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 7 == 0 ? random.nextLong() : i % 2 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        
+        var buffer = BitBuffer.allocate(values.length * 2 * Long.BYTES);
+        PforDeltaCodec.encode(buffer, values, 0, values.length);
+        buffer.putInt(42).flip();
+        Assertions.assertArrayEquals(values, PforDeltaCodec.decode(buffer));
+        Assertions.assertEquals(42, buffer.getInt());
+    }
+    
+    @Test
+    void testDecodeIntoSmallArray() {
+        var buffer = BitBuffer.allocate(64);
+        PforDeltaCodec.encode(buffer, new long[] { 1, 2, 3 }, 0, 3);
+        buffer.flip();
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> PforDeltaCodec.decode(buffer, new long[2], 0));
+    }
+    
+}
@@ -0,0 +1,165 @@
+package bitbuffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class TansCodecTests {
+    
+    private static final byte[] SAMPLE = ("player 3 moved north; player 1 attacked player 3 for 12 damage; "
+            + "player 2 picked up a potion; player 3 moved east").getBytes(StandardCharsets.US_ASCII);
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 7, 100, 4096})
+    void testReadSampledText(int length) {
+        var random = new Random(length);
+        var data = new byte[length];
+        
+        for (int i = 0; i < length; i++) {
+            data[i] = SAMPLE[random.nextInt(SAMPLE.length)];
+        }
+        
+        var codec = TansCodec.fromSample(SAMPLE);
+        var buffer = BitBuffer.allocate(length + 16);
+        codec.encode(buffer, data, 0, length);
+        buffer.putBits(5, 3).flip();
+        Assertions.assertArrayEquals(data, codec.decode(buffer));
+        Assertions.assertEquals(5, buffer.getBits(3));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {TansCodec.MIN_TABLE_LOG, 8, TansCodec.MAX_TABLE_LOG})
+    void testTableLogs(int tableLog) {
+        var random = new Random(tableLog);
+        var frequencies = new long[256];
+        var data = new byte[1000];
+        
+        for (int i = 0; i < data.length; i++) {
+            // Small values are much more likely than large ones.
+            data[i] = (byte) Math.min(31, (int) (-Math.log(1 - random.nextDouble()) * 3));
+            frequencies[data[i]]++;
+        }
+        
+        var codec = TansCodec.fromFrequencies(frequencies, tableLog);
+        var buffer = BitBuffer.allocate(data.length);
+        codec.encode(buffer, data, 0, data.length);
+        buffer.flip();
+        
+        var decoded = new byte[data.length + 3];
+        Assertions.assertEquals(data.length, codec.decode(buffer, decoded, 3));
+        
+        for (int i = 0; i < data.length; i++) {
+            Assertions.assertEquals(data[i], decoded[i + 3]);
+        }
+    }
+    
+    @Test
+    void testBeatsHuffmanOnSkewedData() {
+        // A byte with a probability of 0.95 costs a whole bit with any prefix code, but only 0.07 bits with tANS, which
+        // leaves tANS close to the entropy of 0.37 bits per byte, whereas Huffman needs 1.1 bits per byte.
+        var random = new Random(42);
+        var data = new byte[10_000];
+        
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(100) < 95 ? 0 : 1 + random.nextInt(3));
+        }
+        
+        var tans = BitBuffer.allocate(data.length);
+        TansCodec.fromSample(data).encode(tans, data, 0, data.length);
+        
+        var huffman = BitBuffer.allocate(data.length);
+        HuffmanCodec.fromSample(data).encode(huffman, data, 0, data.length);
+        
+        Assertions.assertTrue(tans.bitPosition() < data.length * 0.4);
+        Assertions.assertTrue(huffman.bitPosition() > data.length * 1.05);
+        Assertions.assertArrayEquals(data, TansCodec.fromSample(data).decode(tans.flip()));
+    }
+    
+    @Test
+    void testReadTable() {
+        var codec = TansCodec.fromSample(SAMPLE);
+        var buffer = BitBuffer.allocate(256);
+        codec.writeTable(buffer);
+        codec.encode(buffer, SAMPLE, 0, SAMPLE.length);
+        buffer.flip();
+        
+        var decoded = TansCodec.readTable(buffer);
+        int total = 0;
+        
+        for (int i = 0; i < 256; i++) {
+            Assertions.assertEquals(codec.normalizedFrequency((byte) i), decoded.normalizedFrequency((byte) i));
+            total += decoded.normalizedFrequency((byte) i);
+        }
+        
+        Assertions.assertEquals(1 << TansCodec.DEFAULT_TABLE_LOG, total);
+        Assertions.assertArrayEquals(SAMPLE, decoded.decode(buffer));
+    }
+    
+    @Test
+    void testNormalizationKeepsRareBytes() {
+        // Every byte is present, so the rare ones must be rounded up to a single state at the expense of the rest.
+        var frequencies = new long[256];
+        frequencies[0] = 1_000_000;
+        
+        for (int i = 1; i < frequencies.length; i++) {
+            frequencies[i] = 1;
+        }
+        
+        var codec = TansCodec.fromFrequencies(frequencies, 8);
+        
+        for (int i = 1; i < frequencies.length; i++) {
+            Assertions.assertEquals(1, codec.normalizedFrequency((byte) i));
+        }
+        
+        Assertions.assertEquals(1, codec.normalizedFrequency((byte) 0));
+        
+        var data = new byte[256];
+        
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        
+        var buffer = BitBuffer.allocate(512);
+        codec.encode(buffer, data, 0, data.length);
+        Assertions.assertArrayEquals(data, codec.decode(buffer.flip()));
+    }
+    
+    @Test
+    void testSingleSymbol() {
+        var codec = TansCodec.fromSample(new byte[] { 9 });
+        var buffer = BitBuffer.allocate(16);
+        codec.encode(buffer, new byte[] { 9, 9, 9, 9 }, 0, 4);
+        
+        // Only the length and the initial state are written.
+        Assertions.assertEquals(Byte.SIZE + TansCodec.DEFAULT_TABLE_LOG, buffer.bitPosition());
+        Assertions.assertArrayEquals(new byte[] { 9, 9, 9, 9 }, codec.decode(buffer.flip()));
+    }
+    
+    @Test
+    void testInvalidInput() {
+        var codec = TansCodec.fromSample(SAMPLE);
+        var buffer = BitBuffer.allocate(64);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> codec.encode(buffer, new byte[] { 'p', 0 }, 0, 2));
+        Assertions.assertEquals(0, buffer.bitPosition());
+        
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TansCodec.fromFrequencies(new long[256], 11));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TansCodec.fromFrequencies(new long[] { 1, 1 }, TansCodec.MIN_TABLE_LOG - 1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> TansCodec.fromFrequencies(new long[] { 1, 1 }, TansCodec.MAX_TABLE_LOG + 1));
+        
+        // The normalized frequencies add up to less than the size of the table.
+        buffer.putBits(TansCodec.MIN_TABLE_LOG, 4);
+        
+        for (int i = 0; i < 256; i++) {
+            buffer.putExpGolomb(i == 0 ? 1 : 0);
+        }
+        
+        Assertions.assertThrows(IllegalStateException.class, () -> TansCodec.readTable(buffer.flip()));
+    }
+    
+}
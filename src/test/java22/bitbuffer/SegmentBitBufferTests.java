@@ -0,0 +1,148 @@
+package bitbuffer;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class SegmentBitBufferTests {
+    
+    @Test
+    void testReadPrimitives() {
+        try (var buffer = SegmentBitBuffer.allocate(64)) {
+            buffer.putBoolean(true, true).putByte(-3).putShort(1234, ByteOrder.BIG_ENDIAN).putChar('x')
+                    .putInt(-42).putLong(Long.MIN_VALUE + 7, ByteOrder.BIG_ENDIAN).putFloat(1.5f).putDouble(-2.25)
+                    .flip();
+            Assertions.assertTrue(buffer.getBoolean(true));
+            Assertions.assertEquals(-3, buffer.getByte());
+            Assertions.assertEquals(1234, buffer.getShort(ByteOrder.BIG_ENDIAN));
+            Assertions.assertEquals('x', buffer.getChar());
+            Assertions.assertEquals(-42, buffer.getInt());
+            Assertions.assertEquals(Long.MIN_VALUE + 7, buffer.getLong(ByteOrder.BIG_ENDIAN));
+            Assertions.assertEquals(1.5f, buffer.getFloat());
+            Assertions.assertEquals(-2.25, buffer.getDouble());
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 8, 13, 100})
+    void testMatchesBitBuffer(int capacity) {
+        var random = new Random(capacity);
+        var bitBuffer = BitBuffer.allocate(capacity);
+        
+        try (var arena = Arena.ofConfined()) {
+            var buffer = SegmentBitBuffer.allocate(capacity, arena);
+            long bits = capacity * 8L;
+            
+            while (bits > 0) {
+                int numBits = (int) Math.min(bits, 1 + random.nextInt(Long.SIZE));
+                long value = random.nextLong();
+                bitBuffer.putBits(value, numBits);
+                buffer.putBits(value, numBits);
+                bits -= numBits;
+            }
+            
+            bitBuffer.flip();
+            buffer.flip();
+            var expected = new byte[capacity];
+            var actual = new byte[capacity];
+            bitBuffer.getBytes(expected);
+            buffer.getBytes(actual, 0, capacity);
+            Assertions.assertArrayEquals(expected, actual);
+            Assertions.assertThrows(BufferUnderflowException.class, () -> buffer.getBits(1));
+        }
+    }
+    
+    @Test
+    void testTailIsNotOverrun() {
+        try (var arena = Arena.ofConfined()) {
+            var segment = arena.allocate(16);
+            segment.fill((byte) 0x7F);
+            var buffer = SegmentBitBuffer.wrap(segment.asSlice(0, 11));
+            buffer.putLong(-1L).putBits(0, 20).flip();
+            Assertions.assertEquals(-1L, buffer.getLong());
+            Assertions.assertEquals(0, buffer.getBits(20));
+            Assertions.assertEquals(0x7, buffer.getBits(4));
+            Assertions.assertEquals(0x7F, segment.get(java.lang.foreign.ValueLayout.JAVA_BYTE, 11));
+        }
+    }
+    
+    @Test
+    void testAbsoluteBits() {
+        try (var buffer = SegmentBitBuffer.allocate(32)) {
+            buffer.putBits(0, 13).putLong(-1L).putBits(5, 3);
+            buffer.putBits(0, 42, 13).putBits(77, 0b10, 2);
+            Assertions.assertEquals(42, buffer.getBits(0, 13));
+            Assertions.assertEquals(80, buffer.bitPosition());
+            buffer.flip();
+            Assertions.assertEquals(42, buffer.getBits(13));
+            Assertions.assertEquals(-1L, buffer.skipBits(-13).skipBits(13).getLong());
+            Assertions.assertEquals(0b110, buffer.getBits(3));
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {0, 3})
+    void testReadBytes(int offset) {
+        var bytes = new byte[37];
+        new Random(offset).nextBytes(bytes);
+        
+        try (var buffer = SegmentBitBuffer.allocate(4 * bytes.length + 8)) {
+            var direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+            buffer.putBits(5, offset).putBytes(bytes).putBytes(bytes, 1, 9).putBytes(direct)
+                    .putBytes(ByteBuffer.wrap(bytes)).flip();
+            Assertions.assertFalse(direct.hasRemaining());
+            Assertions.assertEquals(5 & (1 << offset) - 1, buffer.getBits(offset));
+            Assertions.assertArrayEquals(bytes, buffer.getBytes(bytes.length));
+            
+            var partial = new byte[9];
+            buffer.getBytes(partial);
+            Assertions.assertArrayEquals(Arrays.copyOfRange(bytes, 1, 10), partial);
+            
+            var directDst = ByteBuffer.allocateDirect(bytes.length);
+            var heapDst = ByteBuffer.allocate(bytes.length);
+            buffer.getBytes(directDst).getBytes(heapDst);
+            Assertions.assertFalse(directDst.hasRemaining());
+            Assertions.assertEquals(ByteBuffer.wrap(bytes), directDst.flip());
+            Assertions.assertArrayEquals(bytes, heapDst.array());
+        }
+    }
+    
+    @Test
+    void testReadValue() {
+        try (var buffer = SegmentBitBuffer.allocate(8)) {
+            buffer.putValue(-5, 10).putValue(1000, 1000).flip();
+            Assertions.assertEquals(-5, buffer.getValue(10));
+            Assertions.assertEquals(1000, buffer.getValue(1000));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.putValue(11, 10));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> buffer.getValue(-1));
+        }
+    }
+    
+    @Test
+    void testToByteBuffer() {
+        try (var buffer = SegmentBitBuffer.allocate(12)) {
+            buffer.putInt(42).putBits(3, 2);
+            var view = buffer.toByteBuffer();
+            Assertions.assertEquals(12, view.remaining());
+            Assertions.assertEquals(42, view.getInt());
+            Assertions.assertEquals(3, view.get());
+        }
+    }
+    
+    @Test
+    void testCloseFreesMemory() {
+        var buffer = SegmentBitBuffer.allocate(8);
+        MemorySegment segment = buffer.segment();
+        buffer.close();
+        Assertions.assertFalse(segment.scope().isAlive());
+    }
+    
+}